@@ -0,0 +1,34 @@
+package com.halfmoon.halfmoon.global.config;
+
+import java.time.Duration;
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+@Getter
+@Setter
+@Component
+@ConfigurationProperties(prefix = "extern.http")
+public class ExternHttpProperties {
+
+    /**
+     * 외부 API 서버와 연결을 맺을 때까지 기다리는 최대 시간
+     */
+    private Duration connectTimeout = Duration.ofSeconds(5);
+
+    /**
+     * 요청을 보낸 뒤 응답 헤더를 받을 때까지 기다리는 최대 시간
+     */
+    private Duration requestTimeout = Duration.ofSeconds(60);
+
+    /**
+     * 연결 실패, 429, 5xx 응답을 다시 시도하는 최대 횟수
+     */
+    private int maxRetries = 2;
+
+    /**
+     * 첫 재시도 전 대기 시간. 재시도할 때마다 두 배로 늘어남
+     */
+    private Duration retryBackoff = Duration.ofMillis(500);
+}
@@ -1,5 +1,6 @@
 package com.halfmoon.halfmoon.global.config;
 
+import java.net.http.HttpClient;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.web.client.RestTemplate;
@@ -10,4 +11,16 @@ public class ExternRequestBeanConfig {
     public RestTemplate restTemplate() {
         return new RestTemplate();
     }
+
+    /**
+     * 외부 API 호출에 함께 쓰는 비동기 HTTP 클라이언트입니다. 서버별로 연결을 재사용하고, 서버가 지원하면 HTTP/2로 한 연결에서 여러 요청을
+     * 동시에 보냅니다.
+     */
+    @Bean
+    public HttpClient externHttpClient(ExternHttpProperties properties) {
+        return HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_2)
+                .connectTimeout(properties.getConnectTimeout())
+                .build();
+    }
 }
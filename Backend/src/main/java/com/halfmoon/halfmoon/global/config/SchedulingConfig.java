@@ -0,0 +1,13 @@
+package com.halfmoon.halfmoon.global.config;
+
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
+
+/**
+ * 주기 작업(@Scheduled)을 활성화하기 위한 Configuration 클래스
+ */
+
+@Configuration
+@EnableScheduling
+public class SchedulingConfig {
+}
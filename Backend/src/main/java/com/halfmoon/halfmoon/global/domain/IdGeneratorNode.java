@@ -0,0 +1,60 @@
+package com.halfmoon.halfmoon.global.domain;
+
+import static lombok.AccessLevel.PROTECTED;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Version;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+/**
+ * ID 생성기 노드 ID 임대 기록입니다. nodeId 기본 키로 여러 서버가 같은 노드 ID를 동시에 쓰지 않도록 합니다.
+ * <p>
+ * 임대한 서버는 leaseExpiresAt을 주기적으로 연장하므로, 서버가 중단되어 연장이 멈추고 leaseExpiresAt이 지나면 다른 서버가 이어받아
+ * 사용합니다.
+ */
+@Getter
+@Entity
+@NoArgsConstructor(access = PROTECTED)
+public class IdGeneratorNode extends BaseEntity {
+
+    @Id
+    private Long nodeId;
+
+    @Column(nullable = false)
+    private String owner; // 임대한 서버 인스턴스 ID
+
+    private LocalDateTime leaseExpiresAt;
+
+    @Version
+    private Long version;
+
+    public static IdGeneratorNode lease(long nodeId, String owner, Duration lease) {
+        IdGeneratorNode node = new IdGeneratorNode();
+        node.nodeId = nodeId;
+        node.owner = owner;
+        node.leaseExpiresAt = LocalDateTime.now().plus(lease);
+        return node;
+    }
+
+    public boolean isLeaseExpired() {
+        return leaseExpiresAt.isBefore(LocalDateTime.now());
+    }
+
+    public boolean isOwnedBy(String owner) {
+        return this.owner.equals(owner);
+    }
+
+    public void reclaim(String owner, Duration lease) {
+        this.owner = owner;
+        this.leaseExpiresAt = LocalDateTime.now().plus(lease);
+    }
+
+    public void renewLease(Duration lease) {
+        this.leaseExpiresAt = LocalDateTime.now().plus(lease);
+    }
+}
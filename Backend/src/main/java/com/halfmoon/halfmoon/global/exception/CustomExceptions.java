@@ -27,4 +27,10 @@ public class CustomExceptions {
             super(message);
         }
     }
+
+    public static class ConversationExpiredException extends RuntimeException {
+        public ConversationExpiredException(String message) {
+            super(message);
+        }
+    }
 }
@@ -17,7 +17,9 @@ public enum CustomExcpMsgs {
     JWT_EXPIRED("JWT 토큰이 만료되었습니다."),
 
     BOOKMARK_NOT_FOUND("해당 북마크 정보를 찾을 수 없습니다."),
-    BOOKMARK_UNAUTHORIZED("해당 북마크에 대한 권한이 없습니다.");
+    BOOKMARK_UNAUTHORIZED("해당 북마크에 대한 권한이 없습니다."),
+
+    CONVERSATION_EXPIRED("대화가 만료되었습니다. 새 대화를 시작해주세요: ");
 
 
     private final String message;
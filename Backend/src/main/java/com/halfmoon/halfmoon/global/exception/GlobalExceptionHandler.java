@@ -1,5 +1,6 @@
 package com.halfmoon.halfmoon.global.exception;
 
+import com.halfmoon.halfmoon.global.exception.CustomExceptions.ConversationExpiredException;
 import com.halfmoon.halfmoon.global.response.APIResponse;
 import io.jsonwebtoken.JwtException;
 import java.util.stream.Collectors;
@@ -42,6 +43,13 @@ public class GlobalExceptionHandler {
         return APIResponse.fail(HttpStatus.TOO_MANY_REQUESTS.value(), e.getMessage());
     }
 
+    @ExceptionHandler(ConversationExpiredException.class)
+    @ResponseStatus(HttpStatus.GONE)
+    public APIResponse<Object> handleConversationExpired(ConversationExpiredException e) {
+        log.warn("ConversationExpiredException 발생: {}", e.getMessage());
+        return APIResponse.fail(HttpStatus.GONE.value(), e.getMessage());
+    }
+
     @ExceptionHandler(JwtException.class)
     @ResponseStatus(HttpStatus.UNAUTHORIZED)
     public APIResponse<Object> handleJwtException(JwtException e) {
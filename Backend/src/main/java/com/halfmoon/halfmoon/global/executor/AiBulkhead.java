@@ -0,0 +1,128 @@
+package com.halfmoon.halfmoon.global.executor;
+
+import com.halfmoon.halfmoon.global.exception.TooManyRequestsException;
+import jakarta.annotation.PreDestroy;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Flux;
+import reactor.core.scheduler.Scheduler;
+import reactor.core.scheduler.Schedulers;
+
+/**
+ * 외부 AI 호출을 가상 스레드에서 실행하고, 제공자별로 동시 호출 수를 제한합니다. (bulkhead)
+ * <p>
+ * 컨트롤러는 {@link #submit}/{@link #runAsync}가 돌려주는 CompletableFuture를 그대로 반환하므로 수 초씩 걸리는 AI 호출이 Tomcat 워커 스레드를
+ * 붙잡지 않습니다. 한 제공자의 호출이 몰려도 다른 제공자와 로그인 등 일반 API에는 영향을 주지 않으며, queue-timeout 안에 자리가 나지 않으면
+ * {@link TooManyRequestsException}(429)으로 응답합니다.
+ */
+@Slf4j
+@Component
+public class AiBulkhead {
+
+    private final AiBulkheadProperties properties;
+    private final ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+    private final Scheduler scheduler = Schedulers.fromExecutorService(executor, "ai-bulkhead");
+    private final Map<AiProvider, Semaphore> permits = new EnumMap<>(AiProvider.class);
+
+    public AiBulkhead(AiBulkheadProperties properties) {
+        this.properties = properties;
+        for (AiProvider provider : AiProvider.values()) {
+            permits.put(provider, new Semaphore(properties.maxConcurrentCallsOf(provider), true));
+        }
+    }
+
+    /**
+     * 가상 스레드에서 AI 호출을 실행합니다.
+     */
+    public <T> CompletableFuture<T> submit(AiProvider provider, Callable<T> call) {
+        return runAsync(() -> call(provider, call));
+    }
+
+    /**
+     * 동시 호출 수 제한 없이 가상 스레드에서 작업을 실행합니다. DB 조회 등과 AI 호출이 섞인 작업에 사용하고, 작업 안의 AI 호출은
+     * {@link #call}로 감쌉니다.
+     */
+    public <T> CompletableFuture<T> runAsync(Callable<T> task) {
+        CompletableFuture<T> result = new CompletableFuture<>();
+        executor.execute(() -> {
+            try {
+                result.complete(task.call());
+            } catch (Throwable e) {
+                result.completeExceptionally(e instanceof CompletionException && e.getCause() != null
+                        ? e.getCause() : e);
+            }
+        });
+        return result;
+    }
+
+    /**
+     * 현재 스레드에서 AI 호출을 실행합니다. 가상 스레드(메일박스 턴, {@link #runAsync} 작업) 안에서 사용합니다.
+     */
+    public <T> T call(AiProvider provider, Callable<T> call) {
+        Semaphore semaphore = acquire(provider);
+        try {
+            return call.call();
+        } catch (RuntimeException e) {
+            throw e;
+        } catch (Exception e) {
+            throw new CompletionException(e);
+        } finally {
+            semaphore.release();
+        }
+    }
+
+    /**
+     * 비동기 AI 호출이 끝날 때까지 자리를 차지합니다. 자리를 기다리는 동안에만 가상 스레드를 사용하고, 호출이 진행되는 동안에는 스레드를
+     * 붙잡지 않습니다.
+     */
+    public <T> CompletableFuture<T> callAsync(AiProvider provider, Supplier<CompletableFuture<T>> call) {
+        return runAsync(() -> acquire(provider)).thenCompose(semaphore -> {
+            CompletableFuture<T> result;
+            try {
+                result = call.get();
+            } catch (RuntimeException e) {
+                semaphore.release();
+                throw e;
+            }
+            return result.whenComplete((value, e) -> semaphore.release());
+        });
+    }
+
+    /**
+     * 스트리밍 호출이 끝날 때까지 자리를 차지합니다. 자리를 기다리는 동안에는 가상 스레드에서 대기합니다.
+     */
+    public <T> Flux<T> stream(AiProvider provider, Supplier<Flux<T>> stream) {
+        return Flux.using(() -> acquire(provider), semaphore -> stream.get(), Semaphore::release)
+                .subscribeOn(scheduler);
+    }
+
+    @PreDestroy
+    public void close() {
+        executor.shutdown();
+    }
+
+    private Semaphore acquire(AiProvider provider) {
+        Semaphore semaphore = permits.get(provider);
+        try {
+            if (!semaphore.tryAcquire(properties.getQueueTimeout().toMillis(), TimeUnit.MILLISECONDS)) {
+                log.warn("[bulkhead] {} 동시 호출 수 초과로 요청을 거절합니다. (대기 중: {})", provider,
+                        semaphore.getQueueLength());
+                throw new TooManyRequestsException("요청이 많아 처리할 수 없습니다. 잠시 후 다시 시도해주세요.");
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new TooManyRequestsException("요청 처리가 중단되었습니다.");
+        }
+        return semaphore;
+    }
+}
@@ -0,0 +1,36 @@
+package com.halfmoon.halfmoon.global.executor;
+
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.Map;
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+@Getter
+@Setter
+@Component
+@ConfigurationProperties(prefix = "ai.bulkhead")
+public class AiBulkheadProperties {
+
+    private static final int DEFAULT_MAX_CONCURRENT_CALLS = 16;
+
+    /**
+     * 제공자별 최대 동시 호출 수
+     */
+    private Map<AiProvider, Integer> maxConcurrentCalls = new EnumMap<>(Map.of(
+            AiProvider.OPENAI_CHAT, 32,
+            AiProvider.OPENAI_AUDIO, 16,
+            AiProvider.GEMINI, 8
+    ));
+
+    /**
+     * 동시 호출 수가 가득 찼을 때 자리가 날 때까지 기다리는 최대 시간. 넘으면 429로 응답합니다.
+     */
+    private Duration queueTimeout = Duration.ofSeconds(10);
+
+    public int maxConcurrentCallsOf(AiProvider provider) {
+        return maxConcurrentCalls.getOrDefault(provider, DEFAULT_MAX_CONCURRENT_CALLS);
+    }
+}
@@ -0,0 +1,10 @@
+package com.halfmoon.halfmoon.global.executor;
+
+/**
+ * 동시 호출 수를 따로 제한하는 외부 AI 제공자 구분입니다.
+ */
+public enum AiProvider {
+    OPENAI_CHAT,  // 대화, 학습 내용 생성
+    OPENAI_AUDIO, // TTS, 음성 인식
+    GEMINI        // 발음 평가
+}
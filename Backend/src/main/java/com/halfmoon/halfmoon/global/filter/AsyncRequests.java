@@ -0,0 +1,42 @@
+package com.halfmoon.halfmoon.global.filter;
+
+import jakarta.servlet.AsyncEvent;
+import jakarta.servlet.AsyncListener;
+import jakarta.servlet.http.HttpServletRequest;
+import lombok.AccessLevel;
+import lombok.NoArgsConstructor;
+
+/**
+ * 비동기(CompletableFuture 반환) 요청의 응답 후처리를 돕습니다.
+ * <p>
+ * 비동기 요청은 필터 체인이 한 번 끝난 시점에 아직 응답 본문이 없고, async dispatch에서 본문이 ContentCachingResponseWrapper에 기록됩니다. 따라서
+ * 응답 로그와 copyBodyToResponse()는 async 처리가 완료된 뒤에 실행해야 합니다.
+ */
+@NoArgsConstructor(access = AccessLevel.PRIVATE)
+public class AsyncRequests {
+
+    public static void whenComplete(HttpServletRequest request, Runnable onComplete) {
+        if (!request.isAsyncStarted()) {
+            onComplete.run();
+            return;
+        }
+        request.getAsyncContext().addListener(new AsyncListener() {
+            @Override
+            public void onComplete(AsyncEvent event) {
+                onComplete.run();
+            }
+
+            @Override
+            public void onTimeout(AsyncEvent event) {
+            }
+
+            @Override
+            public void onError(AsyncEvent event) {
+            }
+
+            @Override
+            public void onStartAsync(AsyncEvent event) {
+            }
+        });
+    }
+}
@@ -63,6 +63,16 @@ public class LogFilter implements Filter {
                 .orElse(UUID.randomUUID().toString());
         MDC.put(TRACE_ID_KEY, traceId);
 
+        if (StreamingRequests.isStreaming((HttpServletRequest) req)) {
+            // 스트리밍 응답은 본문을 캐싱하지 않고 그대로 흘려보냄
+            try {
+                chain.doFilter(req, res);
+            } finally {
+                MDC.remove(TRACE_ID_KEY);
+            }
+            return;
+        }
+
         ContentCachingRequestWrapper request = new ContentCachingRequestWrapper((HttpServletRequest) req);
         ContentCachingResponseWrapper response = new ContentCachingResponseWrapper((HttpServletResponse) res);
 
@@ -70,16 +80,27 @@ public class LogFilter implements Filter {
         try {
             chain.doFilter(request, response);
         } finally {
-            long duration = System.currentTimeMillis() - start;
+            // 요청/응답 로그는 body 캐시가 채워진 뒤(= chain 이후, 비동기 요청은 async 완료 후)에 찍어야 함
+            AsyncRequests.whenComplete(request, () -> completeExchange(request, response, start, traceId));
+            MDC.remove(TRACE_ID_KEY);
+        }
+    }
+
+    private void completeExchange(ContentCachingRequestWrapper request, ContentCachingResponseWrapper response,
+                                  long start, String traceId) {
+        MDC.put(TRACE_ID_KEY, traceId);
+        long duration = System.currentTimeMillis() - start;
+        try {
+            logExchange(request, response, duration);
+        } catch (Exception e) {
+            log.warn("Failed to log request/response", e);
+        } finally {
             try {
-                // 요청/응답 로그는 body 캐시가 채워진 뒤(= chain 이후)에 찍어야 함
-                logExchange(request, response, duration);
-            } catch (Exception e) {
-                log.warn("Failed to log request/response", e);
-            } finally {
                 response.copyBodyToResponse(); // 응답 바디 복사 필수
-                MDC.remove(TRACE_ID_KEY);
+            } catch (IOException e) {
+                log.warn("Failed to copy response body", e);
             }
+            MDC.remove(TRACE_ID_KEY);
         }
     }
 
@@ -17,6 +17,12 @@ import org.springframework.web.util.ContentCachingResponseWrapper;
 
 @Slf4j
 public class LoggingFilter extends OncePerRequestFilter {
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return StreamingRequests.isStreaming(request);
+    }
+
     @Override
     protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
             throws ServletException, IOException {
@@ -37,33 +43,43 @@ public class LoggingFilter extends OncePerRequestFilter {
             // 이 시점에 컨트롤러 로직이 실행되고 응답이 생성됨
             filterChain.doFilter(wrappedRequest, wrappedResponse);
         } finally {
-            // 2. 응답이 클라이언트로 나가기 직전에 실행될 부분
+            // 2. 응답이 클라이언트로 나가기 직전에 실행될 부분 (비동기 요청은 async 처리가 끝난 뒤)
+            AsyncRequests.whenComplete(wrappedRequest,
+                    () -> completeExchange(wrappedRequest, wrappedResponse, requestAt, traceId));
+            MDC.clear(); // 현재 스레드의 MDC 정보 제거
+        }
+    }
 
-            LocalDateTime responseAt = LocalDateTime.now();
+    private void completeExchange(ContentCachingRequestWrapper wrappedRequest,
+                                  ContentCachingResponseWrapper wrappedResponse,
+                                  LocalDateTime requestAt, String traceId) {
+        LocalDateTime responseAt = LocalDateTime.now();
 
-            // AccessLog 객체 생성
-            AccessLog accessLog = AccessLog.builder()
-                    .traceId(traceId)
-                    .requestAt(requestAt)
-                    .responseAt(responseAt)
-                    .durationMs(java.time.Duration.between(requestAt, responseAt).toMillis())
-                    .threadName(Thread.currentThread().getName())
-                    .method(wrappedRequest.getMethod())
-                    .uri(wrappedRequest.getRequestURI())
-                    .queryString(wrappedRequest.getQueryString())
-                    .headers(AccessLog.extractHeaders(wrappedRequest))
-                    .remoteIp(AccessLog.extractClientIp(wrappedRequest))
-                    .userAgent(wrappedRequest.getHeader("User-Agent"))
-                    .status(wrappedResponse.getStatus())
-                    .requestBody(new String(wrappedRequest.getContentAsByteArray(), StandardCharsets.UTF_8))
-                    .responseBody(new String(wrappedResponse.getContentAsByteArray(), StandardCharsets.UTF_8))
-                    .build();
+        // AccessLog 객체 생성
+        AccessLog accessLog = AccessLog.builder()
+                .traceId(traceId)
+                .requestAt(requestAt)
+                .responseAt(responseAt)
+                .durationMs(java.time.Duration.between(requestAt, responseAt).toMillis())
+                .threadName(Thread.currentThread().getName())
+                .method(wrappedRequest.getMethod())
+                .uri(wrappedRequest.getRequestURI())
+                .queryString(wrappedRequest.getQueryString())
+                .headers(AccessLog.extractHeaders(wrappedRequest))
+                .remoteIp(AccessLog.extractClientIp(wrappedRequest))
+                .userAgent(wrappedRequest.getHeader("User-Agent"))
+                .status(wrappedResponse.getStatus())
+                .requestBody(new String(wrappedRequest.getContentAsByteArray(), StandardCharsets.UTF_8))
+                .responseBody(new String(wrappedResponse.getContentAsByteArray(), StandardCharsets.UTF_8))
+                .build();
 
-            log.info("{}", accessLog); // AccessLog 객체를 JSON 형식으로 로깅
+        log.info("{}", accessLog); // AccessLog 객체를 JSON 형식으로 로깅
 
-            // 중요: 캐시에 저장된 응답 본문을 실제 응답 객체에 복사하여 클라이언트에게 전달
+        // 중요: 캐시에 저장된 응답 본문을 실제 응답 객체에 복사하여 클라이언트에게 전달
+        try {
             wrappedResponse.copyBodyToResponse();
-            MDC.clear(); // 현재 스레드의 MDC 정보 제거
+        } catch (IOException e) {
+            log.warn("Failed to copy response body", e);
         }
     }
 }
@@ -0,0 +1,35 @@
+package com.halfmoon.halfmoon.global.filter;
+
+import jakarta.servlet.http.HttpServletRequest;
+import java.util.List;
+import lombok.AccessLevel;
+import lombok.NoArgsConstructor;
+import org.springframework.util.AntPathMatcher;
+import org.springframework.util.PathMatcher;
+
+/**
+ * 응답 본문을 캐싱하면 안 되는 스트리밍 요청을 판별합니다.
+ * <p>
+ * ContentCachingResponseWrapper는 응답이 끝날 때까지 본문을 메모리에 모아두므로, SSE 응답을 감싸면 클라이언트가 토큰을 하나도 받지 못합니다.
+ * 음성 응답도 본문 전체가 한 번 더 복사되고 로그에 바이너리가 찍히므로 캐싱하지 않습니다.
+ * <p>
+ * axios, fetch 같은 클라이언트는 Accept 헤더에 text/event-stream을 넣지 않으므로 헤더가 아니라 요청 경로로 판별합니다.
+ */
+@NoArgsConstructor(access = AccessLevel.PRIVATE)
+public class StreamingRequests {
+
+    private static final PathMatcher PATH_MATCHER = new AntPathMatcher();
+
+    private static final List<String> STREAMING_PATHS = List.of(
+            "/api/chat/continue/stream",        // SSE
+            "/api/chat/continue/voice/stream",  // SSE
+            "/api/subject/start/stream",        // SSE
+            "/api/subject/jobs/*/events",       // SSE
+            "/api/tts/**"                       // 음성
+    );
+
+    public static boolean isStreaming(HttpServletRequest request) {
+        String path = request.getRequestURI().substring(request.getContextPath().length());
+        return STREAMING_PATHS.stream().anyMatch(pattern -> PATH_MATCHER.match(pattern, path));
+    }
+}
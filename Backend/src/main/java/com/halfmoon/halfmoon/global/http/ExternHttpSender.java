@@ -0,0 +1,68 @@
+package com.halfmoon.halfmoon.global.http;
+
+import com.halfmoon.halfmoon.global.config.ExternHttpProperties;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.TimeUnit;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+/**
+ * 공용 {@link HttpClient}로 외부 API를 호출합니다.
+ * <p>
+ * 모든 요청에 request-timeout을 걸고, 연결 실패, 429, 5xx 응답은 max-retries 번까지 retry-backoff 부터 두 배씩 늘려 기다린 뒤 다시
+ * 보냅니다. 기다리는 동안 스레드를 붙잡지 않습니다.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class ExternHttpSender {
+
+    private final HttpClient externHttpClient;
+    private final ExternHttpProperties properties;
+
+    /**
+     * request-timeout이 설정된 요청 빌더를 반환합니다.
+     */
+    public HttpRequest.Builder newRequest(URI uri) {
+        return HttpRequest.newBuilder(uri).timeout(properties.getRequestTimeout());
+    }
+
+    /**
+     * @param apiName 로그와 오류 메시지에 남길 API 이름
+     * @return 2xx 응답. 재시도 후에도 실패하면 RuntimeException으로 완료
+     */
+    public CompletableFuture<HttpResponse<String>> send(String apiName, HttpRequest request) {
+        return send(apiName, request, 0);
+    }
+
+    private CompletableFuture<HttpResponse<String>> send(String apiName, HttpRequest request, int attempt) {
+        return externHttpClient.sendAsync(request, HttpResponse.BodyHandlers.ofString())
+                .handle((response, e) -> {
+                    boolean retryable = e != null || response.statusCode() == 429 || response.statusCode() >= 500;
+                    if (retryable && attempt < properties.getMaxRetries()) {
+                        long backoffMillis = properties.getRetryBackoff().toMillis() << attempt;
+                        log.warn("{} 요청 재시도 ({}/{}) - {}: {}", apiName, attempt + 1, properties.getMaxRetries(),
+                                request.uri().getPath(), e != null ? e.getMessage() : "HTTP " + response.statusCode());
+                        return CompletableFuture.supplyAsync(() -> request,
+                                        CompletableFuture.delayedExecutor(backoffMillis, TimeUnit.MILLISECONDS))
+                                .thenCompose(retry -> send(apiName, retry, attempt + 1));
+                    }
+                    if (e != null) {
+                        return CompletableFuture.<HttpResponse<String>>failedFuture(
+                                e instanceof CompletionException && e.getCause() != null ? e.getCause() : e);
+                    }
+                    if (response.statusCode() / 100 != 2) {
+                        return CompletableFuture.<HttpResponse<String>>failedFuture(new RuntimeException(
+                                apiName + " 요청 실패 (" + response.statusCode() + "): " + response.body()));
+                    }
+                    return CompletableFuture.completedFuture(response);
+                })
+                .thenCompose(result -> result);
+    }
+}
@@ -0,0 +1,7 @@
+package com.halfmoon.halfmoon.global.infra;
+
+import com.halfmoon.halfmoon.global.domain.IdGeneratorNode;
+import org.springframework.data.jpa.repository.JpaRepository;
+
+public interface IdGeneratorNodeJpaRepository extends JpaRepository<IdGeneratorNode, Long> {
+}
@@ -0,0 +1,124 @@
+package com.halfmoon.halfmoon.global.util;
+
+import jakarta.annotation.PreDestroy;
+import java.net.InetAddress;
+import java.net.UnknownHostException;
+import java.time.Instant;
+import java.util.concurrent.atomic.AtomicLong;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+/**
+ * 시간 순으로 정렬되는 64bit ID 생성기입니다. (Snowflake 방식)
+ * <p>
+ * [41bit 타임스탬프(ms, 2025-01-01 기준)][10bit 노드 ID][12bit 시퀀스] 로 구성되며, 마지막 (타임스탬프, 시퀀스)를 하나의 AtomicLong에 담아 CAS로
+ * 갱신하므로 락 없이 동작합니다. 같은 ms 안에서 시퀀스를 모두 쓰거나 시계가 뒤로 가면 마지막 타임스탬프를 이어서 사용하므로 중복되지 않습니다.
+ * <p>
+ * 노드 ID는 id-generator.node-id로 서버마다 지정하거나, 지정하지 않으면 {@link SnowflakeNodeIdLease}로 DB에서 임대합니다. 임대한 노드 ID는
+ * 주기적으로 연장하며, 연장에 실패하면(다른 서버가 이어받음) 새 노드 ID를 임대합니다.
+ */
+@Slf4j
+@Component
+public class SnowflakeIdGenerator {
+
+    private static final long EPOCH = Instant.parse("2025-01-01T00:00:00Z").toEpochMilli();
+
+    private static final int NODE_ID_BITS = 10;
+    private static final int SEQUENCE_BITS = 12;
+    private static final long MAX_NODE_ID = (1L << NODE_ID_BITS) - 1;
+    private static final long SEQUENCE_MASK = (1L << SEQUENCE_BITS) - 1;
+    private static final int TIMESTAMP_SHIFT = NODE_ID_BITS + SEQUENCE_BITS;
+
+    // 문자열 ID의 길이를 맞춰 사전순 정렬이 시간순과 같도록 함
+    private static final int STRING_ID_LENGTH = Long.toString(Long.MAX_VALUE, Character.MAX_RADIX).length();
+
+    private final SnowflakeNodeIdLease nodeIdLease; // 노드 ID를 지정한 경우 null
+    private volatile long nodeId;
+    private final AtomicLong lastState = new AtomicLong(); // (timestamp << SEQUENCE_BITS) | sequence
+
+    public SnowflakeIdGenerator(@Value("${id-generator.node-id:-1}") long configuredNodeId,
+                                SnowflakeNodeIdLease nodeIdLease) {
+        if (configuredNodeId > MAX_NODE_ID) {
+            throw new IllegalArgumentException("id-generator.node-id는 0 ~ " + MAX_NODE_ID + " 사이여야 합니다: "
+                    + configuredNodeId);
+        }
+        if (configuredNodeId >= 0) {
+            this.nodeIdLease = null;
+            this.nodeId = configuredNodeId;
+        } else {
+            this.nodeIdLease = nodeIdLease;
+            this.nodeId = nodeIdLease.acquire(nodeIdFromHostName(), MAX_NODE_ID);
+        }
+        log.info("SnowflakeIdGenerator node id: {} ({})", nodeId, this.nodeIdLease == null ? "설정" : "임대");
+    }
+
+    public long nextId() {
+        long currentNodeId = nodeId;
+        while (true) {
+            long last = lastState.get();
+            long lastTimestamp = last >>> SEQUENCE_BITS;
+            long now = System.currentTimeMillis() - EPOCH;
+
+            long next;
+            if (now > lastTimestamp) {
+                next = now << SEQUENCE_BITS;
+            } else if ((last & SEQUENCE_MASK) < SEQUENCE_MASK) {
+                next = last + 1;
+            } else {
+                next = (lastTimestamp + 1) << SEQUENCE_BITS; // 시퀀스 소진 시 다음 ms를 미리 사용
+            }
+
+            if (lastState.compareAndSet(last, next)) {
+                long timestamp = next >>> SEQUENCE_BITS;
+                return (timestamp << TIMESTAMP_SHIFT) | (currentNodeId << SEQUENCE_BITS) | (next & SEQUENCE_MASK);
+            }
+        }
+    }
+
+    /**
+     * 36진수 고정 길이 문자열 ID를 반환합니다.
+     */
+    public String nextIdAsString() {
+        String id = Long.toString(nextId(), Character.MAX_RADIX);
+        return "0".repeat(STRING_ID_LENGTH - id.length()) + id;
+    }
+
+    @Scheduled(fixedDelayString = "${id-generator.node-lease-renew-interval:PT20S}",
+            initialDelayString = "${id-generator.node-lease-renew-interval:PT20S}")
+    public void renewNodeLease() {
+        if (nodeIdLease == null) {
+            return;
+        }
+        try {
+            if (!nodeIdLease.renew(nodeId)) {
+                long lost = nodeId;
+                nodeId = nodeIdLease.acquire(lost, MAX_NODE_ID);
+                log.warn("노드 ID 임대를 잃어 새로 임대했습니다 - {} -> {}", lost, nodeId);
+            }
+        } catch (RuntimeException e) {
+            // DB 장애 중에는 lease 안에서 기존 노드 ID를 계속 사용하고 다음 주기에 다시 시도
+            log.warn("노드 ID 임대 연장 실패 - nodeId: {}, 사유: {}", nodeId, e.getMessage());
+        }
+    }
+
+    @PreDestroy
+    public void releaseNodeLease() {
+        if (nodeIdLease != null) {
+            nodeIdLease.release(nodeId);
+        }
+    }
+
+    /**
+     * 임대할 노드 ID를 찾기 시작할 위치. 서버마다 다른 위치부터 찾아 선점 충돌을 줄입니다.
+     */
+    private static long nodeIdFromHostName() {
+        try {
+            return InetAddress.getLocalHost().getHostName().hashCode() & MAX_NODE_ID;
+        } catch (UnknownHostException e) {
+            log.warn("호스트 이름을 확인할 수 없어 임의의 위치부터 노드 ID를 임대합니다.", e);
+            return (long) (Math.random() * MAX_NODE_ID);
+        }
+    }
+}
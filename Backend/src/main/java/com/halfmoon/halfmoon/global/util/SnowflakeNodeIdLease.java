@@ -0,0 +1,97 @@
+package com.halfmoon.halfmoon.global.util;
+
+import com.halfmoon.halfmoon.global.domain.IdGeneratorNode;
+import com.halfmoon.halfmoon.global.infra.IdGeneratorNodeJpaRepository;
+import java.time.Duration;
+import java.util.Optional;
+import java.util.UUID;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * {@link SnowflakeIdGenerator}의 노드 ID를 DB에서 임대합니다.
+ * <p>
+ * 노드 ID를 따로 설정하지 않은 서버는 비어 있거나 임대가 만료된 노드 ID를 하나 선점하여 사용하므로, 호스트 이름 해시처럼 서버끼리 노드 ID가
+ * 겹치지 않습니다.
+ */
+@Slf4j
+@Component
+public class SnowflakeNodeIdLease {
+
+    private final IdGeneratorNodeJpaRepository nodeRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final Duration lease;
+    private final String owner = UUID.randomUUID().toString();
+
+    public SnowflakeNodeIdLease(IdGeneratorNodeJpaRepository nodeRepository,
+                                TransactionTemplate transactionTemplate,
+                                @Value("${id-generator.node-lease:PT1M}") Duration lease) {
+        this.nodeRepository = nodeRepository;
+        this.transactionTemplate = transactionTemplate;
+        this.lease = lease;
+    }
+
+    /**
+     * preferred부터 차례로 확인하여 처음으로 선점한 노드 ID를 반환합니다.
+     */
+    public long acquire(long preferred, long maxNodeId) {
+        for (long i = 0; i <= maxNodeId; i++) {
+            long nodeId = (preferred + i) % (maxNodeId + 1);
+            if (tryClaim(nodeId)) {
+                return nodeId;
+            }
+        }
+        throw new IllegalStateException("임대할 수 있는 ID 생성기 노드 ID가 없습니다.");
+    }
+
+    /**
+     * @return 아직 이 서버가 임대 중이어서 연장했는지 여부
+     */
+    public boolean renew(long nodeId) {
+        try {
+            return Boolean.TRUE.equals(transactionTemplate.execute(status -> {
+                Optional<IdGeneratorNode> node = nodeRepository.findById(nodeId);
+                if (node.isEmpty() || !node.get().isOwnedBy(owner)) {
+                    return false;
+                }
+                node.get().renewLease(lease);
+                nodeRepository.flush();
+                return true;
+            }));
+        } catch (ObjectOptimisticLockingFailureException e) {
+            return false; // 만료된 사이 다른 서버가 이어받음
+        }
+    }
+
+    public void release(long nodeId) {
+        transactionTemplate.executeWithoutResult(status -> nodeRepository.findById(nodeId)
+                .filter(node -> node.isOwnedBy(owner))
+                .ifPresent(nodeRepository::delete));
+    }
+
+    private boolean tryClaim(long nodeId) {
+        try {
+            return Boolean.TRUE.equals(transactionTemplate.execute(status -> {
+                Optional<IdGeneratorNode> claimed = nodeRepository.findById(nodeId);
+                if (claimed.isEmpty()) {
+                    nodeRepository.saveAndFlush(IdGeneratorNode.lease(nodeId, owner, lease));
+                    return true;
+                }
+                IdGeneratorNode node = claimed.get();
+                if (!node.isLeaseExpired()) {
+                    return false;
+                }
+                log.info("임대가 만료된 ID 생성기 노드 ID를 이어받습니다 - nodeId: {}", nodeId);
+                node.reclaim(owner, lease);
+                nodeRepository.flush();
+                return true;
+            }));
+        } catch (DataIntegrityViolationException | ObjectOptimisticLockingFailureException e) {
+            return false; // 다른 서버가 먼저 선점
+        }
+    }
+}
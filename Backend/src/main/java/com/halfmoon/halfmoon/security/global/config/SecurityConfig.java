@@ -4,6 +4,7 @@ import com.halfmoon.halfmoon.global.filter.LoggingFilter;
 import com.halfmoon.halfmoon.security.application.JwtService;
 import com.halfmoon.halfmoon.security.global.filter.JwtFilter;
 import com.halfmoon.halfmoon.security.global.filter.LoginFilter;
+import jakarta.servlet.DispatcherType;
 import java.util.Collections;
 import java.util.List;
 import lombok.RequiredArgsConstructor;
@@ -38,6 +39,7 @@ public class SecurityConfig {
                 .httpBasic(AbstractHttpConfigurer::disable)
                 .sessionManagement(session -> session.sessionCreationPolicy(SessionCreationPolicy.STATELESS))
                 .authorizeHttpRequests(auth -> auth
+                        .dispatcherTypeMatchers(DispatcherType.ASYNC).permitAll() // SSE 등 비동기 응답 재디스패치
                         .requestMatchers(whiteListProperties.getPaths().toArray(new String[0])).permitAll()
                         .requestMatchers("/api/admin/**").hasRole("ADMIN")
                         .requestMatchers("/api/user/**").hasRole("USER")
@@ -0,0 +1,38 @@
+package com.halfmoon.halfmoon.study.application;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+@Getter
+@Setter
+@Component
+@ConfigurationProperties(prefix = "audio.preprocessing")
+public class AudioPreprocessingProperties {
+
+    /**
+     * 음성 인식/발음 평가 전에 WAV 음성의 앞뒤 무음을 잘라내고 모노로 다운샘플링할지 여부
+     */
+    private boolean enabled = true;
+
+    /**
+     * 다운샘플링할 샘플레이트 (Hz). 이보다 낮은 음성은 그대로 둠
+     */
+    private int targetSampleRate = 16_000;
+
+    /**
+     * 이 음량(dBFS)보다 큰 구간을 말소리로 판단
+     */
+    private double silenceThresholdDb = -40.0;
+
+    /**
+     * 음량을 계산하는 구간 길이 (밀리초)
+     */
+    private int frameMillis = 20;
+
+    /**
+     * 말소리 앞뒤로 남겨둘 길이 (밀리초). 첫 자음이나 끝음이 잘리지 않도록 함
+     */
+    private int paddingMillis = 300;
+}
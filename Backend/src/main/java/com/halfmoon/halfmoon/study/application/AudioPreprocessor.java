@@ -0,0 +1,353 @@
+package com.halfmoon.halfmoon.study.application;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Optional;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.core.io.FileSystemResource;
+import org.springframework.core.io.Resource;
+import org.springframework.stereotype.Component;
+
+/**
+ * 음성 인식/발음 평가 요청 전에 음성을 줄입니다.
+ * <p>
+ * 16bit PCM WAV 음성은 구간별 음량으로 말소리가 있는 구간을 찾아 앞뒤 무음을 잘라내고, 모노로 합친 뒤 target-sample-rate로
+ * 다운샘플링합니다. 말소리가 전혀 없는 음성은 AI를 호출하지 않고 바로 거절합니다. 압축된 음성(webm, mp3 등)이나 다른 형식의 WAV는 그대로
+ * 사용합니다.
+ * <p>
+ * 음성을 메모리에 올리지 않도록 원본을 두 번 읽습니다. 처음에는 말소리 구간만 찾고, 두 번째에 그 구간만 변환해 임시 파일에 씁니다.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class AudioPreprocessor {
+
+    private static final String WAV_CONTENT_TYPE = "audio/wav";
+    private static final int WAVE_FORMAT_PCM = 1;
+    private static final int WAVE_FORMAT_EXTENSIBLE = 0xFFFE;
+    private static final int BYTES_PER_SAMPLE = 2;
+    private static final int WAV_HEADER_BYTES = 44;
+    private static final long UNKNOWN_DATA_SIZE = 0xFFFFFFFFL; // 녹음 중에 바로 내보낸 WAV
+
+    private final AudioPreprocessingProperties properties;
+
+    /**
+     * @param contentType 원본을 그대로 사용할 때 돌려줄 Content-Type
+     * @throws IllegalArgumentException 말소리가 없는 음성
+     */
+    public PreparedAudio prepare(Resource audio, String contentType) {
+        if (!properties.isEnabled()) {
+            return PreparedAudio.original(audio, contentType);
+        }
+        try {
+            Optional<WavFormat> format;
+            try (InputStream is = new BufferedInputStream(audio.getInputStream())) {
+                format = readWavFormat(is);
+            }
+            if (format.isEmpty()) {
+                return PreparedAudio.original(audio, contentType);
+            }
+            return prepareWav(audio, contentType, format.get());
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private PreparedAudio prepareWav(Resource audio, String contentType, WavFormat format) throws IOException {
+        VoicedRange voiced = findVoicedRange(audio, format);
+        if (voiced.isEmpty()) {
+            throw new IllegalArgumentException("음성이 감지되지 않았습니다. 다시 녹음해 주세요.");
+        }
+
+        int targetRate = Math.min(format.sampleRate(), properties.getTargetSampleRate());
+        boolean trimmed = voiced.start() > 0 || voiced.end() < voiced.total();
+        if (!trimmed && format.channels() == 1 && targetRate == format.sampleRate()) {
+            return PreparedAudio.original(audio, contentType);
+        }
+
+        Path output = Files.createTempFile("halfmoon-audio-", ".wav");
+        try {
+            writeMonoWav(audio, format, voiced, targetRate, output);
+        } catch (IOException | RuntimeException e) {
+            Files.deleteIfExists(output);
+            throw e;
+        }
+        log.debug("음성 전처리 - {}ms → {}ms, {}Hz {}ch → {}Hz 1ch, {} → {} bytes",
+                voiced.total() * 1000 / format.sampleRate(), (voiced.end() - voiced.start()) * 1000 / format.sampleRate(),
+                format.sampleRate(), format.channels(), targetRate, audio.contentLength(), Files.size(output));
+        return new PreparedAudio(new FileSystemResource(output), WAV_CONTENT_TYPE, output);
+    }
+
+    /**
+     * 구간별 음량이 기준보다 큰 첫 구간과 마지막 구간을 찾고, 앞뒤로 padding-millis 만큼 여유를 둡니다.
+     */
+    private VoicedRange findVoicedRange(Resource audio, WavFormat format) throws IOException {
+        int frameSamples = Math.max(1, format.sampleRate() * properties.getFrameMillis() / 1000);
+        double threshold = Math.pow(10, properties.getSilenceThresholdDb() / 20) * Short.MAX_VALUE;
+        byte[] buffer = new byte[frameSamples * format.blockAlign()];
+
+        long total = 0L;
+        long firstVoiced = -1L;
+        long lastVoiced = -1L;
+        try (InputStream is = openData(audio, format, 0L)) {
+            int read;
+            while ((read = is.readNBytes(buffer, 0, buffer.length)) > 0) {
+                int samples = read / format.blockAlign();
+                double sumOfSquares = 0;
+                for (int i = 0; i < samples; i++) {
+                    double sample = monoSample(buffer, i, format.channels());
+                    sumOfSquares += sample * sample;
+                }
+                if (samples > 0 && Math.sqrt(sumOfSquares / samples) > threshold) {
+                    if (firstVoiced < 0) {
+                        firstVoiced = total;
+                    }
+                    lastVoiced = total + samples;
+                }
+                total += samples;
+            }
+        }
+        if (firstVoiced < 0) {
+            return new VoicedRange(0L, 0L, total);
+        }
+        long padding = (long) format.sampleRate() * properties.getPaddingMillis() / 1000;
+        return new VoicedRange(Math.max(0L, firstVoiced - padding), Math.min(total, lastVoiced + padding), total);
+    }
+
+    /**
+     * 말소리 구간만 모노로 합쳐 씁니다. 다운샘플링은 출력 샘플 하나에 해당하는 입력 샘플들의 평균을 사용해, 높은 주파수가 낮은 주파수로
+     * 섞여 들어오는 것(aliasing)을 줄입니다.
+     */
+    private void writeMonoWav(Resource audio, WavFormat format, VoicedRange voiced, int targetRate, Path output)
+            throws IOException {
+        long inputSamples = voiced.end() - voiced.start();
+        long outputSamples = (inputSamples - 1) * targetRate / format.sampleRate() + 1;
+        byte[] buffer = new byte[4096 * format.blockAlign()];
+
+        try (InputStream is = openData(audio, format, voiced.start() * format.blockAlign());
+             OutputStream os = new BufferedOutputStream(Files.newOutputStream(output))) {
+            writeWavHeader(os, targetRate, outputSamples * BYTES_PER_SAMPLE);
+
+            long index = 0L;
+            long currentOutput = 0L;
+            long sum = 0L;
+            int count = 0;
+            long remaining = inputSamples * format.blockAlign();
+            int read;
+            while (remaining > 0
+                    && (read = is.readNBytes(buffer, 0, (int) Math.min(buffer.length, remaining))) > 0) {
+                remaining -= read;
+                int samples = read / format.blockAlign();
+                for (int i = 0; i < samples; i++, index++) {
+                    long outputIndex = index * targetRate / format.sampleRate();
+                    if (outputIndex != currentOutput) {
+                        writeSample(os, (int) (sum / count));
+                        currentOutput = outputIndex;
+                        sum = 0L;
+                        count = 0;
+                    }
+                    sum += monoSample(buffer, i, format.channels());
+                    count++;
+                }
+            }
+            if (count > 0) {
+                writeSample(os, (int) (sum / count));
+            }
+        }
+    }
+
+    /**
+     * @return data 청크의 offset 바이트 위치부터 읽는 스트림
+     */
+    private static InputStream openData(Resource audio, WavFormat format, long offset) throws IOException {
+        InputStream is = new BufferedInputStream(audio.getInputStream());
+        try {
+            is.skipNBytes(format.dataOffset() + offset);
+        } catch (IOException e) {
+            is.close();
+            throw e;
+        }
+        long remaining = format.dataSize() - offset;
+        return new InputStream() {
+            private long left = remaining;
+
+            @Override
+            public int read() throws IOException {
+                if (left <= 0) {
+                    return -1;
+                }
+                int b = is.read();
+                if (b >= 0) {
+                    left--;
+                }
+                return b;
+            }
+
+            @Override
+            public int read(byte[] b, int off, int len) throws IOException {
+                if (left <= 0) {
+                    return -1;
+                }
+                int read = is.read(b, off, (int) Math.min(len, left));
+                if (read > 0) {
+                    left -= read;
+                }
+                return read;
+            }
+
+            @Override
+            public void close() throws IOException {
+                is.close();
+            }
+        };
+    }
+
+    private static int monoSample(byte[] buffer, int sampleIndex, int channels) {
+        int offset = sampleIndex * channels * BYTES_PER_SAMPLE;
+        int sum = 0;
+        for (int channel = 0; channel < channels; channel++) {
+            int at = offset + channel * BYTES_PER_SAMPLE;
+            sum += (short) ((buffer[at] & 0xFF) | (buffer[at + 1] << 8));
+        }
+        return sum / channels;
+    }
+
+    /**
+     * 16bit PCM WAV의 형식과 data 청크 위치를 읽습니다.
+     *
+     * @return WAV가 아니거나 16bit PCM이 아니면 empty
+     */
+    private static Optional<WavFormat> readWavFormat(InputStream is) throws IOException {
+        byte[] riff = is.readNBytes(12);
+        if (riff.length < 12 || !startsWith(riff, 0, "RIFF") || !startsWith(riff, 8, "WAVE")) {
+            return Optional.empty();
+        }
+
+        long position = 12L;
+        int channels = 0;
+        int sampleRate = 0;
+        boolean pcm16 = false;
+        while (true) {
+            byte[] chunkHeader = is.readNBytes(8);
+            if (chunkHeader.length < 8) {
+                return Optional.empty();
+            }
+            long chunkSize = readInt(chunkHeader, 4) & 0xFFFFFFFFL;
+            position += 8;
+
+            if (startsWith(chunkHeader, 0, "fmt ")) {
+                byte[] fmt = is.readNBytes((int) chunkSize);
+                if (fmt.length < 16) {
+                    return Optional.empty();
+                }
+                int audioFormat = readShort(fmt, 0);
+                if (audioFormat == WAVE_FORMAT_EXTENSIBLE && fmt.length >= 26) {
+                    audioFormat = readShort(fmt, 24); // SubFormat GUID의 앞 2바이트
+                }
+                channels = readShort(fmt, 2);
+                sampleRate = readInt(fmt, 4);
+                pcm16 = audioFormat == WAVE_FORMAT_PCM && readShort(fmt, 14) == 16 && channels > 0 && sampleRate > 0;
+                is.skipNBytes(chunkSize % 2);
+                position += chunkSize + chunkSize % 2;
+            } else if (startsWith(chunkHeader, 0, "data")) {
+                if (!pcm16) {
+                    return Optional.empty();
+                }
+                long dataSize = chunkSize == UNKNOWN_DATA_SIZE ? Long.MAX_VALUE : chunkSize;
+                return Optional.of(new WavFormat(channels, sampleRate, position, dataSize));
+            } else {
+                is.skipNBytes(chunkSize + chunkSize % 2);
+                position += chunkSize + chunkSize % 2;
+            }
+        }
+    }
+
+    private static void writeWavHeader(OutputStream os, int sampleRate, long dataSize) throws IOException {
+        byte[] header = new byte[WAV_HEADER_BYTES];
+        writeAscii(header, 0, "RIFF");
+        writeInt(header, 4, (int) (36 + dataSize));
+        writeAscii(header, 8, "WAVE");
+        writeAscii(header, 12, "fmt ");
+        writeInt(header, 16, 16);
+        writeShort(header, 20, WAVE_FORMAT_PCM);
+        writeShort(header, 22, 1);
+        writeInt(header, 24, sampleRate);
+        writeInt(header, 28, sampleRate * BYTES_PER_SAMPLE);
+        writeShort(header, 32, BYTES_PER_SAMPLE);
+        writeShort(header, 34, 16);
+        writeAscii(header, 36, "data");
+        writeInt(header, 40, (int) dataSize);
+        os.write(header);
+    }
+
+    private static void writeSample(OutputStream os, int sample) throws IOException {
+        os.write(sample & 0xFF);
+        os.write((sample >> 8) & 0xFF);
+    }
+
+    private static int readShort(byte[] data, int offset) {
+        return (data[offset] & 0xFF) | (data[offset + 1] & 0xFF) << 8;
+    }
+
+    private static int readInt(byte[] data, int offset) {
+        return readShort(data, offset) | readShort(data, offset + 2) << 16;
+    }
+
+    private static void writeShort(byte[] data, int offset, int value) {
+        data[offset] = (byte) value;
+        data[offset + 1] = (byte) (value >> 8);
+    }
+
+    private static void writeInt(byte[] data, int offset, int value) {
+        writeShort(data, offset, value);
+        writeShort(data, offset + 2, value >> 16);
+    }
+
+    private static void writeAscii(byte[] data, int offset, String text) {
+        for (int i = 0; i < text.length(); i++) {
+            data[offset + i] = (byte) text.charAt(i);
+        }
+    }
+
+    private static boolean startsWith(byte[] data, int offset, String prefix) {
+        if (offset + prefix.length() > data.length) {
+            return false;
+        }
+        for (int i = 0; i < prefix.length(); i++) {
+            if (data[offset + i] != prefix.charAt(i)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * @param dataOffset 파일 처음부터 data 청크 본문까지의 바이트 수
+     * @param dataSize   data 청크 크기. 알 수 없으면 Long.MAX_VALUE (파일 끝까지)
+     */
+    private record WavFormat(int channels, int sampleRate, long dataOffset, long dataSize) {
+
+        int blockAlign() {
+            return channels * BYTES_PER_SAMPLE;
+        }
+    }
+
+    /**
+     * @param start 말소리 구간 시작 샘플 (포함)
+     * @param end   말소리 구간 끝 샘플 (제외)
+     * @param total 전체 샘플 수
+     */
+    private record VoicedRange(long start, long end, long total) {
+
+        boolean isEmpty() {
+            return end <= start;
+        }
+    }
+}
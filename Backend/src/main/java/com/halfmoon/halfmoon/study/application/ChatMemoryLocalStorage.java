@@ -1,37 +1,300 @@
 package com.halfmoon.halfmoon.study.application;
 
+import static com.halfmoon.halfmoon.global.exception.CustomExcpMsgs.CONVERSATION_EXPIRED;
+
+import com.halfmoon.halfmoon.global.exception.CustomExceptions.ConversationExpiredException;
+import com.halfmoon.halfmoon.study.dto.resp.ChatMemoryStatsResponse;
+import com.halfmoon.halfmoon.study.dto.resp.ConversationTokenUsageResponse;
+import com.halfmoon.halfmoon.study.infra.ConversationSegmentLog;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
 import java.util.Map;
-import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.ai.chat.memory.ChatMemory;
+import org.springframework.ai.chat.memory.MessageWindowChatMemory;
+import org.springframework.ai.chat.messages.Message;
+import org.springframework.ai.chat.metadata.Usage;
+import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Component;
 
-@Component
+/**
+ * 진행 중인 대화의 ChatMemory를 보관하는 로컬 저장소입니다.
+ * <p>
+ * 마지막 접근 후 idle-ttl이 지난 대화와, 최대 대화 수/최대 메모리 사용량을 넘긴 경우 가장 오래 사용하지 않은 대화부터 제거합니다. 제거된 대화 ID는 따로
+ * 기억해두었다가, 클라이언트가 다시 접근하면 {@link ConversationExpiredException}으로 만료되었음을 알려줍니다.
+ * <p>
+ * 디스크 로그(chat.memory.persistence)가 켜져 있으면 용량 초과로 밀려난 대화는 디스크에만 남고(spill), 다시 접근할 때 최근 메시지로 복구됩니다.
+ * 재시작 후에도 같은 방식으로 대화를 이어갈 수 있습니다. idle-ttl이 지난 대화는 디스크에서도 지웁니다.
+ */
 @Slf4j
+@Component
+@RequiredArgsConstructor
 public class ChatMemoryLocalStorage {
 
-    static Map<String, ChatMemory> chatMemoryStorage = new ConcurrentHashMap<>();
+    private static final long MESSAGE_OVERHEAD_BYTES = 64L;
 
-    private static Long conversationCount = 0L;
+    private final ChatMemoryProperties properties;
+    private final ConversationSegmentLog conversationLog;
 
-    public static ChatMemory getChatMemory(String conversationId) {
+    // accessOrder = true : 가장 오래 사용하지 않은 대화가 맨 앞에 위치
+    private final LinkedHashMap<String, StoredConversation> chatMemoryStorage = new LinkedHashMap<>(16, 0.75f, true);
+    private final LinkedHashMap<String, Long> expiredConversationIds = new LinkedHashMap<>();
+    private long totalEstimatedBytes = 0L;
+
+    private final AtomicLong hitCount = new AtomicLong();
+    private final AtomicLong missCount = new AtomicLong();
+    private final AtomicLong evictionCount = new AtomicLong();
+    private final AtomicLong restoreCount = new AtomicLong();
+
+    /**
+     * 새 대화에 사용할 ChatMemory를 만듭니다.
+     */
+    public ChatMemory newChatMemory() {
+        if (isPersistent()) {
+            return PersistentChatMemory.create(conversationLog, properties.getPersistence().getHotWindowSize());
+        }
+        return MessageWindowChatMemory.builder()
+                .maxMessages(properties.getPersistence().getHotWindowSize())
+                .build();
+    }
+
+    public synchronized ChatMemory getChatMemory(String conversationId) {
         log.info("Getting chat memory for talkId: {}", conversationId);
-        return chatMemoryStorage.get(conversationId);
+        long now = System.currentTimeMillis();
+
+        StoredConversation stored = chatMemoryStorage.get(conversationId);
+        if (stored != null && isIdleExpired(stored, now)) {
+            evict(conversationId, "idle-ttl");
+            stored = null;
+        }
+
+        if (stored == null) {
+            missCount.incrementAndGet();
+            if (expiredConversationIds.containsKey(conversationId)) {
+                throw new ConversationExpiredException(CONVERSATION_EXPIRED.getMessage() + conversationId);
+            }
+            return restoreFromLog(conversationId, now);
+        }
+
+        hitCount.incrementAndGet();
+        stored.lastAccessedAt = now;
+        return stored.chatMemory;
     }
 
-    public static void putChatMemory(String conversationId, ChatMemory chatMemory) {
+    public synchronized void putChatMemory(String conversationId, ChatMemory chatMemory) {
         log.info("Putting chat memory for talkId: {}", conversationId);
-        ChatMemoryLocalStorage.chatMemoryStorage.put(conversationId, chatMemory);
+        StoredConversation previous = chatMemoryStorage.put(conversationId,
+                new StoredConversation(chatMemory, System.currentTimeMillis()));
+        if (previous != null) {
+            totalEstimatedBytes -= previous.estimatedBytes;
+        }
+        expiredConversationIds.remove(conversationId);
+        updateUsage(conversationId);
+    }
+
+    /**
+     * 대화에 메시지가 추가된 뒤 호출하여 추정 메모리 사용량을 갱신하고, 상한을 넘으면 오래된 대화를 제거합니다.
+     */
+    public synchronized void updateUsage(String conversationId) {
+        StoredConversation stored = chatMemoryStorage.get(conversationId);
+        if (stored == null) {
+            return;
+        }
+        long estimatedBytes = estimateBytes(stored.chatMemory.get(conversationId));
+        totalEstimatedBytes += estimatedBytes - stored.estimatedBytes;
+        stored.estimatedBytes = estimatedBytes;
+        evictIfOverCapacity();
     }
 
-    public static void removeChatMemory(String conversationId) {
+    public synchronized void removeChatMemory(String conversationId) {
         log.info("Removing chat memory for talkId: {}", conversationId);
-        chatMemoryStorage.remove(conversationId);
+        StoredConversation removed = chatMemoryStorage.remove(conversationId);
+        if (removed != null) {
+            totalEstimatedBytes -= removed.estimatedBytes;
+            removed.chatMemory.clear(conversationId);
+        }
+        if (isPersistent()) {
+            conversationLog.clear(conversationId);
+        }
+    }
+
+    @Scheduled(fixedDelay = 60_000L)
+    public synchronized void evictIdleConversations() {
+        long now = System.currentTimeMillis();
+        Iterator<Map.Entry<String, StoredConversation>> iterator = chatMemoryStorage.entrySet().iterator();
+        int evicted = 0;
+        while (iterator.hasNext()) {
+            Map.Entry<String, StoredConversation> entry = iterator.next();
+            if (isIdleExpired(entry.getValue(), now)) {
+                iterator.remove();
+                onEvicted(entry.getKey(), entry.getValue(), true);
+                evicted++;
+            }
+        }
+        if (isPersistent()) {
+            // 메모리에서 밀려나 디스크에만 남아있던 대화
+            for (String conversationId : conversationLog.clearIdleSince(now - properties.getIdleTtl().toMillis())) {
+                rememberExpired(conversationId);
+                evicted++;
+            }
+        }
+        if (evicted > 0) {
+            log.info("유휴 대화 {}건 정리, 남은 대화 수: {}", evicted, chatMemoryStorage.size());
+        }
+    }
+
+    /**
+     * 모델 응답의 usage 값을 대화별로 누적합니다.
+     */
+    public synchronized void recordTokenUsage(String conversationId, Usage usage) {
+        StoredConversation stored = chatMemoryStorage.get(conversationId);
+        if (stored == null || usage == null) {
+            return;
+        }
+        long promptTokens = usage.getPromptTokens() == null ? 0L : usage.getPromptTokens();
+        long completionTokens = usage.getCompletionTokens() == null ? 0L : usage.getCompletionTokens();
+        stored.lastPromptTokens = promptTokens;
+        stored.totalPromptTokens += promptTokens;
+        stored.totalCompletionTokens += completionTokens;
+    }
+
+    public synchronized void recordCompaction(String conversationId, long savedTokens) {
+        StoredConversation stored = chatMemoryStorage.get(conversationId);
+        if (stored == null) {
+            return;
+        }
+        stored.compactionCount++;
+        stored.savedTokens += savedTokens;
+    }
+
+    public synchronized ConversationTokenUsageResponse getTokenUsage(String conversationId) {
+        StoredConversation stored = chatMemoryStorage.get(conversationId);
+        if (stored == null) {
+            throw new IllegalArgumentException("유효하지 않은 talkId 입니다: " + conversationId);
+        }
+        List<Message> messages = stored.chatMemory.get(conversationId);
+        return new ConversationTokenUsageResponse(
+                conversationId,
+                messages.size(),
+                TokenEstimator.estimate(messages),
+                stored.lastPromptTokens,
+                stored.totalPromptTokens,
+                stored.totalCompletionTokens,
+                stored.compactionCount,
+                stored.savedTokens
+        );
+    }
+
+    public synchronized ChatMemoryStatsResponse getStats() {
+        return new ChatMemoryStatsResponse(
+                chatMemoryStorage.size(),
+                totalEstimatedBytes,
+                hitCount.get(),
+                missCount.get(),
+                evictionCount.get(),
+                restoreCount.get()
+        );
     }
 
-    public static String generateLengthThreeConversationId() {
-        conversationCount += 1;
-        log.info("Conversation count: {}", conversationCount);
-        return String.format("%03d", conversationCount);
+    private void evictIfOverCapacity() {
+        Iterator<Map.Entry<String, StoredConversation>> iterator = chatMemoryStorage.entrySet().iterator();
+        while (iterator.hasNext() && isOverCapacity()) {
+            Map.Entry<String, StoredConversation> eldest = iterator.next();
+            iterator.remove();
+            onEvicted(eldest.getKey(), eldest.getValue(), false);
+        }
+    }
+
+    private boolean isOverCapacity() {
+        return chatMemoryStorage.size() > properties.getMaxEntries()
+                || totalEstimatedBytes > properties.getMaxBytes();
+    }
+
+    private boolean isIdleExpired(StoredConversation stored, long now) {
+        return now - stored.lastAccessedAt > properties.getIdleTtl().toMillis();
+    }
+
+    private void evict(String conversationId, String reason) {
+        StoredConversation removed = chatMemoryStorage.remove(conversationId);
+        if (removed != null) {
+            log.info("대화 만료 처리 - talkId: {}, 사유: {}", conversationId, reason);
+            onEvicted(conversationId, removed, true);
+        }
+    }
+
+    private ChatMemory restoreFromLog(String conversationId, long now) {
+        if (!isPersistent() || !conversationLog.contains(conversationId)) {
+            return null;
+        }
+        if (now - conversationLog.lastAppendedAt(conversationId) > properties.getIdleTtl().toMillis()) {
+            conversationLog.clear(conversationId);
+            rememberExpired(conversationId);
+            throw new ConversationExpiredException(CONVERSATION_EXPIRED.getMessage() + conversationId);
+        }
+
+        log.info("디스크 로그에서 대화 복구 - talkId: {}", conversationId);
+        restoreCount.incrementAndGet();
+        ChatMemory restored = PersistentChatMemory.restore(conversationLog, conversationId,
+                properties.getPersistence().getHotWindowSize());
+        chatMemoryStorage.put(conversationId, new StoredConversation(restored, now));
+        updateUsage(conversationId);
+        return restored;
+    }
+
+    /**
+     * @param expired idle-ttl 만료 여부. 용량 초과로 밀려난 대화는 디스크 로그가 켜져 있으면 디스크에 그대로 남깁니다.
+     */
+    private void onEvicted(String conversationId, StoredConversation removed, boolean expired) {
+        totalEstimatedBytes -= removed.estimatedBytes;
+        evictionCount.incrementAndGet();
+
+        if (isPersistent()) {
+            if (!expired) {
+                return;
+            }
+            conversationLog.clear(conversationId);
+        }
+        rememberExpired(conversationId);
+    }
+
+    private void rememberExpired(String conversationId) {
+        expiredConversationIds.put(conversationId, System.currentTimeMillis());
+        if (expiredConversationIds.size() > properties.getMaxExpiredIds()) {
+            Iterator<String> eldest = expiredConversationIds.keySet().iterator();
+            eldest.next();
+            eldest.remove();
+        }
+    }
+
+    private boolean isPersistent() {
+        return properties.getPersistence().isEnabled();
+    }
+
+    private static long estimateBytes(Iterable<Message> messages) {
+        long bytes = 0L;
+        for (Message message : messages) {
+            String text = message.getText();
+            bytes += MESSAGE_OVERHEAD_BYTES + (text == null ? 0 : text.length() * 2L); // UTF-16
+        }
+        return bytes;
+    }
+
+    private static class StoredConversation {
+        private final ChatMemory chatMemory;
+        private long lastAccessedAt;
+        private long estimatedBytes;
+        private long lastPromptTokens;
+        private long totalPromptTokens;
+        private long totalCompletionTokens;
+        private int compactionCount;
+        private long savedTokens;
+
+        private StoredConversation(ChatMemory chatMemory, long lastAccessedAt) {
+            this.chatMemory = chatMemory;
+            this.lastAccessedAt = lastAccessedAt;
+        }
     }
 }
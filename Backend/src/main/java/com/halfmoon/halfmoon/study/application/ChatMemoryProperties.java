@@ -0,0 +1,94 @@
+package com.halfmoon.halfmoon.study.application;
+
+import java.time.Duration;
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+@Getter
+@Setter
+@Component
+@ConfigurationProperties(prefix = "chat.memory")
+public class ChatMemoryProperties {
+
+    /**
+     * 마지막 접근 이후 대화를 보관하는 시간
+     */
+    private Duration idleTtl = Duration.ofMinutes(30);
+
+    /**
+     * 동시에 보관할 수 있는 최대 대화 수
+     */
+    private int maxEntries = 1_000;
+
+    /**
+     * 보관 중인 전체 대화의 추정 메모리 사용량 상한 (바이트)
+     */
+    private long maxBytes = 64L * 1024 * 1024;
+
+    /**
+     * 만료된 대화 ID를 기억해두는 최대 개수 (만료 응답을 구분하기 위함)
+     */
+    private int maxExpiredIds = 10_000;
+
+    /**
+     * 디스크 대화 로그 설정
+     */
+    private Persistence persistence = new Persistence();
+
+    /**
+     * 긴 대화의 컨텍스트 요약 설정
+     */
+    private Compaction compaction = new Compaction();
+
+    @Getter
+    @Setter
+    public static class Persistence {
+
+        /**
+         * 대화를 디스크 로그에 기록하여 재시작 후에도 이어갈 수 있게 할지 여부
+         */
+        private boolean enabled = true;
+
+        /**
+         * 세그먼트 파일을 저장할 디렉토리
+         */
+        private String directory = "data/chat-log";
+
+        /**
+         * 세그먼트 파일 하나의 크기 (바이트)
+         */
+        private int segmentSize = 16 * 1024 * 1024;
+
+        /**
+         * 유지할 최대 세그먼트 수 (넘으면 가장 오래된 세그먼트부터 삭제)
+         */
+        private int maxSegments = 64;
+
+        /**
+         * 대화별로 메모리에 유지할 최근 메시지 수
+         */
+        private int hotWindowSize = 20;
+    }
+
+    @Getter
+    @Setter
+    public static class Compaction {
+
+        /**
+         * 컨텍스트가 커지면 이전 대화를 요약할지 여부
+         */
+        private boolean enabled = true;
+
+        /**
+         * 컨텍스트의 추정 토큰 수가 이 값을 넘으면 이전 대화를 요약합니다.
+         */
+        private int tokenBudget = 2_000;
+
+        /**
+         * 요약하지 않고 그대로 남길 최근 턴(사용자 메시지 + AI 응답) 수
+         */
+        private int keepRecentTurns = 4;
+    }
+}
@@ -1,5 +1,8 @@
 package com.halfmoon.halfmoon.study.application;
 
+import com.halfmoon.halfmoon.global.executor.AiBulkhead;
+import com.halfmoon.halfmoon.global.executor.AiProvider;
+import com.halfmoon.halfmoon.global.util.SnowflakeIdGenerator;
 import com.halfmoon.halfmoon.security.domain.KoreanLevel;
 import com.halfmoon.halfmoon.security.domain.NativeLanguage;
 import com.halfmoon.halfmoon.security.domain.User;
@@ -8,19 +11,38 @@ import com.halfmoon.halfmoon.study.dto.req.ConversationContinueRequest;
 import com.halfmoon.halfmoon.study.dto.req.ConversationContinueVoiceRequest;
 import com.halfmoon.halfmoon.study.dto.req.ConversationStartRequest;
 import com.halfmoon.halfmoon.study.dto.req.Subject;
+import com.halfmoon.halfmoon.study.dto.resp.ChatMemoryStatsResponse;
 import com.halfmoon.halfmoon.study.dto.resp.ConversationStartResponse;
+import com.halfmoon.halfmoon.study.dto.resp.ConversationTokenUsageResponse;
+import com.halfmoon.halfmoon.study.dto.resp.VoiceTurnEvent;
 import com.halfmoon.halfmoon.user.domain.StudyRecord;
 import com.halfmoon.halfmoon.user.infra.StudyRecordJpaRepository;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.ai.chat.memory.ChatMemory;
-import org.springframework.ai.chat.memory.MessageWindowChatMemory;
+import org.springframework.ai.chat.messages.AssistantMessage;
 import org.springframework.ai.chat.messages.UserMessage;
+import org.springframework.ai.chat.metadata.Usage;
 import org.springframework.ai.chat.model.ChatResponse;
 import org.springframework.ai.chat.prompt.Prompt;
 import org.springframework.ai.openai.OpenAiChatModel;
+import org.springframework.core.io.ByteArrayResource;
+import org.springframework.core.io.Resource;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
 
 @Slf4j
 @Service
@@ -28,17 +50,27 @@ import org.springframework.transaction.annotation.Transactional;
 @RequiredArgsConstructor
 public class ChatService {
 
+    private static final int MAX_PARALLEL_SENTENCE_TTS = 4;
+
     private final TranscriptionService transcriptionService;
+    private final TTSService ttsService;
+    private final ChatMemoryLocalStorage chatMemoryLocalStorage;
+    private final ConversationMailbox conversationMailbox;
+    private final ConversationCompactor conversationCompactor;
+    private final ConversationOpenerCache conversationOpenerCache;
+    private final AiBulkhead aiBulkhead;
     private final OpenAiChatModel chatModel;
     private final UserRepository userRepository;
     private final StudyRecordJpaRepository studyRecordJpaRepository;
+    private final SnowflakeIdGenerator idGenerator;
 
-    public ConversationStartResponse startConversation(String username, ConversationStartRequest request) {
+    public CompletableFuture<ConversationStartResponse> startConversation(String username,
+                                                                         ConversationStartRequest request) {
         User user = userRepository.findByEmail(username).orElseThrow(
                 () -> new IllegalArgumentException("사용자를 찾을 수 없습니다: " + username)
         );
 
-        ChatMemory chatMemory = MessageWindowChatMemory.builder().build();
+        ChatMemory chatMemory = chatMemoryLocalStorage.newChatMemory();
 
         // 프롬프트 생성
         Integer age = user.getAge();
@@ -58,47 +90,198 @@ public class ChatService {
         String firstMessage = String.format(firstMessageToStartRolePlay, age, nickName, koreanLevel, nativeLanguage,
                 subject);
 
-        String conversationId = ChatMemoryLocalStorage.generateLengthThreeConversationId();
-        UserMessage userMessage = new UserMessage(firstMessage);
-        chatMemory.add(conversationId, userMessage);
-        ChatResponse response = chatModel.call(new Prompt(chatMemory.get(conversationId)));
-        chatMemory.add(conversationId, response.getResult().getOutput());
+        String conversationId = idGenerator.nextIdAsString();
+        OpenerKey openerKey = OpenerKey.of(subject, koreanLevel, nativeLanguage, age);
+
+        // 첫 응답은 프로필별로 미리 생성해 둔 캐시에서 가져옴
+        return conversationOpenerCache.getOpeningReply(openerKey)
+                .thenApply(reply -> {
+                    chatMemory.add(conversationId, new UserMessage(firstMessage));
+                    chatMemory.add(conversationId, new AssistantMessage(reply));
 
-        ChatMemoryLocalStorage.putChatMemory(conversationId, chatMemory);
+                    chatMemoryLocalStorage.putChatMemory(conversationId, chatMemory);
 
-        return new ConversationStartResponse(conversationId);
+                    return new ConversationStartResponse(conversationId);
+                });
     }
 
-    public String continueConversation(ConversationContinueRequest req) {
+    /**
+     * 같은 대화의 턴은 {@link ConversationMailbox}를 통해 순서대로 실행됩니다.
+     */
+    public CompletableFuture<String> continueConversation(ConversationContinueRequest req) {
         log.info("continueConversation called with talkId: {}", req.talkId());
-        ChatMemory chatMemory = ChatMemoryLocalStorage.getChatMemory(req.talkId());
-        if (chatMemory == null) {
-            throw new IllegalArgumentException("유효하지 않은 talkId 입니다: " + req.talkId());
-        }
+        return conversationMailbox.submit(req.talkId(), req.userInput(), () -> {
+            ChatMemory chatMemory = findChatMemory(req.talkId());
 
-        String userMessageContent = req.userInput();
-        UserMessage userMessage = new UserMessage(userMessageContent);
-        chatMemory.add(req.talkId(), userMessage);
-        ChatResponse response = chatModel.call(new Prompt(chatMemory.get(req.talkId())));
-        chatMemory.add(req.talkId(), response.getResult().getOutput());
+            String userMessageContent = req.userInput();
+            UserMessage userMessage = new UserMessage(userMessageContent);
+            chatMemory.add(req.talkId(), userMessage);
+            Prompt prompt = new Prompt(chatMemory.get(req.talkId()));
+            ChatResponse response = aiBulkhead.call(AiProvider.OPENAI_CHAT, () -> chatModel.call(prompt));
+            chatMemory.add(req.talkId(), response.getResult().getOutput());
+            afterTurn(req.talkId(), chatMemory, response.getMetadata().getUsage());
 
-        return response.getResult().getOutput().getText();
+            return response.getResult().getOutput().getText();
+        });
     }
 
-    public String continueConversationWithVoice(ConversationContinueVoiceRequest req) {
-        ChatMemory chatMemory = ChatMemoryLocalStorage.getChatMemory(req.conversationId());
-        if (chatMemory == null) {
-            throw new IllegalArgumentException("유효하지 않은 talkId 입니다: " + req.conversationId());
+    /**
+     * AI 응답을 토큰 단위로 스트리밍합니다.
+     * <p>
+     * 스트림이 정상 종료되면 누적된 전체 응답을 하나의 AssistantMessage로 대화 메모리에 저장합니다. 이 엔드포인트의 핵심 지표는 첫 토큰까지의
+     * 시간(TTFT)이므로 전체 소요 시간과 함께 로그로 남깁니다.
+     */
+    public Flux<String> streamConversation(ConversationContinueRequest req) {
+        log.info("streamConversation called with talkId: {}", req.talkId());
+        ChatMemory chatMemory = findChatMemory(req.talkId());
+
+        return conversationMailbox.submitStream(req.talkId(),
+                () -> streamReply(req.talkId(), chatMemory, req.userInput()));
+    }
+
+    /**
+     * 음성 대화 한 턴을 하나의 스트림으로 처리합니다. (음성 인식 → AI 응답 스트리밍 → 문장별 TTS)
+     * <p>
+     * AI 응답 토큰을 문장 단위로 잘라, 첫 문장이 완성되는 즉시 TTS를 시작합니다. 뒤 문장이 생성되는 동안 앞 문장의 음성 합성이 진행되며, 음성은
+     * 문장 순서대로 audio 이벤트로 전송됩니다.
+     */
+    public Flux<VoiceTurnEvent> streamVoiceConversation(ConversationContinueVoiceRequest req) {
+        return streamVoiceConversation(req.conversationId(), new ByteArrayResource(req.audioData()));
+    }
+
+    /**
+     * @param audio 업로드된 음성 파일. 메모리에 올리지 않고 음성 인식 요청에 그대로 흘려보냅니다.
+     */
+    public Flux<VoiceTurnEvent> streamVoiceConversation(String conversationId, Resource audio) {
+        ChatMemory chatMemory = findChatMemory(conversationId);
+
+        return conversationMailbox.submitStream(conversationId, () -> {
+            long startedAt = System.nanoTime();
+            AtomicBoolean firstAudio = new AtomicBoolean(true);
+
+            return Mono.fromFuture(() -> aiBulkhead.runAsync(
+                            () -> transcriptionService.convertAudioToText(audio)))
+                    .flatMapMany(userText -> Flux.concat(
+                            Mono.just(VoiceTurnEvent.transcript(userText)),
+                            streamReply(conversationId, chatMemory, userText).publish(tokens -> Flux.merge(
+                                    tokens.map(VoiceTurnEvent::token),
+                                    synthesizeSentences(tokens)
+                            ))
+                    ))
+                    .doOnNext(event -> {
+                        if ("audio".equals(event.event()) && firstAudio.compareAndSet(true, false)) {
+                            log.info("[voice-stream] talkId: {}, first audio: {}ms", conversationId,
+                                    elapsedMillis(startedAt, System.nanoTime()));
+                        }
+                    });
+        });
+    }
+
+    private Flux<VoiceTurnEvent> synthesizeSentences(Flux<String> tokens) {
+        SentenceSplitter splitter = new SentenceSplitter();
+        return tokens.concatMapIterable(splitter::feed)
+                .concatWith(Mono.fromSupplier(splitter::flush))
+                .index()
+                .flatMapSequential(sentence -> Mono.fromFuture(
+                                        () -> ttsService.convertTextToSpeechAsync(sentence.getT2()))
+                                .map(audio -> VoiceTurnEvent.audio(sentence.getT1(), sentence.getT2(), audio)),
+                        MAX_PARALLEL_SENTENCE_TTS);
+    }
+
+    /**
+     * AI 응답을 토큰 단위로 스트리밍하고, 스트림이 정상 종료되면 전체 응답을 하나의 AssistantMessage로 대화 메모리에 저장합니다.
+     */
+    private Flux<String> streamReply(String conversationId, ChatMemory chatMemory, String userInput) {
+        chatMemory.add(conversationId, new UserMessage(userInput));
+        Prompt prompt = new Prompt(chatMemory.get(conversationId));
+
+        StringBuilder fullReply = new StringBuilder();
+        AtomicLong startedAt = new AtomicLong();
+        AtomicLong firstTokenAt = new AtomicLong();
+        AtomicReference<Usage> usage = new AtomicReference<>();
+
+        return aiBulkhead.stream(AiProvider.OPENAI_CHAT, () -> chatModel.stream(prompt))
+                .doOnSubscribe(subscription -> startedAt.set(System.nanoTime()))
+                .doOnNext(response -> {
+                    if (response.getMetadata() != null && response.getMetadata().getUsage() != null
+                            && response.getMetadata().getUsage().getTotalTokens() > 0) {
+                        usage.set(response.getMetadata().getUsage());
+                    }
+                })
+                .map(ChatService::extractToken)
+                .filter(token -> !token.isEmpty())
+                .doOnNext(token -> {
+                    if (firstTokenAt.compareAndSet(0L, System.nanoTime())) {
+                        log.info("[chat-stream] talkId: {}, ttft: {}ms", conversationId,
+                                elapsedMillis(startedAt.get(), firstTokenAt.get()));
+                    }
+                    fullReply.append(token);
+                })
+                .doOnComplete(() -> {
+                    chatMemory.add(conversationId, new AssistantMessage(fullReply.toString()));
+                    afterTurn(conversationId, chatMemory, usage.get());
+                    log.info("[chat-stream] talkId: {}, total: {}ms, length: {}", conversationId,
+                            elapsedMillis(startedAt.get(), System.nanoTime()), fullReply.length());
+                })
+                .doOnError(e -> log.warn("[chat-stream] talkId: {}, 스트리밍 실패: {}", conversationId, e.getMessage()));
+    }
+
+    private void afterTurn(String conversationId, ChatMemory chatMemory, Usage usage) {
+        chatMemoryLocalStorage.updateUsage(conversationId);
+        chatMemoryLocalStorage.recordTokenUsage(conversationId, usage);
+        conversationCompactor.compactIfNeeded(conversationId, chatMemory);
+    }
+
+    private static String extractToken(ChatResponse response) {
+        if (response.getResult() == null || response.getResult().getOutput() == null) {
+            return "";
         }
+        String text = response.getResult().getOutput().getText();
+        return text == null ? "" : text;
+    }
 
-        //음성 -> 텍스트 변환
-        String textFromAudio = transcriptionService.convertAudioToText(req.audioData());
+    private static long elapsedMillis(long from, long to) {
+        return TimeUnit.NANOSECONDS.toMillis(to - from);
+    }
 
-        chatMemory.add(req.conversationId(), new UserMessage(textFromAudio));
-        ChatResponse response = chatModel.call(new Prompt(chatMemory.get(req.conversationId())));
-        chatMemory.add(req.conversationId(), response.getResult().getOutput());
+    /**
+     * 음성 파일을 조금씩 읽으며 해시를 계산하므로 음성 전체를 메모리에 올리지 않습니다.
+     */
+    private static String audioTurnKey(Resource audio) {
+        try (InputStream is = audio.getInputStream()) {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            byte[] buffer = new byte[8192];
+            int read;
+            while ((read = is.read(buffer)) != -1) {
+                digest.update(buffer, 0, read);
+            }
+            return "voice:" + HexFormat.of().formatHex(digest.digest());
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
 
-        return response.getResult().getOutput().getText();
+    public CompletableFuture<String> continueConversationWithVoice(ConversationContinueVoiceRequest req) {
+        return continueConversationWithVoice(req.conversationId(), new ByteArrayResource(req.audioData()));
+    }
+
+    public CompletableFuture<String> continueConversationWithVoice(String conversationId, Resource audio) {
+        return conversationMailbox.submit(conversationId, audioTurnKey(audio), () -> {
+            ChatMemory chatMemory = findChatMemory(conversationId);
+
+            //음성 -> 텍스트 변환
+            String textFromAudio = transcriptionService.convertAudioToText(audio);
+
+            chatMemory.add(conversationId, new UserMessage(textFromAudio));
+            Prompt prompt = new Prompt(chatMemory.get(conversationId));
+            ChatResponse response = aiBulkhead.call(AiProvider.OPENAI_CHAT, () -> chatModel.call(prompt));
+            chatMemory.add(conversationId, response.getResult().getOutput());
+            afterTurn(conversationId, chatMemory, response.getMetadata().getUsage());
+
+            return response.getResult().getOutput().getText();
+        });
     }
 
     public void deleteConversation(String userEmail, String conversationId) {
@@ -108,6 +291,22 @@ public class ChatService {
 
         studyRecord.incrementFinishedConversationCount();
 
-        ChatMemoryLocalStorage.removeChatMemory(conversationId);
+        chatMemoryLocalStorage.removeChatMemory(conversationId);
+    }
+
+    public ConversationTokenUsageResponse getTokenUsage(String conversationId) {
+        return chatMemoryLocalStorage.getTokenUsage(conversationId);
+    }
+
+    public ChatMemoryStatsResponse getChatMemoryStats() {
+        return chatMemoryLocalStorage.getStats();
+    }
+
+    private ChatMemory findChatMemory(String conversationId) {
+        ChatMemory chatMemory = chatMemoryLocalStorage.getChatMemory(conversationId);
+        if (chatMemory == null) {
+            throw new IllegalArgumentException("유효하지 않은 talkId 입니다: " + conversationId);
+        }
+        return chatMemory;
     }
 }
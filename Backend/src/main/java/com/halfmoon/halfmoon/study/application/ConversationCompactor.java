@@ -0,0 +1,136 @@
+package com.halfmoon.halfmoon.study.application;
+
+import com.halfmoon.halfmoon.global.exception.TooManyRequestsException;
+import com.halfmoon.halfmoon.global.executor.AiBulkhead;
+import com.halfmoon.halfmoon.global.executor.AiProvider;
+import java.util.ArrayList;
+import java.util.List;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.ai.chat.memory.ChatMemory;
+import org.springframework.ai.chat.messages.AssistantMessage;
+import org.springframework.ai.chat.messages.Message;
+import org.springframework.ai.chat.messages.SystemMessage;
+import org.springframework.ai.chat.messages.UserMessage;
+import org.springframework.ai.chat.model.ChatResponse;
+import org.springframework.ai.chat.prompt.Prompt;
+import org.springframework.ai.openai.OpenAiChatModel;
+import org.springframework.stereotype.Component;
+
+/**
+ * 긴 롤플레이 대화의 컨텍스트를 줄입니다.
+ * <p>
+ * 컨텍스트의 추정 토큰 수가 chat.memory.compaction.token-budget을 넘거나 메시지 창이 가득 차기 직전이면, 롤플레이를 시작한 첫 메시지와 최근 N턴은
+ * 그대로 두고 그 사이의 대화를 "[이전 대화 요약]" SystemMessage 하나로 접습니다. 이전 요약이 있으면 새 요약에 함께 반영합니다.
+ * <p>
+ * 요약은 사용자 응답이 나간 뒤 같은 대화의 메일박스 작업으로 실행되므로 응답 지연에 영향을 주지 않고, 다른 턴과 겹치지 않습니다.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class ConversationCompactor {
+
+    private static final String SUMMARY_PREFIX = "[이전 대화 요약]\n";
+    private static final String COMPACTION_TURN_KEY = "__compaction__";
+
+    private final ChatMemoryProperties properties;
+    private final ChatMemoryLocalStorage chatMemoryLocalStorage;
+    private final ConversationMailbox conversationMailbox;
+    private final OpenAiChatModel chatModel;
+    private final PromptMessage promptMessage;
+    private final AiBulkhead aiBulkhead;
+
+    /**
+     * 요약이 필요하면 같은 대화의 메일박스에 요약 작업을 넣습니다.
+     */
+    public void compactIfNeeded(String conversationId, ChatMemory chatMemory) {
+        if (!properties.getCompaction().isEnabled() || !needsCompaction(chatMemory.get(conversationId))) {
+            return;
+        }
+        try {
+            conversationMailbox.submit(conversationId, COMPACTION_TURN_KEY, () -> compact(conversationId, chatMemory))
+                    .exceptionally(e -> {
+                        log.warn("대화 요약 실패 - talkId: {}, 사유: {}", conversationId, e.getMessage());
+                        return 0L;
+                    });
+        } catch (TooManyRequestsException e) {
+            log.info("대기 중인 턴이 많아 대화 요약을 다음 턴으로 미룹니다 - talkId: {}", conversationId);
+        }
+    }
+
+    /**
+     * @return 요약으로 줄어든 추정 토큰 수
+     */
+    long compact(String conversationId, ChatMemory chatMemory) {
+        List<Message> messages = chatMemory.get(conversationId);
+        if (!needsCompaction(messages)) {
+            return 0L;
+        }
+
+        Message opening = null;
+        String previousSummary = null;
+        List<Message> turns = new ArrayList<>();
+        for (Message message : messages) {
+            if (message instanceof SystemMessage && message.getText().startsWith(SUMMARY_PREFIX)) {
+                previousSummary = message.getText().substring(SUMMARY_PREFIX.length());
+            } else if (opening == null && message instanceof UserMessage) {
+                opening = message;
+            } else {
+                turns.add(message);
+            }
+        }
+
+        int keepFrom = Math.max(0, turns.size() - properties.getCompaction().getKeepRecentTurns() * 2);
+        while (keepFrom < turns.size() && !(turns.get(keepFrom) instanceof UserMessage)) {
+            keepFrom++; // 최근 턴은 사용자 메시지부터 시작하도록 맞춤
+        }
+        List<Message> folded = turns.subList(0, keepFrom);
+        if (folded.isEmpty()) {
+            return 0L;
+        }
+
+        String summary = summarize(previousSummary, folded);
+
+        List<Message> compacted = new ArrayList<>();
+        if (opening != null) {
+            compacted.add(opening);
+        }
+        compacted.add(new SystemMessage(SUMMARY_PREFIX + summary));
+        compacted.addAll(turns.subList(keepFrom, turns.size()));
+
+        chatMemory.clear(conversationId);
+        chatMemory.add(conversationId, compacted);
+
+        long savedTokens = TokenEstimator.estimate(messages) - TokenEstimator.estimate(compacted);
+        chatMemoryLocalStorage.recordCompaction(conversationId, savedTokens);
+        chatMemoryLocalStorage.updateUsage(conversationId);
+        log.info("대화 요약 완료 - talkId: {}, 메시지 {} -> {}, 추정 토큰 {} 감소", conversationId, messages.size(),
+                compacted.size(), savedTokens);
+        return savedTokens;
+    }
+
+    private boolean needsCompaction(List<Message> messages) {
+        // 다음 턴(2개 메시지)이 추가될 때 창에서 첫 메시지가 밀려나지 않도록 미리 요약
+        return TokenEstimator.estimate(messages) > properties.getCompaction().getTokenBudget()
+                || messages.size() + 2 > properties.getPersistence().getHotWindowSize();
+    }
+
+    private String summarize(String previousSummary, List<Message> folded) {
+        StringBuilder transcript = new StringBuilder();
+        if (previousSummary != null) {
+            transcript.append("이전 요약:\n").append(previousSummary).append("\n\n");
+        }
+        transcript.append("대화 기록:\n");
+        for (Message message : folded) {
+            String speaker = message instanceof AssistantMessage ? "AI" : "사용자";
+            transcript.append(speaker).append(": ").append(message.getText()).append('\n');
+        }
+
+        Prompt prompt = new Prompt(List.of(
+                new SystemMessage(promptMessage.getConversationSummaryPrompt()),
+                new UserMessage(transcript.toString())
+        ));
+        ChatResponse response = aiBulkhead.call(AiProvider.OPENAI_CHAT, () -> chatModel.call(prompt));
+        return response.getResult().getOutput().getText();
+    }
+}
@@ -0,0 +1,126 @@
+package com.halfmoon.halfmoon.study.application;
+
+import com.halfmoon.halfmoon.global.exception.TooManyRequestsException;
+import jakarta.annotation.PreDestroy;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+/**
+ * 대화별 메일박스입니다. 같은 대화의 턴은 들어온 순서대로 하나씩 실행하고, 서로 다른 대화는 병렬로 실행합니다.
+ * <p>
+ * 대화마다 마지막 턴의 CompletableFuture(tail)만 들고 있다가 새 턴을 그 뒤에 이어 붙이므로 락이나 대화별 스레드가 필요 없습니다. 아직 끝나지 않은
+ * 턴과 같은 입력이 다시 들어오면(클라이언트 재시도, 중복 클릭) 모델을 다시 호출하지 않고 진행 중인 턴의 결과를 함께 돌려줍니다.
+ */
+@Slf4j
+@Component
+public class ConversationMailbox {
+
+    private final int maxPendingTurns;
+    private final ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+
+    private final ConcurrentHashMap<String, Mailbox> mailboxes = new ConcurrentHashMap<>();
+    private final Map<TurnKey, CompletableFuture<?>> inFlightTurns = new ConcurrentHashMap<>();
+    private final AtomicLong coalescedCount = new AtomicLong();
+
+    public ConversationMailbox(@Value("${chat.mailbox.max-pending-turns:8}") int maxPendingTurns) {
+        this.maxPendingTurns = maxPendingTurns;
+    }
+
+    /**
+     * 대화의 턴을 메일박스에 넣습니다.
+     *
+     * @param turnKey 중복 턴을 판별하는 값 (사용자 입력 등). 같은 대화에서 같은 turnKey의 턴이 아직 진행 중이면 그 결과를 공유합니다.
+     * @param turn    앞선 턴이 모두 끝난 뒤 가상 스레드에서 실행할 작업
+     */
+    @SuppressWarnings("unchecked")
+    public <T> CompletableFuture<T> submit(String conversationId, String turnKey, Supplier<T> turn) {
+        TurnKey key = new TurnKey(conversationId, turnKey);
+        CompletableFuture<T> result = new CompletableFuture<>();
+
+        CompletableFuture<?> inFlight = inFlightTurns.putIfAbsent(key, result);
+        if (inFlight != null) {
+            coalescedCount.incrementAndGet();
+            log.info("진행 중인 턴과 같은 요청이므로 결과를 공유합니다 - talkId: {}", conversationId);
+            return (CompletableFuture<T>) inFlight;
+        }
+
+        CompletableFuture<?> previous;
+        try {
+            previous = enqueue(conversationId, result);
+        } catch (TooManyRequestsException e) {
+            inFlightTurns.remove(key, result);
+            throw e;
+        }
+        result.whenComplete((value, error) -> inFlightTurns.remove(key, result));
+        previous.whenCompleteAsync((ignored, error) -> runTurn(turn, result), executor);
+        return result;
+    }
+
+    /**
+     * 스트리밍 턴을 메일박스에 넣습니다. 구독 시점에 줄을 서고, 앞선 턴이 끝나면 스트림을 시작하며, 스트림이 끝나거나 취소되면 다음 턴으로 넘어갑니다.
+     */
+    public <T> Flux<T> submitStream(String conversationId, Supplier<Flux<T>> turn) {
+        return Flux.defer(() -> {
+            CompletableFuture<Void> finished = new CompletableFuture<>();
+            CompletableFuture<?> previous = enqueue(conversationId, finished);
+            return Mono.fromFuture(previous.handle((ignored, error) -> Boolean.TRUE))
+                    .thenMany(Flux.defer(turn))
+                    .doFinally(signal -> finished.complete(null));
+        });
+    }
+
+    public long getCoalescedCount() {
+        return coalescedCount.get();
+    }
+
+    @PreDestroy
+    public void close() {
+        executor.shutdown();
+    }
+
+    /**
+     * 대화의 tail을 turnDone으로 바꾸고 직전 tail을 반환합니다.
+     */
+    private CompletableFuture<?> enqueue(String conversationId, CompletableFuture<?> turnDone) {
+        CompletableFuture<?>[] previous = new CompletableFuture<?>[1];
+        mailboxes.compute(conversationId, (id, mailbox) -> {
+            Mailbox current = mailbox == null ? new Mailbox() : mailbox;
+            if (current.pendingTurns >= maxPendingTurns) {
+                throw new TooManyRequestsException("처리 대기 중인 대화 요청이 너무 많습니다: " + conversationId);
+            }
+            current.pendingTurns++;
+            previous[0] = current.tail;
+            current.tail = turnDone;
+            return current;
+        });
+        turnDone.whenComplete((value, error) -> mailboxes.computeIfPresent(conversationId,
+                (id, mailbox) -> --mailbox.pendingTurns == 0 ? null : mailbox));
+        return previous[0];
+    }
+
+    private static <T> void runTurn(Supplier<T> turn, CompletableFuture<T> result) {
+        try {
+            result.complete(turn.get());
+        } catch (Throwable e) {
+            result.completeExceptionally(e);
+        }
+    }
+
+    private record TurnKey(String conversationId, String turnKey) {
+    }
+
+    private static class Mailbox {
+        private CompletableFuture<?> tail = CompletableFuture.completedFuture(null);
+        private int pendingTurns;
+    }
+}
@@ -0,0 +1,125 @@
+package com.halfmoon.halfmoon.study.application;
+
+import com.halfmoon.halfmoon.global.executor.AiBulkhead;
+import com.halfmoon.halfmoon.global.executor.AiProvider;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.ai.chat.messages.UserMessage;
+import org.springframework.ai.chat.prompt.Prompt;
+import org.springframework.ai.openai.OpenAiChatModel;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+/**
+ * 롤플레이 첫 응답 캐시입니다.
+ * <p>
+ * 첫 응답은 (주제, 한국어 수준, 모국어, 나이대)로 거의 결정되므로 서버 시작 시 모든 조합을 미리 생성해 두고, 대화 시작 요청은 캐시만 읽습니다. 생성한
+ * 지 refresh-interval이 지난 응답은 백그라운드에서 다시 생성하며, 새 응답이 준비될 때까지는 기존 응답을 그대로 사용합니다. 캐시에 없는 조합은 그
+ * 자리에서 생성하고, 같은 조합의 생성 요청은 하나로 합칩니다.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class ConversationOpenerCache {
+
+    private final ConversationOpenerProperties properties;
+    private final OpenAiChatModel chatModel;
+    private final AiBulkhead aiBulkhead;
+    private final PromptMessage promptMessage;
+
+    private final Map<OpenerKey, CachedOpener> openers = new ConcurrentHashMap<>();
+    private final Map<OpenerKey, CompletableFuture<String>> inFlight = new ConcurrentHashMap<>();
+    private final AtomicBoolean regenerating = new AtomicBoolean();
+    private final AtomicLong hitCount = new AtomicLong();
+    private final AtomicLong missCount = new AtomicLong();
+
+    public CompletableFuture<String> getOpeningReply(OpenerKey key) {
+        CachedOpener cached = openers.get(key);
+        if (cached != null) {
+            hitCount.incrementAndGet();
+            return CompletableFuture.completedFuture(cached.reply());
+        }
+        log.info("첫 응답 캐시 miss - key: {} (hit: {}, miss: {})", key, hitCount.get(), missCount.incrementAndGet());
+        return generate(key);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void prewarm() {
+        if (!properties.isPrewarm()) {
+            return;
+        }
+        List<OpenerKey> keys = OpenerKey.all().stream()
+                .filter(key -> !openers.containsKey(key))
+                .toList();
+        regenerate(keys, "미리 생성");
+    }
+
+    @Scheduled(fixedDelay = 10, timeUnit = TimeUnit.MINUTES)
+    public void refreshStaleOpeners() {
+        long staleBefore = System.currentTimeMillis() - properties.getRefreshInterval().toMillis();
+        List<OpenerKey> staleKeys = openers.entrySet().stream()
+                .filter(entry -> entry.getValue().generatedAt() < staleBefore)
+                .map(Map.Entry::getKey)
+                .toList();
+        regenerate(staleKeys, "갱신");
+    }
+
+    private void regenerate(List<OpenerKey> keys, String reason) {
+        if (keys.isEmpty() || !regenerating.compareAndSet(false, true)) {
+            return;
+        }
+        long startedAt = System.currentTimeMillis();
+        log.info("첫 응답 {} 시작 - {}건", reason, keys.size());
+        Flux.fromIterable(keys)
+                .flatMap(key -> Mono.fromFuture(() -> generate(key))
+                        .onErrorResume(e -> {
+                            log.warn("첫 응답 생성 실패 - key: {}, 사유: {}", key, e.getMessage());
+                            return Mono.empty();
+                        }), properties.getGenerationConcurrency())
+                .count()
+                .doFinally(signal -> regenerating.set(false))
+                .subscribe(count -> log.info("첫 응답 {} 완료 - {}/{}건, {}ms", reason, count, keys.size(),
+                        System.currentTimeMillis() - startedAt));
+    }
+
+    private CompletableFuture<String> generate(OpenerKey key) {
+        CompletableFuture<String> created = new CompletableFuture<>();
+        CompletableFuture<String> existing = inFlight.putIfAbsent(key, created);
+        if (existing != null) {
+            return existing;
+        }
+
+        Prompt prompt = new Prompt(new UserMessage(openingMessage(key)));
+        aiBulkhead.submit(AiProvider.OPENAI_CHAT, () -> chatModel.call(prompt))
+                .whenComplete((response, error) -> {
+                    inFlight.remove(key, created);
+                    if (error != null) {
+                        created.completeExceptionally(error);
+                        return;
+                    }
+                    String reply = response.getResult().getOutput().getText();
+                    openers.put(key, new CachedOpener(reply, System.currentTimeMillis()));
+                    created.complete(reply);
+                });
+        return created;
+    }
+
+    private String openingMessage(OpenerKey key) {
+        return String.format(promptMessage.getConversationOpenerPrompt(), key.ageBucket().getDescription(),
+                key.koreanLevel(), key.nativeLanguage(), key.subject());
+    }
+
+    private record CachedOpener(String reply, long generatedAt) {
+    }
+}
@@ -0,0 +1,29 @@
+package com.halfmoon.halfmoon.study.application;
+
+import java.time.Duration;
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+@Getter
+@Setter
+@Component
+@ConfigurationProperties(prefix = "chat.opener")
+public class ConversationOpenerProperties {
+
+    /**
+     * 서버 시작 시 모든 프로필 조합의 첫 응답을 미리 생성할지 여부
+     */
+    private boolean prewarm = true;
+
+    /**
+     * 첫 응답을 다시 생성하는 주기
+     */
+    private Duration refreshInterval = Duration.ofHours(6);
+
+    /**
+     * 미리 생성/갱신할 때 동시에 보내는 요청 수 (사용자 요청이 쓸 자리를 남겨두기 위함)
+     */
+    private int generationConcurrency = 4;
+}
@@ -0,0 +1,72 @@
+package com.halfmoon.halfmoon.study.application;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+
+/**
+ * 스트리밍으로 들어오는 JSON 텍스트에서 배열 안의 객체를 닫히는 즉시 잘라냅니다.
+ * <p>
+ * {"contents": [{...}, {...}]} 처럼 전체 문서가 완성되기 전에도 배열 원소({...})가 닫히면 그 객체의 JSON 문자열을 반환합니다. 문자열 안의
+ * 괄호와 이스케이프는 무시하고, JSON 바깥의 텍스트(```json 등)는 건너뜁니다. 한 요청 안에서만 사용하며 스레드 안전하지 않습니다.
+ */
+public class JsonArrayElementSplitter {
+
+    private final Deque<Character> containers = new ArrayDeque<>(); // 열려 있는 { [
+    private final StringBuilder element = new StringBuilder(); // 만들고 있는 배열 원소
+    private boolean inString;
+    private boolean escaped;
+    private int elementDepth = -1; // 배열 원소 객체가 시작된 깊이 (-1이면 원소 밖)
+
+    /**
+     * 텍스트 조각을 추가하고, 이번에 닫힌 배열 원소 객체들을 반환합니다.
+     */
+    public List<String> feed(String text) {
+        List<String> elements = new ArrayList<>();
+        for (int i = 0; i < text.length(); i++) {
+            char c = text.charAt(i);
+            if (elementDepth >= 0) {
+                element.append(c);
+            }
+
+            if (inString) {
+                if (escaped) {
+                    escaped = false;
+                } else if (c == '\\') {
+                    escaped = true;
+                } else if (c == '"') {
+                    inString = false;
+                }
+                continue;
+            }
+
+            switch (c) {
+                case '"' -> inString = !containers.isEmpty();
+                case '{' -> {
+                    if (elementDepth < 0 && !containers.isEmpty() && containers.peek() == '[') {
+                        elementDepth = containers.size();
+                        element.setLength(0);
+                        element.append(c);
+                    }
+                    containers.push(c);
+                }
+                case '[' -> containers.push(c);
+                case '}', ']' -> {
+                    if (containers.isEmpty()) {
+                        break;
+                    }
+                    containers.pop();
+                    if (c == '}' && containers.size() == elementDepth) {
+                        elements.add(element.toString());
+                        element.setLength(0);
+                        elementDepth = -1;
+                    }
+                }
+                default -> {
+                }
+            }
+        }
+        return elements;
+    }
+}
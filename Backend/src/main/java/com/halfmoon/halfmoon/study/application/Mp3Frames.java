@@ -0,0 +1,126 @@
+package com.halfmoon.halfmoon.study.application;
+
+import java.util.List;
+import lombok.AccessLevel;
+import lombok.NoArgsConstructor;
+
+/**
+ * 문장별로 변환한 MP3를 하나의 MP3로 이어 붙입니다.
+ * <p>
+ * 각 MP3 앞뒤의 ID3 태그(v2, v1)와 첫 프레임의 VBR 헤더(Xing/Info/VBRI)를 떼어내고 오디오 프레임만 순서대로 잇습니다. VBR 헤더에는 해당
+ * 파일 하나의 길이가 적혀 있어 그대로 두면 플레이어가 첫 문장까지만 재생할 수 있습니다. MPEG Layer III가 아닌 데이터는 태그만 떼어냅니다.
+ */
+@NoArgsConstructor(access = AccessLevel.PRIVATE)
+public class Mp3Frames {
+
+    private static final int ID3V2_HEADER_BYTES = 10;
+    private static final int ID3V1_BYTES = 128;
+
+    private static final int[] MPEG1_BITRATES = {0, 32, 40, 48, 56, 64, 80, 96, 112, 128, 160, 192, 224, 256, 320};
+    private static final int[] MPEG2_BITRATES = {0, 8, 16, 24, 32, 40, 48, 56, 64, 80, 96, 112, 128, 144, 160};
+    private static final int[] MPEG1_SAMPLE_RATES = {44100, 48000, 32000};
+
+    /**
+     * @return 태그와 VBR 헤더를 뗀 오디오 프레임
+     */
+    public static byte[] audioFrames(byte[] mp3) {
+        return concat(List.of(mp3));
+    }
+
+    /**
+     * 각 MP3의 오디오 프레임만 순서대로 이어 붙입니다.
+     */
+    public static byte[] concat(List<byte[]> mp3s) {
+        int[][] ranges = new int[mp3s.size()][];
+        int length = 0;
+        for (int i = 0; i < mp3s.size(); i++) {
+            ranges[i] = frameRange(mp3s.get(i));
+            length += ranges[i][1] - ranges[i][0];
+        }
+
+        byte[] joined = new byte[length];
+        int offset = 0;
+        for (int i = 0; i < mp3s.size(); i++) {
+            int size = ranges[i][1] - ranges[i][0];
+            System.arraycopy(mp3s.get(i), ranges[i][0], joined, offset, size);
+            offset += size;
+        }
+        return joined;
+    }
+
+    /**
+     * @return [시작, 끝) 오디오 프레임 구간
+     */
+    private static int[] frameRange(byte[] mp3) {
+        int start = Math.min(id3v2Length(mp3), mp3.length);
+        int end = mp3.length;
+        if (end - start >= ID3V1_BYTES && startsWith(mp3, end - ID3V1_BYTES, "TAG")) {
+            end -= ID3V1_BYTES;
+        }
+        if (isVbrHeaderFrame(mp3, start)) {
+            start = Math.min(start + frameLength(mp3, start), end);
+        }
+        return new int[]{start, end};
+    }
+
+    private static int id3v2Length(byte[] mp3) {
+        if (mp3.length < ID3V2_HEADER_BYTES || !startsWith(mp3, 0, "ID3")) {
+            return 0;
+        }
+        // 크기는 바이트마다 7비트만 사용하는 syncsafe 정수
+        int size = (mp3[6] & 0x7F) << 21 | (mp3[7] & 0x7F) << 14 | (mp3[8] & 0x7F) << 7 | (mp3[9] & 0x7F);
+        boolean hasFooter = (mp3[5] & 0x10) != 0;
+        return ID3V2_HEADER_BYTES + size + (hasFooter ? ID3V2_HEADER_BYTES : 0);
+    }
+
+    private static boolean isVbrHeaderFrame(byte[] mp3, int frameStart) {
+        if (frameLength(mp3, frameStart) <= 0) {
+            return false;
+        }
+        boolean mpeg1 = version(mp3, frameStart) == 3;
+        boolean mono = ((mp3[frameStart + 3] >> 6) & 0x03) == 3;
+        int sideInfoBytes = mpeg1 ? (mono ? 17 : 32) : (mono ? 9 : 17);
+        int xingOffset = frameStart + 4 + sideInfoBytes;
+        return startsWith(mp3, xingOffset, "Xing") || startsWith(mp3, xingOffset, "Info")
+                || startsWith(mp3, frameStart + 4 + 32, "VBRI");
+    }
+
+    /**
+     * @return MPEG Layer III 프레임 길이. 프레임 헤더가 아니면 0
+     */
+    private static int frameLength(byte[] mp3, int frameStart) {
+        if (frameStart + 4 > mp3.length
+                || (mp3[frameStart] & 0xFF) != 0xFF || (mp3[frameStart + 1] & 0xE0) != 0xE0) {
+            return 0;
+        }
+        int version = version(mp3, frameStart); // 3: MPEG1, 2: MPEG2, 0: MPEG2.5
+        int layer = (mp3[frameStart + 1] >> 1) & 0x03; // 1: Layer III
+        int bitrateIndex = (mp3[frameStart + 2] >> 4) & 0x0F;
+        int sampleRateIndex = (mp3[frameStart + 2] >> 2) & 0x03;
+        if (version == 1 || layer != 1 || bitrateIndex == 0 || bitrateIndex == 15 || sampleRateIndex == 3) {
+            return 0;
+        }
+
+        boolean mpeg1 = version == 3;
+        int bitrate = (mpeg1 ? MPEG1_BITRATES : MPEG2_BITRATES)[bitrateIndex] * 1000;
+        int sampleRate = MPEG1_SAMPLE_RATES[sampleRateIndex] >> (mpeg1 ? 0 : version == 2 ? 1 : 2);
+        int padding = (mp3[frameStart + 2] >> 1) & 0x01;
+        return (mpeg1 ? 144 : 72) * bitrate / sampleRate + padding;
+    }
+
+    private static int version(byte[] mp3, int frameStart) {
+        return (mp3[frameStart + 1] >> 3) & 0x03;
+    }
+
+    private static boolean startsWith(byte[] data, int offset, String prefix) {
+        if (offset < 0 || offset + prefix.length() > data.length) {
+            return false;
+        }
+        for (int i = 0; i < prefix.length(); i++) {
+            if (data[offset + i] != prefix.charAt(i)) {
+                return false;
+            }
+        }
+        return true;
+    }
+}
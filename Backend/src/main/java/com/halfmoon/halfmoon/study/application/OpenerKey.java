@@ -0,0 +1,65 @@
+package com.halfmoon.halfmoon.study.application;
+
+import com.halfmoon.halfmoon.security.domain.KoreanLevel;
+import com.halfmoon.halfmoon.security.domain.NativeLanguage;
+import com.halfmoon.halfmoon.study.dto.req.Subject;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 롤플레이 첫 응답을 결정하는 학습자 프로필입니다. 같은 키의 사용자는 같은 첫 응답을 공유합니다.
+ */
+public record OpenerKey(
+        Subject subject,
+        KoreanLevel koreanLevel,
+        NativeLanguage nativeLanguage,
+        AgeBucket ageBucket
+) {
+
+    public static OpenerKey of(Subject subject, KoreanLevel koreanLevel, NativeLanguage nativeLanguage, Integer age) {
+        return new OpenerKey(subject, koreanLevel, nativeLanguage, AgeBucket.of(age));
+    }
+
+    /**
+     * 미리 생성해 둘 모든 조합
+     */
+    public static List<OpenerKey> all() {
+        List<OpenerKey> keys = new ArrayList<>();
+        for (Subject subject : Subject.values()) {
+            for (KoreanLevel koreanLevel : KoreanLevel.values()) {
+                for (NativeLanguage nativeLanguage : NativeLanguage.values()) {
+                    for (AgeBucket ageBucket : AgeBucket.values()) {
+                        keys.add(new OpenerKey(subject, koreanLevel, nativeLanguage, ageBucket));
+                    }
+                }
+            }
+        }
+        return keys;
+    }
+
+    public enum AgeBucket {
+        CHILD("어린이"),  // 12세 이하
+        TEEN("청소년"),   // 13 ~ 19세
+        ADULT("성인");    // 20세 이상 (나이 정보가 없는 경우 포함)
+
+        private final String description;
+
+        AgeBucket(String description) {
+            this.description = description;
+        }
+
+        public String getDescription() {
+            return description;
+        }
+
+        public static AgeBucket of(Integer age) {
+            if (age == null) {
+                return ADULT;
+            }
+            if (age <= 12) {
+                return CHILD;
+            }
+            return age <= 19 ? TEEN : ADULT;
+        }
+    }
+}
@@ -0,0 +1,69 @@
+package com.halfmoon.halfmoon.study.application;
+
+import com.halfmoon.halfmoon.study.infra.ConversationSegmentLog;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import org.springframework.ai.chat.memory.ChatMemory;
+import org.springframework.ai.chat.messages.Message;
+import org.springframework.ai.chat.messages.SystemMessage;
+
+/**
+ * 모든 메시지를 {@link ConversationSegmentLog}에 기록하고, 최근 메시지만 메모리에 유지하는 ChatMemory 입니다.
+ * <p>
+ * MessageWindowChatMemory와 마찬가지로 창 크기를 넘으면 SystemMessage를 제외한 가장 오래된 메시지부터 버립니다.
+ */
+public class PersistentChatMemory implements ChatMemory {
+
+    private final ConversationSegmentLog conversationLog;
+    private final int windowSize;
+    private final List<Message> hotWindow;
+
+    private PersistentChatMemory(ConversationSegmentLog conversationLog, int windowSize, List<Message> hotWindow) {
+        this.conversationLog = conversationLog;
+        this.windowSize = windowSize;
+        this.hotWindow = hotWindow;
+    }
+
+    public static PersistentChatMemory create(ConversationSegmentLog conversationLog, int windowSize) {
+        return new PersistentChatMemory(conversationLog, windowSize, new ArrayList<>());
+    }
+
+    /**
+     * 디스크 로그에 남아있는 최근 메시지로 대화를 복구합니다.
+     */
+    public static PersistentChatMemory restore(ConversationSegmentLog conversationLog, String conversationId,
+                                               int windowSize) {
+        List<Message> recent = new ArrayList<>(conversationLog.readRecent(conversationId));
+        return new PersistentChatMemory(conversationLog, windowSize, recent);
+    }
+
+    @Override
+    public synchronized void add(String conversationId, List<Message> messages) {
+        for (Message message : messages) {
+            conversationLog.append(conversationId, message);
+            hotWindow.add(message);
+        }
+        trimToWindow();
+    }
+
+    @Override
+    public synchronized List<Message> get(String conversationId) {
+        return List.copyOf(hotWindow);
+    }
+
+    @Override
+    public synchronized void clear(String conversationId) {
+        conversationLog.clear(conversationId);
+        hotWindow.clear();
+    }
+
+    private void trimToWindow() {
+        Iterator<Message> iterator = hotWindow.iterator();
+        while (hotWindow.size() > windowSize && iterator.hasNext()) {
+            if (!(iterator.next() instanceof SystemMessage)) {
+                iterator.remove();
+            }
+        }
+    }
+}
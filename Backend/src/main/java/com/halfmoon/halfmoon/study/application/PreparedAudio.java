@@ -0,0 +1,33 @@
+package com.halfmoon.halfmoon.study.application;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.core.io.Resource;
+
+/**
+ * 전처리를 마친 음성입니다. 전처리 결과를 임시 파일로 만든 경우 닫을 때 삭제합니다.
+ *
+ * @param contentType 원본 그대로면 원본의 Content-Type, 전처리한 경우 audio/wav
+ * @param tempFile    전처리 결과 파일. 원본을 그대로 쓰는 경우 null
+ */
+@Slf4j
+public record PreparedAudio(Resource resource, String contentType, Path tempFile) implements AutoCloseable {
+
+    public static PreparedAudio original(Resource resource, String contentType) {
+        return new PreparedAudio(resource, contentType, null);
+    }
+
+    @Override
+    public void close() {
+        if (tempFile == null) {
+            return;
+        }
+        try {
+            Files.deleteIfExists(tempFile);
+        } catch (IOException e) {
+            log.warn("전처리 음성 파일 삭제 실패 - {}: {}", tempFile, e.getMessage());
+        }
+    }
+}
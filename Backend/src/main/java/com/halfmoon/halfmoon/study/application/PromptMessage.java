@@ -1,5 +1,6 @@
 package com.halfmoon.halfmoon.study.application;
 
+import java.util.List;
 import lombok.Getter;
 import org.springframework.stereotype.Component;
 
@@ -8,17 +9,46 @@ import org.springframework.stereotype.Component;
 public class PromptMessage {
     String subjectStudyContentsCreatingPrompt = """
             당신은 한국어 학습을 돕는 챗봇입니다.
-            사용자가 요청한 주제에 맞는 한국어 연습 어휘 15문장을 생성해주세요.
+            사용자가 요청한 주제의 세부 주제에 맞는 한국어 연습 어휘 {sentenceCount}문장을 생성해주세요.
             각 문장은 100자 이내로 작성해 주세요.
             각 문장은 한국인들이 일상에서 자주 사용하는 표현으로 작성해 주세요.
             각 문장의 뜻을 사용자의 모국어로도 알려주세요.
             각 문장 별로 내가 새롭게 배운 단어들에 대해서도 알려주세요.
             
             주제 : {subject}
+            세부 주제 : {subTheme}
             난이도 : {level}
-            사용자 나이 : {age}
             사용자의 모국어 : {nativeLanguage}
             사용자의 한국어 수준 : {koreanLevel}
             언어 : 한국어
             """;
+
+    /**
+     * 학습 문장을 나눠서 생성할 때 호출마다 하나씩 사용하는 세부 주제 (호출끼리 문장이 겹치지 않도록 함)
+     */
+    List<String> subjectStudySubThemes = List.of(
+            "처음 만나거나 대화를 시작할 때 쓰는 표현",
+            "묻고 대답할 때 쓰는 표현",
+            "자신의 경험이나 생각, 느낌을 말할 때 쓰는 표현"
+    );
+
+    int subjectStudySentencesPerSubTheme = 5;
+
+    String conversationSummaryPrompt = """
+            당신은 한국어 롤플레이 대화를 요약하는 도우미입니다.
+            아래 대화 기록을 이후 대화를 자연스럽게 이어갈 수 있도록 요약해주세요.
+            등장인물과 역할, 지금까지 일어난 일, 사용자가 말한 중요한 정보, 사용자가 자주 틀린 표현을 포함해주세요.
+            이전 요약이 있다면 그 내용도 함께 반영해주세요.
+            요약은 한국어로 500자 이내로 작성해주세요.
+            """;
+
+    String conversationOpenerPrompt = """
+            안녕하세요, 나는 %s 학습자야.
+            나의 한국어 수준은 %s 이고, 모국어는 %s 이야.
+            
+            나는 지금부터 너와 %s에 대해 롤플레이를 하고 싶어.
+            
+            나의 한국어 수준과 모국어, 그리고 나이대를 고려해서 역할 놀이를 시작하자.
+            내 이름은 모르는 상태로 시작해줘.
+            """;
 }
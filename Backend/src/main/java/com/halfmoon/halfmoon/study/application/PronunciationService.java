@@ -2,16 +2,19 @@ package com.halfmoon.halfmoon.study.application;
 
 import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.halfmoon.halfmoon.global.executor.AiBulkhead;
+import com.halfmoon.halfmoon.global.executor.AiProvider;
+import com.halfmoon.halfmoon.global.http.ExternHttpSender;
 import java.io.IOException;
-import java.io.InputStream;
-import java.io.OutputStream;
-import java.net.HttpURLConnection;
+import java.io.UncheckedIOException;
 import java.net.URI;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
 import java.util.List;
-import java.util.Map;
+import java.util.concurrent.CompletableFuture;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
@@ -24,6 +27,9 @@ import org.springframework.web.multipart.MultipartFile;
  * <p>
  * 1. 오디오 파일을 업로드할 곳의 URL을 요청합니다. 2. 오디오 파일을 업로드하고 해당 파일이 저장된 URL을 가져옵니다. 3. 업로드된 파일이 저장된 URL을 바탕으로 Gemini API에 요청을
  * 보냅니다.
+ * <p>
+ * 세 요청은 {@link ExternHttpSender}로 공용 HttpClient의 비동기 요청으로 이어서 보내므로, 평가가 진행되는 동안 스레드를 붙잡지 않고
+ * 연결도 재사용합니다.
  */
 
 
@@ -34,99 +40,135 @@ public class PronunciationService {
 
     @Value("${google.api.key}")
     private String GOOGLE_API_KEY;
+    @Value("${google.api.base-url:https://generativelanguage.googleapis.com}") // 부하 테스트 시 스텁 서버 주소
+    private String GOOGLE_API_BASE_URL;
     private final static String PROMPT_FILE = "prompt.txt";
-    private final static String UPLOAD_URL_REQUEST_URL = "https://generativelanguage.googleapis.com/upload/v1beta/files";
-    private final static String ANALYZE_URL = "https://generativelanguage.googleapis.com/v1beta/models/gemini-2.5-flash:generateContent";
-
-    public Integer geminiAnalyze(MultipartFile audio) throws IOException {
-
-        final String rawPrompt = getPronunciationEvaluatePrompt();
-
-        String mimeType = audio.getContentType() != null ? audio.getContentType() : null;
-        String numBytes = String.valueOf(audio.getSize());
-
-        String uploadUrl = getUploadUrl(numBytes, audio.getContentType());
-        String fileUri = uploadFileAndReturnFileUrl(uploadUrl, numBytes, audio);
-
-        log.info("GeminiAnalyze file: {}", fileUri);
-        String prompt = String.format(rawPrompt, mimeType, fileUri); // 프롬프트에 오디오 파일 URL 포함
-
-        log.info("GeminiAnalyze prompt: {}", prompt);
-        int score = doGeminiAudioAnalyze(prompt);
-        System.out.println("Score: " + score);
-        return score;
+    private final static String UPLOAD_URL_REQUEST_PATH = "/upload/v1beta/files";
+    private final static String ANALYZE_PATH = "/v1beta/models/gemini-2.5-flash:generateContent";
+    private final static String DEFAULT_MIME_TYPE = "application/octet-stream";
+    private final static ObjectMapper mapper = new ObjectMapper();
+
+    private final AiBulkhead aiBulkhead;
+    private final AudioPreprocessor audioPreprocessor;
+    private final ExternHttpSender externHttpSender;
+
+    /**
+     * 앞뒤 무음을 잘라내고 다운샘플링한 음성을 업로드합니다. 말소리가 없는 음성은 Gemini를 호출하지 않고 거절합니다.
+     */
+    public CompletableFuture<Integer> geminiAnalyze(MultipartFile audio) {
+        return aiBulkhead.runAsync(() -> audioPreprocessor.prepare(audio.getResource(), audio.getContentType()))
+                .thenCompose(prepared -> aiBulkhead.callAsync(AiProvider.GEMINI, () -> analyze(prepared))
+                        .whenComplete((score, e) -> prepared.close()));
     }
 
-    private int doGeminiAudioAnalyze(String prompt) throws IOException {
-        HttpURLConnection contentConn = getAnalyzeHttpURLConnection();
-        sendRequestToGoogle(contentConn, prompt);
-
-        ObjectMapper mapper = new ObjectMapper();
-        JsonNode root = new ObjectMapper().readTree(contentConn.getInputStream());
+    private CompletableFuture<Integer> analyze(PreparedAudio audio) {
 
-        String text = root.path("candidates")
-                .get(0)
-                .path("content")
-                .path("parts")
-                .get(0)
-                .path("text")
-                .asText();
+        final String rawPrompt = getPronunciationEvaluatePrompt();
 
-        JsonNode innerJson = mapper.readTree(text);
-        return innerJson.path("score").asInt();
+        String mimeType = audio.contentType() != null ? audio.contentType() : DEFAULT_MIME_TYPE;
+        long numBytes = contentLengthOf(audio);
+
+        return getUploadUrl(numBytes, mimeType)
+                .thenCompose(uploadUrl -> uploadFileAndReturnFileUrl(uploadUrl, numBytes, audio))
+                .thenCompose(fileUri -> {
+                    log.info("GeminiAnalyze file: {}", fileUri);
+                    String prompt = String.format(rawPrompt, mimeType, fileUri); // 프롬프트에 오디오 파일 URL 포함
+
+                    log.info("GeminiAnalyze prompt: {}", prompt);
+                    return doGeminiAudioAnalyze(prompt);
+                })
+                .thenApply(score -> {
+                    log.info("GeminiAnalyze score: {}", score);
+                    return score;
+                });
     }
 
-    private HttpURLConnection getAnalyzeHttpURLConnection() throws IOException {
-        HttpURLConnection contentConn = (HttpURLConnection) URI.create(ANALYZE_URL).toURL().openConnection();
-        contentConn.setRequestMethod("POST");
-        contentConn.setRequestProperty("x-goog-api-key", GOOGLE_API_KEY);
-        contentConn.setRequestProperty("Content-Type", "application/json");
-        contentConn.setDoOutput(true);
-        return contentConn;
+    private CompletableFuture<Integer> doGeminiAudioAnalyze(String prompt) {
+        HttpRequest request = googleRequest(URI.create(GOOGLE_API_BASE_URL + ANALYZE_PATH))
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(prompt))
+                .build();
+
+        return send(request).thenApply(response -> {
+            JsonNode root = readTree(response.body());
+
+            String text = root.path("candidates")
+                    .get(0)
+                    .path("content")
+                    .path("parts")
+                    .get(0)
+                    .path("text")
+                    .asText();
+
+            JsonNode innerJson = readTree(text);
+            return innerJson.path("score").asInt();
+        });
     }
 
-    private String getUploadUrl(String contentsLength, String mimeType) throws IOException {
-        HttpURLConnection connection = getUploadUrlConnection(contentsLength, mimeType);
-
+    private CompletableFuture<String> getUploadUrl(long contentsLength, String mimeType) {
         String json = "{\"file\":{\"display_name\":\"AUDIO\"}}";
-        sendRequestToGoogle(connection, json);
-
-        return extractUploadUrlFromHeader(connection);
+        HttpRequest request = googleRequest(URI.create(GOOGLE_API_BASE_URL + UPLOAD_URL_REQUEST_PATH))
+                .header("X-Goog-Upload-Protocol", "resumable")
+                .header("X-Goog-Upload-Command", "start")
+                .header("X-Goog-Upload-Header-Content-Length", String.valueOf(contentsLength))
+                .header("X-Goog-Upload-Header-Content-Type", mimeType)
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(json))
+                .build();
+
+        return send(request).thenApply(PronunciationService::extractUploadUrlFromHeader);
     }
 
-    private static String extractUploadUrlFromHeader(HttpURLConnection connection) {
-        return connection.getHeaderFields().entrySet().stream()
-                .filter(e -> "x-goog-upload-url".equalsIgnoreCase(e.getKey()))
-                .map(Map.Entry::getValue)
-                .flatMap(List::stream)
-                .findFirst()
+    private static String extractUploadUrlFromHeader(HttpResponse<String> response) {
+        return response.headers().firstValue("x-goog-upload-url")
                 .orElseThrow(() -> new RuntimeException("Upload URL not found"));
     }
 
+    /**
+     * 음성 파일을 읽으면서 바로 전송합니다. 재시도하면 파일을 처음부터 다시 읽습니다.
+     */
+    private CompletableFuture<String> uploadFileAndReturnFileUrl(String fileUploadPathUrl, long numBytes,
+                                                                 PreparedAudio audio) {
+        HttpRequest.BodyPublisher body = HttpRequest.BodyPublishers.fromPublisher(
+                HttpRequest.BodyPublishers.ofInputStream(() -> {
+                    try {
+                        return audio.resource().getInputStream();
+                    } catch (IOException e) {
+                        throw new UncheckedIOException(e);
+                    }
+                }), numBytes);
+        HttpRequest request = externHttpSender.newRequest(URI.create(fileUploadPathUrl))
+                .header("X-Goog-Upload-Offset", "0")
+                .header("X-Goog-Upload-Command", "upload, finalize")
+                .POST(body)
+                .build();
+
+        return send(request).thenApply(response -> readTree(response.body()).path("file").path("uri").asText());
+    }
 
-    private static void sendRequestToGoogle(HttpURLConnection startConn, String message) throws IOException {
-        try (OutputStream os = startConn.getOutputStream()) {
-            os.write(message.getBytes());
-        }
+    private HttpRequest.Builder googleRequest(URI uri) {
+        return externHttpSender.newRequest(uri)
+                .header("x-goog-api-key", GOOGLE_API_KEY);
     }
 
-    private String uploadFileAndReturnFileUrl(String fileUploadPathUrl, String numBytes, MultipartFile audio)
-            throws IOException {
-        HttpURLConnection uploadConn = getFileUploadHttpURLConnection(fileUploadPathUrl, numBytes);
+    private CompletableFuture<HttpResponse<String>> send(HttpRequest request) {
+        return externHttpSender.send("Gemini", request);
+    }
 
-        try (OutputStream os = uploadConn.getOutputStream(); InputStream is = audio.getInputStream()) {
-            byte[] buffer = new byte[8192];
-            int bytesRead;
-            while ((bytesRead = is.read(buffer)) != -1) {
-                os.write(buffer, 0, bytesRead);
-            }
+    private static long contentLengthOf(PreparedAudio audio) {
+        try {
+            return audio.resource().contentLength();
         } catch (IOException e) {
-            log.error("Error uploading file: {}", e.getMessage());
-            throw new RuntimeException("File upload failed", e);
+            throw new UncheckedIOException(e);
         }
+    }
 
-        JsonNode fileJson = new ObjectMapper().readTree(uploadConn.getInputStream());
-        return fileJson.path("file").path("uri").asText();
+    private static JsonNode readTree(String json) {
+        try {
+            return mapper.readTree(json);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
     }
 
     private String getPronunciationEvaluatePrompt() {
@@ -148,28 +190,4 @@ public class PronunciationService {
 
         return Files.readAllLines(path);
     }
-
-    private HttpURLConnection getUploadUrlConnection(String contentsLength, String mimeType) throws IOException {
-        HttpURLConnection connection = (HttpURLConnection) URI.create(UPLOAD_URL_REQUEST_URL).toURL().openConnection();
-        connection.setRequestProperty("x-goog-api-key", GOOGLE_API_KEY);
-        connection.setRequestMethod("POST");
-        connection.setRequestProperty("X-Goog-Upload-Protocol", "resumable");
-        connection.setRequestProperty("X-Goog-Upload-Command", "start");
-        connection.setRequestProperty("X-Goog-Upload-Header-Content-Length", contentsLength);
-        connection.setRequestProperty("X-Goog-Upload-Header-Content-Type", mimeType);
-        connection.setRequestProperty("Content-Type", "application/json");
-        connection.setDoOutput(true);
-        return connection;
-    }
-
-    private static HttpURLConnection getFileUploadHttpURLConnection(String fileUploadPathUrl, String numBytes)
-            throws IOException {
-        HttpURLConnection connection = (HttpURLConnection) URI.create(fileUploadPathUrl).toURL().openConnection();
-        connection.setRequestMethod("POST");
-        connection.setRequestProperty("Content-Length", numBytes);
-        connection.setRequestProperty("X-Goog-Upload-Offset", "0");
-        connection.setRequestProperty("X-Goog-Upload-Command", "upload, finalize");
-        connection.setDoOutput(true);
-        return connection;
-    }
-}
\ No newline at end of file
+}
@@ -1,11 +1,13 @@
 package com.halfmoon.halfmoon.study.application;
 
+import com.halfmoon.halfmoon.global.util.SnowflakeIdGenerator;
 import com.halfmoon.halfmoon.security.domain.User;
 import com.halfmoon.halfmoon.security.domain.UserRepository;
 import com.halfmoon.halfmoon.study.domain.ReviewTestAnswer;
 import com.halfmoon.halfmoon.study.domain.ReviewTestQuestion;
 import com.halfmoon.halfmoon.study.domain.ReviewTestSession;
 import com.halfmoon.halfmoon.study.domain.Sentence;
+import com.halfmoon.halfmoon.study.domain.UserToStudyContent;
 import com.halfmoon.halfmoon.study.dto.req.ReviewTestAnswerDto;
 import com.halfmoon.halfmoon.study.dto.req.ReviewTestRequestDto;
 import com.halfmoon.halfmoon.study.dto.req.StudyLevel;
@@ -16,7 +18,8 @@ import com.halfmoon.halfmoon.study.dto.resp.ReviewTestResultDto;
 import com.halfmoon.halfmoon.study.infra.ReviewTestAnswerJpaRepository;
 import com.halfmoon.halfmoon.study.infra.ReviewTestQuestionJpaRepository;
 import com.halfmoon.halfmoon.study.infra.ReviewTestSessionJpaRepository;
-import com.halfmoon.halfmoon.study.infra.SentenceJpaRepository;
+import com.halfmoon.halfmoon.study.infra.SentenceCompletionJpaRepository;
+import com.halfmoon.halfmoon.study.infra.UserToStudyContentJpaRepository;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
@@ -38,10 +41,12 @@ import org.springframework.transaction.annotation.Transactional;
 public class ReviewTestService {
 
     private final UserRepository userRepository;
-    private final SentenceJpaRepository sentenceJpaRepository;
+    private final UserToStudyContentJpaRepository userToStudyContentJpaRepository;
+    private final SentenceCompletionJpaRepository sentenceCompletionJpaRepository;
     private final ReviewTestSessionJpaRepository reviewTestSessionJpaRepository;
     private final ReviewTestQuestionJpaRepository reviewTestQuestionJpaRepository;
     private final ReviewTestAnswerJpaRepository reviewTestAnswerJpaRepository;
+    private final SnowflakeIdGenerator idGenerator;
 
     public ReviewTestResponseDto generateReviewTest(String userEmail, ReviewTestRequestDto request) {
         // 1. 사용자 정보 조회
@@ -53,15 +58,19 @@ public class ReviewTestService {
         Subject subject = request.subject();
         StudyLevel studyLevel = request.studyLevel();
 
-        // 2단계: 사용자별 StudyContent 조회
-        List<Sentence> learnedSentences = sentenceJpaRepository.findBySubjectAndStudyLevelAndUser(subject, studyLevel,
-                user);
+        // 2단계: 학습 화면과 같은 기준으로 사용자 프로필(모국어, 한국어 수준)에 맞는 학습 내용 조회
+        UserToStudyContent studyContent = userToStudyContentJpaRepository.findReadyContents(subject, studyLevel,
+                user.getNativeLanguage(), user.getKoreanLevel()).orElseThrow(
+                () -> new IllegalArgumentException("해당 주제의 학습 내용을 찾을 수 없습니다. 먼저 해당 주제를 학습해주세요.")
+        );
 
+        // 3. 학습한(완료한) 문장들 조회
+        List<Sentence> learnedSentences = new ArrayList<>(
+                sentenceCompletionJpaRepository.findCompletedSentences(user.getId(), studyContent.getId()));
         if (learnedSentences.isEmpty()) {
-            throw new IllegalArgumentException("해당 주제의 학습 내용을 찾을 수 없습니다. 먼저 해당 주제를 학습해주세요.");
+            throw new IllegalArgumentException("학습을 완료한 문장이 없습니다. 먼저 해당 주제를 학습해주세요.");
         }
 
-        // 3. 학습한 문장들 조회 (이미 위에서 조회됨)
         log.info("=== 문장 조회 시작 ===");
         log.info("사용자: {}, 주제: {}, 난이도: {}", userEmail, subject, studyLevel);
         log.info("조회된 문장 수: {}", learnedSentences.size());
@@ -76,8 +85,8 @@ public class ReviewTestService {
         log.info("생성된 문제 수: {}", questions.size());
         log.info("생성된 문제들: {}", questions.stream().map(q -> q.question()).toList());
 
-        // 5. 테스트 ID 생성 (UUID)
-        String testId = UUID.randomUUID().toString();
+        // 5. 테스트 ID 생성
+        String testId = idGenerator.nextIdAsString();
 
         // 6. 복습 시험 세션 생성 및 저장
         ReviewTestSession session = ReviewTestSession.create(
@@ -241,9 +250,8 @@ public class ReviewTestService {
             double combinedRandom = (randomValue + sentenceHash) % 1.0;
             String questionType = combinedRandom < 0.6 ? "multiple" : "fill";
 
-            // 고유한 문제 ID 생성 (UUID + 랜덤값 + 인덱스)
-            String questionId = "q_" + UUID.randomUUID().toString().substring(0, 8) + "_" +
-                    random.nextInt(10000) + "_" + (i + 1);
+            // 고유한 문제 ID 생성
+            String questionId = "q_" + idGenerator.nextIdAsString() + "_" + (i + 1);
 
             ReviewTestQuestionDto question = createQuestion(sentence, questionType, questionId, random);
             questions.add(question);
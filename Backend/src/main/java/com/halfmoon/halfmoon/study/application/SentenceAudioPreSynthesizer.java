@@ -0,0 +1,108 @@
+package com.halfmoon.halfmoon.study.application;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+/**
+ * 새로 저장된 학습 문장의 음성을 백그라운드에서 미리 변환해 TTS 캐시에 고정합니다.
+ * <p>
+ * 문장이 커밋되면 대기열에 넣고, 대기열에서 batch-size 개씩 꺼내 최대 concurrency 개씩 동시에 변환합니다. 학습자가 문장을 처음 재생할 때도
+ * 캐시에서 바로 읽을 수 있고, 변환한 음성은 고정 영역에 두므로 다른 음성에 밀려 제거되지 않습니다. 이미 캐시에 있는 문장은 고정만 합니다.
+ * <p>
+ * 변환에 실패한 문장(AI 호출 대기열이 가득 찬 경우 포함)은 retry-backoff부터 두 배씩 늘려 기다린 뒤 max-attempts 까지 다시 시도합니다.
+ * 대기열은 max-pending 개까지만 쌓고, 넘치거나 끝내 실패한 문장은 처음 재생할 때 변환합니다.
+ */
+@Slf4j
+@Component
+public class SentenceAudioPreSynthesizer {
+
+    private final TtsCacheProperties properties;
+    private final TTSService ttsService;
+
+    private final BlockingQueue<PendingSentence> pending;
+    private final AtomicBoolean draining = new AtomicBoolean();
+    private final AtomicLong droppedCount = new AtomicLong();
+
+    public SentenceAudioPreSynthesizer(TtsCacheProperties properties, TTSService ttsService) {
+        this.properties = properties;
+        this.ttsService = ttsService;
+        this.pending = new LinkedBlockingQueue<>(properties.getPreSynthesis().getMaxPending());
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT)
+    public void onSentencesSaved(StudySentencesSavedEvent event) {
+        if (!properties.isEnabled() || !properties.getPreSynthesis().isEnabled()) {
+            return;
+        }
+        event.sentences().forEach(text -> enqueue(new PendingSentence(text, 1)));
+        drain();
+    }
+
+    private void enqueue(PendingSentence sentence) {
+        if (!pending.offer(sentence)) {
+            long dropped = droppedCount.incrementAndGet();
+            log.warn("문장 음성 미리 변환 대기열이 가득 차 건너뜁니다 - 문장: {}, 누적 {}건", sentence.text(), dropped);
+        }
+    }
+
+    private void drain() {
+        if (!draining.compareAndSet(false, true)) {
+            return;
+        }
+        List<PendingSentence> batch = new ArrayList<>();
+        pending.drainTo(batch, properties.getPreSynthesis().getBatchSize());
+        if (batch.isEmpty()) {
+            draining.set(false);
+            if (!pending.isEmpty()) {
+                drain(); // 플래그를 내리는 사이에 들어온 문장
+            }
+            return;
+        }
+
+        long startedAt = System.currentTimeMillis();
+        Flux.fromIterable(batch)
+                .flatMap(sentence -> Mono.fromFuture(() -> ttsService.synthesizeAndPin(sentence.text()))
+                        .thenReturn(sentence)
+                        .onErrorResume(e -> {
+                            retryLater(sentence, e);
+                            return Mono.empty();
+                        }), properties.getPreSynthesis().getConcurrency())
+                .count()
+                .doFinally(signal -> {
+                    draining.set(false);
+                    drain();
+                })
+                .subscribe(count -> log.info("문장 음성 미리 변환 - {}/{}건, {}ms, 남은 문장: {}건", count, batch.size(),
+                        System.currentTimeMillis() - startedAt, pending.size()));
+    }
+
+    private void retryLater(PendingSentence sentence, Throwable error) {
+        if (sentence.attempt() >= properties.getPreSynthesis().getMaxAttempts()) {
+            log.warn("문장 음성 미리 변환 실패, 처음 재생할 때 변환합니다 - 문장: {}, 시도: {}회, 사유: {}", sentence.text(),
+                    sentence.attempt(), error.getMessage());
+            return;
+        }
+        Duration backoff = properties.getPreSynthesis().getRetryBackoff()
+                .multipliedBy(1L << (sentence.attempt() - 1));
+        log.info("문장 음성 미리 변환 실패, {}초 후 다시 시도합니다 - 문장: {}, 시도: {}회, 사유: {}", backoff.toSeconds(),
+                sentence.text(), sentence.attempt(), error.getMessage());
+        Mono.delay(backoff).subscribe(tick -> {
+            enqueue(new PendingSentence(sentence.text(), sentence.attempt() + 1));
+            drain();
+        });
+    }
+
+    private record PendingSentence(String text, int attempt) {
+    }
+}
@@ -0,0 +1,65 @@
+package com.halfmoon.halfmoon.study.application;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 스트리밍으로 들어오는 텍스트를 문장 단위로 자릅니다.
+ * <p>
+ * 문장 부호(. ? ! 등) 뒤에 공백이 오거나 줄바꿈이 나오면 문장이 끝난 것으로 봅니다. 소수점("3.5")이나 말줄임표에서 잘리지 않도록 문장 부호 다음 글자가
+ * 들어올 때까지 판단을 미룹니다. 한 요청 안에서만 사용하며 스레드 안전하지 않습니다.
+ */
+public class SentenceSplitter {
+
+    private static final String TERMINATORS = ".?!。？！…";
+
+    private final StringBuilder buffer = new StringBuilder();
+
+    /**
+     * 텍스트 조각을 추가하고, 이번에 완성된 문장들을 반환합니다.
+     */
+    public List<String> feed(String text) {
+        buffer.append(text);
+        List<String> sentences = new ArrayList<>();
+        int start = 0;
+        for (int i = 0; i < buffer.length() - 1; i++) {
+            char c = buffer.charAt(i);
+            if (c == '\n' || (isTerminator(c) && Character.isWhitespace(buffer.charAt(i + 1)))) {
+                addIfNotBlank(sentences, buffer.substring(start, i + 1));
+                start = i + 1;
+            }
+        }
+        buffer.delete(0, start);
+        return sentences;
+    }
+
+    /**
+     * 남아있는 마지막 문장을 반환합니다. 없으면 null을 반환합니다.
+     */
+    public String flush() {
+        String rest = buffer.toString().strip();
+        buffer.setLength(0);
+        return rest.isEmpty() ? null : rest;
+    }
+
+    public static List<String> split(String text) {
+        SentenceSplitter splitter = new SentenceSplitter();
+        List<String> sentences = splitter.feed(text);
+        String rest = splitter.flush();
+        if (rest != null) {
+            sentences.add(rest);
+        }
+        return sentences;
+    }
+
+    private static boolean isTerminator(char c) {
+        return TERMINATORS.indexOf(c) >= 0;
+    }
+
+    private static void addIfNotBlank(List<String> sentences, String sentence) {
+        String stripped = sentence.strip();
+        if (!stripped.isEmpty()) {
+            sentences.add(stripped);
+        }
+    }
+}
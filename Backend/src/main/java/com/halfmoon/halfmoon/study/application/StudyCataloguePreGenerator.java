@@ -0,0 +1,71 @@
+package com.halfmoon.halfmoon.study.application;
+
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+/**
+ * 모든 (주제, 난이도, 모국어, 한국어 수준) 조합의 학습 내용을 백그라운드에서 미리 생성합니다.
+ * <p>
+ * 한 번 실행할 때 max-generations-per-run건까지만, min-interval-between-generations 간격으로 생성합니다. 진행 상황은 DB에 저장된
+ * 학습 내용으로 판단하므로, 서버가 재시작되어도 남은 조합부터 이어서 생성합니다.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class StudyCataloguePreGenerator {
+
+    private final StudyCatalogueProperties properties;
+    private final SubjectStudyService subjectStudyService;
+
+    private final AtomicBoolean running = new AtomicBoolean();
+
+    @Scheduled(initialDelayString = "${study.catalogue.initial-delay:PT1M}",
+            fixedDelayString = "${study.catalogue.interval:PT30M}")
+    public void fillCatalogue() {
+        if (!properties.isEnabled() || !running.compareAndSet(false, true)) {
+            return;
+        }
+        // 스케줄러 스레드를 오래 잡고 있지 않도록 별도 스레드에서 실행
+        Thread.ofVirtual().name("study-catalogue").start(() -> {
+            try {
+                generateMissing();
+            } finally {
+                running.set(false);
+            }
+        });
+    }
+
+    private void generateMissing() {
+        List<StudyContentKey> missing = StudyContentKey.all().stream()
+                .filter(key -> !subjectStudyService.hasContents(key))
+                .toList();
+        if (missing.isEmpty()) {
+            return;
+        }
+
+        List<StudyContentKey> batch = missing.subList(0,
+                Math.min(missing.size(), properties.getMaxGenerationsPerRun()));
+        log.info("학습 내용 미리 생성 시작 - 남은 조합: {}건, 이번 실행: {}건", missing.size(), batch.size());
+        int generated = 0;
+        for (StudyContentKey key : batch) {
+            try {
+                subjectStudyService.prepareContents(key);
+                generated++;
+            } catch (RuntimeException e) {
+                log.warn("학습 내용 미리 생성 실패 - key: {}, 사유: {}", key.generationKey(), e.getMessage());
+            }
+            try {
+                Thread.sleep(properties.getMinIntervalBetweenGenerations());
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+        }
+        log.info("학습 내용 미리 생성 완료 - {}/{}건, 남은 조합: {}건", generated, batch.size(),
+                missing.size() - generated);
+    }
+}
@@ -0,0 +1,34 @@
+package com.halfmoon.halfmoon.study.application;
+
+import java.time.Duration;
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+@Getter
+@Setter
+@Component
+@ConfigurationProperties(prefix = "study.catalogue")
+public class StudyCatalogueProperties {
+
+    /**
+     * 모든 학습 내용 조합을 백그라운드에서 미리 생성할지 여부
+     */
+    private boolean enabled = true;
+
+    /**
+     * 아직 생성되지 않은 조합을 요청 시점에 생성할지 여부 (끄면 미리 생성될 때까지 요청을 거절)
+     */
+    private boolean onDemandGeneration = true;
+
+    /**
+     * 한 번 실행할 때 생성하는 최대 조합 수
+     */
+    private int maxGenerationsPerRun = 20;
+
+    /**
+     * 생성 요청 사이의 최소 간격 (사용자 요청이 쓸 AI 호출 한도를 남겨두기 위함)
+     */
+    private Duration minIntervalBetweenGenerations = Duration.ofSeconds(10);
+}
@@ -0,0 +1,221 @@
+package com.halfmoon.halfmoon.study.application;
+
+import com.halfmoon.halfmoon.global.executor.AiBulkhead;
+import com.halfmoon.halfmoon.global.util.SnowflakeIdGenerator;
+import com.halfmoon.halfmoon.security.domain.User;
+import com.halfmoon.halfmoon.security.domain.UserRepository;
+import com.halfmoon.halfmoon.study.domain.StudyContentJob;
+import com.halfmoon.halfmoon.study.domain.StudyContentJobStatus;
+import com.halfmoon.halfmoon.study.dto.req.SubjectStudyContenstRequestDto;
+import com.halfmoon.halfmoon.study.dto.resp.StudyContentJobResponse;
+import com.halfmoon.halfmoon.study.dto.resp.SubjectStudyContentsResponseDto;
+import com.halfmoon.halfmoon.study.infra.StudyContentJobJpaRepository;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Consumer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+import reactor.core.scheduler.Schedulers;
+
+/**
+ * 학습 내용 생성 작업을 관리합니다.
+ * <p>
+ * 작업을 등록하면 작업 ID를 바로 반환하고 생성은 가상 스레드에서 실행하므로, 클라이언트 연결이 끊겨도 생성은 계속됩니다. 클라이언트는 작업을
+ * 조회하거나 SSE로 상태 변화를 구독합니다. 같은 사용자가 같은 학습 내용(generationKey)의 작업을 진행 중이거나 retention 안에 완료했으면
+ * 새 작업을 만들지 않고 그 작업을 반환합니다.
+ * <p>
+ * 작업 상태는 {@link StudyContentJob}으로 DB에 저장하므로 어느 서버에서든 조회할 수 있습니다. 작업을 실행 중인 서버는 SSE 구독자에게 상태
+ * 변화를 바로 전달하고, 다른 서버는 DB를 주기적으로 확인하여 전달합니다. 실행하던 서버가 중단되어 stale-after 동안 상태가 바뀌지 않은 작업은
+ * 실패로 처리하며, 다시 등록하면 새 작업을 만듭니다.
+ * <p>
+ * 작업은 사용자별로 만들고, 작업은 등록한 사용자만 조회할 수 있습니다. 여러 사용자가 같은 학습 내용을 요청해도 AI 생성은
+ * {@link StudyContentSingleFlight}로 한 번만 실행되며, 완료된 작업의 결과는 조회할 때마다 사용자별 완료 여부와 학습 진도를 반영해 다시
+ * 만듭니다.
+ */
+@Slf4j
+@Component
+public class StudyContentJobService {
+
+    private static final String ABANDONED_ERROR = "학습 내용 생성 작업이 중단되었습니다. 다시 시도해주세요.";
+
+    private final SubjectStudyService subjectStudyService;
+    private final UserRepository userRepository;
+    private final StudyContentJobJpaRepository jobRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final AiBulkhead aiBulkhead;
+    private final SnowflakeIdGenerator idGenerator;
+    private final Duration retention;
+    private final Duration staleAfter;
+    private final Duration pollInterval;
+
+    // 이 서버에서 실행 중인 작업의 상태 변화
+    private final Map<String, Sinks.Many<StudyContentJobResponse>> running = new ConcurrentHashMap<>();
+
+    public StudyContentJobService(SubjectStudyService subjectStudyService,
+                                  UserRepository userRepository,
+                                  StudyContentJobJpaRepository jobRepository,
+                                  TransactionTemplate transactionTemplate,
+                                  AiBulkhead aiBulkhead,
+                                  SnowflakeIdGenerator idGenerator,
+                                  @Value("${study.job.retention:10m}") Duration retention,
+                                  @Value("${study.job.stale-after:10m}") Duration staleAfter,
+                                  @Value("${study.job.poll-interval:500ms}") Duration pollInterval) {
+        this.subjectStudyService = subjectStudyService;
+        this.userRepository = userRepository;
+        this.jobRepository = jobRepository;
+        this.transactionTemplate = transactionTemplate;
+        this.aiBulkhead = aiBulkhead;
+        this.idGenerator = idGenerator;
+        this.retention = retention;
+        this.staleAfter = staleAfter;
+        this.pollInterval = pollInterval;
+    }
+
+    public StudyContentJobResponse submit(String userEmail, SubjectStudyContenstRequestDto req) {
+        User user = userRepository.findByEmail(userEmail).orElseThrow(
+                () -> new IllegalArgumentException("사용자를 찾을 수 없습니다: " + userEmail)
+        );
+        String generationKey = StudyContentKey.of(user, req.subject(), req.studyLevel()).generationKey();
+        String jobKey = user.getId() + ":" + generationKey;
+
+        StudyContentJob[] created = new StudyContentJob[1];
+        StudyContentJob job;
+        try {
+            job = transactionTemplate.execute(status -> {
+                StudyContentJob existing = jobRepository.findByJobKey(jobKey).orElse(null);
+                if (existing != null && isReusable(existing)) {
+                    return existing;
+                }
+                if (existing != null) {
+                    jobRepository.delete(existing);
+                    jobRepository.flush();
+                }
+                created[0] = jobRepository.saveAndFlush(
+                        StudyContentJob.queue(idGenerator.nextIdAsString(), jobKey, userEmail, req));
+                return created[0];
+            });
+        } catch (DataIntegrityViolationException | ObjectOptimisticLockingFailureException e) {
+            // 같은 작업을 다른 요청이 먼저 등록
+            created[0] = null;
+            job = jobRepository.findByJobKey(jobKey).orElseThrow(
+                    () -> new RuntimeException("학습 내용 생성 작업을 등록하지 못했습니다. 다시 시도해주세요."));
+        }
+
+        if (created[0] != null) {
+            return start(created[0]);
+        }
+        return toResponse(job);
+    }
+
+    public StudyContentJobResponse getJob(String userEmail, String jobId) {
+        return toResponse(findJob(userEmail, jobId));
+    }
+
+    /**
+     * 현재 상태부터 완료(DONE/FAILED)될 때까지의 상태 변화를 전달합니다.
+     * <p>
+     * 요청 스레드에서 DB를 조회하면 open-in-view로 스트림이 끝날 때까지 커넥션을 잡고 있으므로, 작업 조회는 모두 별도 스레드에서 합니다.
+     */
+    public Flux<StudyContentJobResponse> subscribe(String userEmail, String jobId) {
+        return Mono.fromCallable(() -> findJob(userEmail, jobId))
+                .subscribeOn(Schedulers.boundedElastic())
+                .flatMapMany(job -> {
+                    Sinks.Many<StudyContentJobResponse> events = running.get(jobId);
+                    if (events != null) {
+                        return events.asFlux();
+                    }
+                    // 다른 서버에서 실행 중이거나 이미 끝난 작업은 DB에서 확인
+                    return Flux.interval(Duration.ZERO, pollInterval)
+                            .onBackpressureDrop()
+                            .concatMap(tick -> Mono.fromCallable(() -> getJob(userEmail, jobId))
+                                    .subscribeOn(Schedulers.boundedElastic()), 1)
+                            .distinctUntilChanged(StudyContentJobResponse::status)
+                            .takeUntil(response -> response.status().isFinished());
+                });
+    }
+
+    @Scheduled(fixedDelay = 60_000L)
+    public void evictFinishedJobs() {
+        LocalDateTime now = LocalDateTime.now();
+        Integer evicted = transactionTemplate.execute(
+                status -> jobRepository.deleteExpired(now.minus(retention), now.minus(retention.plus(staleAfter))));
+        if (evicted != null && evicted > 0) {
+            log.info("완료된 학습 내용 생성 작업 {}건 정리", evicted);
+        }
+    }
+
+    private StudyContentJobResponse start(StudyContentJob job) {
+        String jobId = job.getId();
+        Sinks.Many<StudyContentJobResponse> events = Sinks.many().replay().latest();
+        running.put(jobId, events);
+        StudyContentJobResponse queued = new StudyContentJobResponse(jobId, StudyContentJobStatus.QUEUED, null, null);
+        events.tryEmitNext(queued);
+
+        aiBulkhead.runAsync(() -> {
+                    update(jobId, StudyContentJob::start);
+                    events.tryEmitNext(
+                            new StudyContentJobResponse(jobId, StudyContentJobStatus.GENERATING, null, null));
+                    return subjectStudyService.generateContents(job.getOwnerEmail(), job.toRequest());
+                })
+                .whenComplete((result, error) -> {
+                    try {
+                        if (error != null) {
+                            log.warn("학습 내용 생성 작업 실패 - jobId: {}, key: {}, 사유: {}", jobId, job.getJobKey(),
+                                    error.getMessage());
+                            update(jobId, saved -> saved.fail(error.getMessage()));
+                            events.tryEmitNext(new StudyContentJobResponse(jobId, StudyContentJobStatus.FAILED, null,
+                                    error.getMessage()));
+                            return;
+                        }
+                        update(jobId, StudyContentJob::complete);
+                        events.tryEmitNext(new StudyContentJobResponse(jobId, StudyContentJobStatus.DONE, result, null));
+                    } finally {
+                        events.tryEmitComplete();
+                        running.remove(jobId, events);
+                    }
+                });
+        return queued;
+    }
+
+    private void update(String jobId, Consumer<StudyContentJob> change) {
+        transactionTemplate.executeWithoutResult(status -> jobRepository.findById(jobId).ifPresent(change));
+    }
+
+    /**
+     * 완료된 작업의 결과는 조회할 때마다 다시 만들어 그 사이 완료한 문장을 반영합니다.
+     */
+    private StudyContentJobResponse toResponse(StudyContentJob job) {
+        if (job.isAbandoned(staleAfter) && !running.containsKey(job.getId())) {
+            return new StudyContentJobResponse(job.getId(), StudyContentJobStatus.FAILED, null, ABANDONED_ERROR);
+        }
+        SubjectStudyContentsResponseDto result = job.getStatus() == StudyContentJobStatus.DONE
+                ? subjectStudyService.generateContents(job.getOwnerEmail(), job.toRequest())
+                : null;
+        return new StudyContentJobResponse(job.getId(), job.getStatus(), result, job.getError());
+    }
+
+    private boolean isReusable(StudyContentJob job) {
+        return job.getStatus() != StudyContentJobStatus.FAILED
+                && !job.isExpired(retention)
+                && !(job.isAbandoned(staleAfter) && !running.containsKey(job.getId()));
+    }
+
+    /**
+     * 다른 사용자의 작업은 작업 ID가 있는지도 알 수 없도록 없는 작업과 같이 처리합니다.
+     */
+    private StudyContentJob findJob(String userEmail, String jobId) {
+        return jobRepository.findById(jobId)
+                .filter(job -> job.getOwnerEmail().equals(userEmail))
+                .orElseThrow(() -> new IllegalArgumentException("학습 내용 생성 작업을 찾을 수 없습니다: " + jobId));
+    }
+}
@@ -0,0 +1,48 @@
+package com.halfmoon.halfmoon.study.application;
+
+import com.halfmoon.halfmoon.security.domain.KoreanLevel;
+import com.halfmoon.halfmoon.security.domain.NativeLanguage;
+import com.halfmoon.halfmoon.security.domain.User;
+import com.halfmoon.halfmoon.study.dto.req.StudyLevel;
+import com.halfmoon.halfmoon.study.dto.req.Subject;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 학습 내용을 구분하는 키입니다. 같은 키의 학습자는 같은 학습 내용을 공유합니다.
+ */
+public record StudyContentKey(
+        Subject subject,
+        StudyLevel studyLevel,
+        NativeLanguage nativeLanguage,
+        KoreanLevel koreanLevel
+) {
+
+    public static StudyContentKey of(User user, Subject subject, StudyLevel studyLevel) {
+        return new StudyContentKey(subject, studyLevel, user.getNativeLanguage(), user.getKoreanLevel());
+    }
+
+    /**
+     * 미리 생성해 둘 모든 조합
+     */
+    public static List<StudyContentKey> all() {
+        List<StudyContentKey> keys = new ArrayList<>();
+        for (Subject subject : Subject.values()) {
+            for (StudyLevel studyLevel : StudyLevel.values()) {
+                for (NativeLanguage nativeLanguage : NativeLanguage.values()) {
+                    for (KoreanLevel koreanLevel : KoreanLevel.values()) {
+                        keys.add(new StudyContentKey(subject, studyLevel, nativeLanguage, koreanLevel));
+                    }
+                }
+            }
+        }
+        return keys;
+    }
+
+    /**
+     * {@link com.halfmoon.halfmoon.study.domain.StudyContentGeneration}의 선점 키
+     */
+    public String generationKey() {
+        return subject + ":" + studyLevel + ":" + nativeLanguage + ":" + koreanLevel;
+    }
+}
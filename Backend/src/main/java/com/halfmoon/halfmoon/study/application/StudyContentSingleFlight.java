@@ -0,0 +1,214 @@
+package com.halfmoon.halfmoon.study.application;
+
+import com.halfmoon.halfmoon.study.domain.StudyContentGeneration;
+import com.halfmoon.halfmoon.study.infra.StudyContentGenerationJpaRepository;
+import jakarta.annotation.PreDestroy;
+import java.time.Duration;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * 같은 학습 내용(generationKey)의 생성을 한 번만 실행합니다.
+ * <p>
+ * 같은 서버에서 동시에 들어온 요청은 먼저 들어온 요청의 결과를 함께 기다립니다. 서버 간에는 {@link StudyContentGeneration}의 유니크 제약으로
+ * 생성 권한을 하나의 요청만 가져가고, 나머지 서버의 요청은 학습 내용이 저장될 때까지 DB를 주기적으로 확인합니다.
+ * <p>
+ * 생성 권한은 lease 동안 유지되며, 생성이 lease보다 오래 걸려도 다른 서버가 이어받지 않도록 생성하는 동안 lease의 1/3마다 연장합니다.
+ */
+@Slf4j
+@Component
+public class StudyContentSingleFlight {
+
+    private final StudyContentGenerationJpaRepository generationRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final Duration lease;
+    private final Duration waitTimeout;
+    private final Duration pollInterval;
+
+    private final Map<String, CompletableFuture<UUID>> inFlight = new ConcurrentHashMap<>();
+    private final AtomicLong coalescedCount = new AtomicLong();
+    private final ScheduledExecutorService leaseRenewer = Executors.newSingleThreadScheduledExecutor(
+            Thread.ofVirtual().name("study-generation-lease").factory());
+
+    public StudyContentSingleFlight(StudyContentGenerationJpaRepository generationRepository,
+                                    TransactionTemplate transactionTemplate,
+                                    @Value("${study.generation.lease:2m}") Duration lease,
+                                    @Value("${study.generation.wait-timeout:3m}") Duration waitTimeout,
+                                    @Value("${study.generation.poll-interval:500ms}") Duration pollInterval) {
+        this.generationRepository = generationRepository;
+        this.transactionTemplate = transactionTemplate;
+        this.lease = lease;
+        this.waitTimeout = waitTimeout;
+        this.pollInterval = pollInterval;
+    }
+
+    /**
+     * @param lookup   이미 저장된 학습 내용 ID 조회
+     * @param generate 학습 내용을 생성/저장하고 ID를 반환. generationKey당 한 번만 실행됩니다.
+     * @return 학습 내용 ID
+     */
+    public UUID run(String generationKey, Supplier<Optional<UUID>> lookup, Supplier<UUID> generate) {
+        CompletableFuture<UUID> result = new CompletableFuture<>();
+        CompletableFuture<UUID> existing = inFlight.putIfAbsent(generationKey, result);
+        if (existing != null) {
+            coalescedCount.incrementAndGet();
+            log.info("진행 중인 학습 내용 생성 결과를 기다립니다 - key: {}", generationKey);
+            return await(existing);
+        }
+
+        try {
+            UUID studyContentId = generateOrWait(generationKey, lookup, generate);
+            result.complete(studyContentId);
+            return studyContentId;
+        } catch (RuntimeException e) {
+            result.completeExceptionally(e);
+            throw e;
+        } finally {
+            inFlight.remove(generationKey, result);
+        }
+    }
+
+    public long getCoalescedCount() {
+        return coalescedCount.get();
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        leaseRenewer.shutdownNow();
+    }
+
+    private UUID generateOrWait(String generationKey, Supplier<Optional<UUID>> lookup, Supplier<UUID> generate) {
+        long deadline = System.nanoTime() + waitTimeout.toNanos();
+        while (true) {
+            Optional<UUID> saved = lookup.get();
+            if (saved.isPresent()) {
+                return saved.get();
+            }
+
+            if (tryClaim(generationKey)) {
+                return generateAsOwner(generationKey, lookup, generate);
+            }
+
+            if (System.nanoTime() > deadline) {
+                throw new RuntimeException("학습 내용 생성이 지연되고 있습니다. 잠시 후 다시 시도해주세요.");
+            }
+            sleep(pollInterval);
+        }
+    }
+
+    private UUID generateAsOwner(String generationKey, Supplier<Optional<UUID>> lookup, Supplier<UUID> generate) {
+        try {
+            UUID studyContentId;
+            try (LeaseHeartbeat heartbeat = new LeaseHeartbeat(generationKey)) {
+                // 이전 소유자가 저장까지 마치고 완료 표시 전에 중단된 경우 다시 생성하지 않음
+                studyContentId = lookup.get().orElseGet(generate);
+            }
+            transactionTemplate.executeWithoutResult(status -> generationRepository.findByGenerationKey(generationKey)
+                    .ifPresent(generation -> generation.complete(studyContentId)));
+            return studyContentId;
+        } catch (RuntimeException e) {
+            log.warn("학습 내용 생성 실패, 선점을 해제합니다 - key: {}, 사유: {}", generationKey, e.getMessage());
+            transactionTemplate.executeWithoutResult(status -> generationRepository.findByGenerationKey(generationKey)
+                    .ifPresent(generationRepository::delete));
+            throw e;
+        }
+    }
+
+    /**
+     * @return 생성 권한을 얻었는지 여부
+     */
+    private boolean tryClaim(String generationKey) {
+        try {
+            return Boolean.TRUE.equals(transactionTemplate.execute(status -> {
+                Optional<StudyContentGeneration> claimed = generationRepository.findByGenerationKey(generationKey);
+                if (claimed.isEmpty()) {
+                    generationRepository.saveAndFlush(StudyContentGeneration.claim(generationKey, lease));
+                    return true;
+                }
+                StudyContentGeneration generation = claimed.get();
+                if (!generation.isLeaseExpired()) {
+                    return false;
+                }
+                log.info("생성 시간이 만료된 학습 내용 생성을 이어받습니다 - key: {}", generationKey);
+                generation.reclaim(lease);
+                generationRepository.flush();
+                return true;
+            }));
+        } catch (DataIntegrityViolationException | ObjectOptimisticLockingFailureException e) {
+            return false; // 다른 서버가 먼저 선점
+        }
+    }
+
+    /**
+     * 생성하는 동안 lease를 주기적으로 연장합니다. close()는 진행 중인 연장이 끝날 때까지 기다리므로, 이후의 완료 표시와 충돌하지 않습니다.
+     */
+    private final class LeaseHeartbeat implements AutoCloseable {
+
+        private final String generationKey;
+        private final ScheduledFuture<?> renewal;
+        private boolean closed;
+
+        private LeaseHeartbeat(String generationKey) {
+            this.generationKey = generationKey;
+            long periodMillis = Math.max(lease.toMillis() / 3, 1);
+            this.renewal = leaseRenewer.scheduleAtFixedRate(this::renew, periodMillis, periodMillis,
+                    TimeUnit.MILLISECONDS);
+        }
+
+        private synchronized void renew() {
+            if (closed) {
+                return;
+            }
+            try {
+                transactionTemplate.executeWithoutResult(status -> generationRepository
+                        .findByGenerationKey(generationKey)
+                        .ifPresent(generation -> generation.renewLease(lease)));
+            } catch (RuntimeException e) {
+                // 예외가 나가면 이후 연장이 모두 취소되므로 로그만 남기고 다음 주기에 다시 시도
+                log.warn("학습 내용 생성 시간 연장 실패 - key: {}, 사유: {}", generationKey, e.getMessage());
+            }
+        }
+
+        @Override
+        public synchronized void close() {
+            closed = true;
+            renewal.cancel(false);
+        }
+    }
+
+    private static UUID await(CompletableFuture<UUID> inFlight) {
+        try {
+            return inFlight.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw e;
+        }
+    }
+
+    private static void sleep(Duration duration) {
+        try {
+            Thread.sleep(duration);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new RuntimeException("학습 내용 생성 대기 중 중단되었습니다.", e);
+        }
+    }
+}
@@ -0,0 +1,196 @@
+package com.halfmoon.halfmoon.study.application;
+
+import com.halfmoon.halfmoon.security.domain.User;
+import com.halfmoon.halfmoon.security.domain.UserRepository;
+import com.halfmoon.halfmoon.study.domain.Sentence;
+import com.halfmoon.halfmoon.study.domain.SentenceCompletion;
+import com.halfmoon.halfmoon.study.domain.StudyProgress;
+import com.halfmoon.halfmoon.study.domain.StudyProgressId;
+import com.halfmoon.halfmoon.study.domain.UserToStudyContent;
+import com.halfmoon.halfmoon.study.dto.req.StudyLevel;
+import com.halfmoon.halfmoon.study.dto.req.Subject;
+import com.halfmoon.halfmoon.study.infra.SentenceCompletionJpaRepository;
+import com.halfmoon.halfmoon.study.infra.SentenceJpaRepository;
+import com.halfmoon.halfmoon.study.infra.StudyProgressCount;
+import com.halfmoon.halfmoon.study.infra.StudyProgressJpaRepository;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * 사용자별 학습 진도({@link StudyProgress}) 집계를 관리합니다.
+ * <p>
+ * 학습 내용을 처음 열 때 문장 수로 진도를 만들고, 문장을 처음 완료할 때마다 완료 수를 1 증가시킵니다. 집계가 어긋날 경우를 대비해 매일
+ * 완료 기록과 문장 테이블로 다시 계산합니다.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class StudyProgressCounter {
+
+    private final StudyProgressJpaRepository studyProgressJpaRepository;
+    private final SentenceCompletionJpaRepository sentenceCompletionJpaRepository;
+    private final SentenceJpaRepository sentenceJpaRepository;
+    private final UserRepository userRepository;
+    private final TransactionTemplate transactionTemplate;
+
+    private final AtomicBoolean repairing = new AtomicBoolean();
+
+    /**
+     * 학습 내용을 연 사용자의 진도를 만듭니다. 이미 같은 문장 수로 만들어져 있으면 그대로 둡니다.
+     */
+    public void initialize(User user, UserToStudyContent content, long sentenceCount) {
+        StudyProgressId id = StudyProgressId.of(user.getId(), content.getSubject(), content.getStudyLevel());
+        try {
+            transactionTemplate.executeWithoutResult(status -> {
+                Optional<StudyProgress> studyProgress = studyProgressJpaRepository.findById(id);
+                if (studyProgress.isPresent() && studyProgress.get().getTotal() == sentenceCount) {
+                    return;
+                }
+                // 프로필이 바뀌어 다른 학습 내용을 보게 된 경우에도 해당 학습 내용 기준으로 다시 계산
+                long done = sentenceCompletionJpaRepository.countByUserIdAndStudyContentId(user.getId(),
+                        content.getId());
+                studyProgress.ifPresentOrElse(
+                        progress -> progress.rebuild(sentenceCount, done),
+                        () -> studyProgressJpaRepository.saveAndFlush(StudyProgress.of(id, sentenceCount, done)));
+            });
+        } catch (DataIntegrityViolationException e) {
+            log.debug("다른 요청이 먼저 학습 진도를 만들었습니다 - {}", id); // 같은 사용자의 동시 요청
+        }
+    }
+
+    /**
+     * 문장 완료를 기록합니다. 이미 완료한 문장은 집계하지 않습니다. 호출한 쪽의 트랜잭션에서 실행됩니다.
+     *
+     * @return 처음 완료한 문장들
+     */
+    public List<Sentence> recordCompletions(UUID userId, Collection<Sentence> sentences) {
+        Set<UUID> completed = new HashSet<>(sentenceCompletionJpaRepository.findCompletedSentenceIds(userId,
+                sentences.stream().map(Sentence::getId).toList()));
+        List<Sentence> newlyCompleted = sentences.stream()
+                .filter(sentence -> !completed.contains(sentence.getId()))
+                .toList();
+        if (newlyCompleted.isEmpty()) {
+            return newlyCompleted;
+        }
+        sentenceCompletionJpaRepository.saveAll(newlyCompleted.stream()
+                .map(sentence -> SentenceCompletion.of(userId, sentence))
+                .toList());
+
+        // 학습 내용별로 완료 수를 한 번에 증가
+        Map<UserToStudyContent, Long> countByContent = newlyCompleted.stream()
+                .collect(Collectors.groupingBy(Sentence::getStudyContent, Collectors.counting()));
+        countByContent.forEach((content, count) -> {
+            StudyProgressId id = StudyProgressId.of(userId, content.getSubject(), content.getStudyLevel());
+            if (studyProgressJpaRepository.addDone(id, count) == 0) {
+                // 학습 내용을 열지 않고 완료한 경우 (진도가 아직 없음) : 진도를 만든 뒤 다시 증가
+                createProgress(id, content);
+                if (studyProgressJpaRepository.addDone(id, count) == 0) {
+                    log.warn("학습 진도를 만들지 못해 완료 수를 반영하지 못했습니다. 다음 재계산 때 반영됩니다 - {}", id);
+                }
+            }
+        });
+        return newlyCompleted;
+    }
+
+    /**
+     * 호출한 쪽과 별도의 트랜잭션에서 진도를 만듭니다. 같은 사용자의 동시 요청이 먼저 만들었으면 그대로 두며, 키 중복 예외가 호출한 쪽의
+     * 트랜잭션을 롤백시키지 않습니다. 완료 수는 커밋된 완료 기록만 세므로, 호출한 쪽이 방금 기록한 완료는 이후 addDone으로 더합니다.
+     */
+    private void createProgress(StudyProgressId id, UserToStudyContent content) {
+        TransactionTemplate requiresNew = new TransactionTemplate(transactionTemplate.getTransactionManager());
+        requiresNew.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        try {
+            requiresNew.executeWithoutResult(status -> {
+                if (studyProgressJpaRepository.existsById(id)) {
+                    return;
+                }
+                long total = sentenceJpaRepository.findByStudyContentId(content.getId()).size();
+                long done = sentenceCompletionJpaRepository.countByUserIdAndStudyContentId(id.getUserId(),
+                        content.getId());
+                studyProgressJpaRepository.saveAndFlush(StudyProgress.of(id, total, done));
+            });
+        } catch (DataIntegrityViolationException e) {
+            log.debug("다른 요청이 먼저 학습 진도를 만들었습니다 - {}", id); // 같은 사용자의 동시 요청
+        }
+    }
+
+    /**
+     * @return 주제별 진도 (학습 내용을 연 적 없는 주제는 없음)
+     */
+    public Map<Subject, StudyProgress> getProgress(UUID userId, StudyLevel studyLevel) {
+        List<StudyProgressId> ids = Arrays.stream(Subject.values())
+                .map(subject -> StudyProgressId.of(userId, subject, studyLevel))
+                .toList();
+        return studyProgressJpaRepository.findAllById(ids).stream()
+                .collect(Collectors.toMap(progress -> progress.getId().getSubject(), Function.identity()));
+    }
+
+    /**
+     * 모든 사용자의 진도를 완료 기록과 문장 테이블로 다시 계산합니다. 오래 걸릴 수 있어 별도 스레드에서 실행합니다.
+     */
+    @Scheduled(cron = "${study.progress.repair-cron:0 30 4 * * *}")
+    public void repairAll() {
+        if (!repairing.compareAndSet(false, true)) {
+            return;
+        }
+        Thread.ofVirtual().name("study-progress-repair").start(() -> {
+            long startedAt = System.currentTimeMillis();
+            int repaired = 0;
+            try {
+                for (User user : userRepository.findAll()) {
+                    try {
+                        repaired += rebuild(user);
+                    } catch (RuntimeException e) {
+                        log.warn("학습 진도 재계산 실패 - user: {}, 사유: {}", user.getId(), e.getMessage());
+                    }
+                }
+                log.info("학습 진도 재계산 완료 - 수정 {}건, {}ms", repaired, System.currentTimeMillis() - startedAt);
+            } finally {
+                repairing.set(false);
+            }
+        });
+    }
+
+    /**
+     * @return 값이 바뀐 진도 수
+     */
+    private int rebuild(User user) {
+        return transactionTemplate.execute(status -> {
+            Map<StudyProgressId, StudyProgressCount> counts = sentenceJpaRepository.countProgress(user.getId(),
+                            user.getNativeLanguage(), user.getKoreanLevel()).stream()
+                    .collect(Collectors.toMap(
+                            count -> StudyProgressId.of(user.getId(), count.subject(), count.studyLevel()),
+                            Function.identity()));
+
+            int changed = 0;
+            for (StudyLevel studyLevel : StudyLevel.values()) {
+                for (StudyProgress progress : getProgress(user.getId(), studyLevel).values()) {
+                    StudyProgressCount count = counts.get(progress.getId());
+                    long total = count != null ? count.total() : 0L;
+                    long done = count != null ? count.done() : 0L;
+                    if (progress.getTotal() != total || progress.getDone() != done) {
+                        progress.rebuild(total, done);
+                        changed++;
+                    }
+                }
+            }
+            return changed;
+        });
+    }
+}
@@ -0,0 +1,11 @@
+package com.halfmoon.halfmoon.study.application;
+
+import java.util.List;
+
+/**
+ * 학습 문장이 저장되었을 때 발행합니다. 트랜잭션이 커밋된 뒤 문장 음성을 미리 변환하는 데 사용합니다.
+ *
+ * @param sentences 저장한 문장
+ */
+public record StudySentencesSavedEvent(List<String> sentences) {
+}
@@ -1,17 +1,25 @@
 package com.halfmoon.halfmoon.study.application;
 
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.halfmoon.halfmoon.global.executor.AiBulkhead;
+import com.halfmoon.halfmoon.global.executor.AiProvider;
 import com.halfmoon.halfmoon.security.domain.User;
 import com.halfmoon.halfmoon.security.domain.UserRepository;
+import com.halfmoon.halfmoon.study.aiResponse.AIStudySentence;
 import com.halfmoon.halfmoon.study.aiResponse.AISubjectStudyContentsResponse;
 import com.halfmoon.halfmoon.study.domain.Sentence;
+import com.halfmoon.halfmoon.study.domain.StudyProgress;
 import com.halfmoon.halfmoon.study.domain.UserToStudyContent;
 import com.halfmoon.halfmoon.study.dto.req.StudyLevel;
 import com.halfmoon.halfmoon.study.dto.req.Subject;
 import com.halfmoon.halfmoon.study.dto.req.SubjectStudyContenstRequestDto;
 import com.halfmoon.halfmoon.study.dto.resp.CompletionRateResponse;
+import com.halfmoon.halfmoon.study.dto.resp.StudyContentStreamEvent;
 import com.halfmoon.halfmoon.study.dto.resp.SubjectCompletionRateDto;
 import com.halfmoon.halfmoon.study.dto.resp.SubjectStudyContentsResponseDto;
 import com.halfmoon.halfmoon.study.dto.resp.SubjectStudySentence;
+import com.halfmoon.halfmoon.study.infra.SentenceCompletionJpaRepository;
 import com.halfmoon.halfmoon.study.infra.SentenceJpaRepository;
 import com.halfmoon.halfmoon.study.infra.UserToStudyContentJpaRepository;
 import com.halfmoon.halfmoon.user.domain.StudyRecord;
@@ -19,17 +27,30 @@ import com.halfmoon.halfmoon.user.infra.StudyRecordJpaRepository;
 import java.util.Arrays;
 import java.util.Collection;
 import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
 import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Consumer;
 import java.util.stream.Collectors;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.ai.chat.client.ChatClient;
+import org.springframework.ai.converter.BeanOutputConverter;
 import org.springframework.ai.openai.OpenAiChatModel;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Sinks;
 
 @Slf4j
 @Service
@@ -37,146 +58,362 @@ import org.springframework.transaction.annotation.Transactional;
 @RequiredArgsConstructor
 public class SubjectStudyService {
 
+    private static final int STREAM_SAVE_BATCH_SIZE = 3; // 스트리밍 생성 시 한 번에 저장하는 문장 수
+
     private final OpenAiChatModel chatModel;
     PromptMessage promptMessage = new PromptMessage(); // 프롬프트 메시지 관리 객체
     private final UserRepository userRepository; // 사용자 정보 접근 레포지토리
     private final UserToStudyContentJpaRepository userToStudyContentJpaRepository; // 사용자-학습내용 매핑 레포지토리
     private final SentenceJpaRepository sentenceJpaRepository; // 문장 정보 접근 레포지토리
+    private final SentenceCompletionJpaRepository sentenceCompletionJpaRepository; // 사용자별 문장 완료 기록 레포지토리
     private final StudyRecordJpaRepository studyRecordJpaRepository; // 사용자 학습 기록 레포지토리
+    private final AiBulkhead aiBulkhead; // AI 호출 동시 실행 수 제한
+    private final StudyContentSingleFlight studyContentSingleFlight; // 같은 학습 내용 중복 생성 방지
+    private final TransactionTemplate transactionTemplate;
+    private final StudyCatalogueProperties catalogueProperties;
+    private final StudyProgressCounter studyProgressCounter; // 사용자별 학습 진도 집계
+    private final ObjectMapper objectMapper;
+    private final ApplicationEventPublisher eventPublisher; // 저장한 문장의 음성 미리 변환
 
+    /**
+     * 학습자의 프로필(모국어, 한국어 수준)에 맞는 학습 내용을 반환합니다. 학습 내용은 {@link StudyCataloguePreGenerator}가 미리 생성해 두며,
+     * 아직 없는 조합은 study.catalogue.on-demand-generation이 켜져 있을 때만 요청 시점에 생성합니다.
+     * <p>
+     * AI 호출 동안 트랜잭션을 잡고 있지 않도록 트랜잭션 없이 실행합니다.
+     */
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
     public SubjectStudyContentsResponseDto generateContents(String userEmail, SubjectStudyContenstRequestDto req) {
         //1. 사용자 정보 조회
         User user = userRepository.findByEmail(userEmail).orElseThrow(
                 () -> new IllegalArgumentException("사용자를 찾을 수 없습니다: " + userEmail)
         );
+        StudyContentKey key = StudyContentKey.of(user, req.subject(), req.studyLevel());
 
-        //2. 사용자 학습내용 매핑 레포지토리에 기록이 있는 지 확인.
-        Optional<UserToStudyContent> userToStudyContent = userToStudyContentJpaRepository.findBySubjectAndStudyLevel(
-                req.subject(), req.studyLevel());
-        //3. 기록이 있으면, 해당 내용 리턴
+        //2. 학습 내용이 있으면 해당 내용 리턴
+        Optional<UserToStudyContent> userToStudyContent = findContents(key);
         if (userToStudyContent.isPresent()) {
-            return getSubjectStudyContentResponsedtoFromDB(userToStudyContent);
-
-        } else { // 4. 기록이 없으면, OpenAI API 호출을 통해 내용 생성 -> DB 저장 -> 리턴 // TODO!!
-            generateSubjectStudyContentsWithOpenAi(req, user);
-            Optional<UserToStudyContent> newUserToStudyContent = userToStudyContentJpaRepository.findBySubjectAndStudyLevel(
-                    req.subject(), req.studyLevel());
-            if (newUserToStudyContent.isPresent()) {
-                return getSubjectStudyContentResponsedtoFromDB(newUserToStudyContent);
-            } else {
-                throw new RuntimeException("학습 내용 생성에 실패했습니다. 다시 시도해주세요.");
-            }
+            return openContents(user, userToStudyContent);
+        }
+
+        //3. 없으면 OpenAI API 호출을 통해 내용 생성 -> DB 저장 -> 리턴 (동시 요청은 하나의 생성 결과를 공유)
+        if (!catalogueProperties.isOnDemandGeneration()) {
+            throw new RuntimeException("학습 내용을 준비 중입니다. 잠시 후 다시 시도해주세요.");
+        }
+        UUID studyContentId = generateOnce(key, user);
+        Optional<UserToStudyContent> newUserToStudyContent = userToStudyContentJpaRepository.findById(studyContentId);
+        if (newUserToStudyContent.isEmpty()) {
+            throw new RuntimeException("학습 내용 생성에 실패했습니다. 다시 시도해주세요.");
         }
+        return openContents(user, newUserToStudyContent);
+    }
+
+    /**
+     * {@link #generateContents}의 스트리밍 버전입니다. 새로 생성하는 경우 모델 응답에서 문장 객체가 닫히는 즉시 sentence 이벤트로 전달하고
+     * 작은 묶음으로 저장하며, 마지막에 문장 ID가 포함된 전체 학습 내용을 contents 이벤트로 전달합니다. 이미 저장된 학습 내용은 contents
+     * 이벤트만 전달합니다.
+     * <p>
+     * 생성은 가상 스레드에서 진행되므로 클라이언트 연결이 끊겨도 끝까지 저장됩니다.
+     */
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public Flux<StudyContentStreamEvent> streamContents(String userEmail, SubjectStudyContenstRequestDto req) {
+        Sinks.Many<StudyContentStreamEvent> events = Sinks.many().unicast().onBackpressureBuffer();
+        aiBulkhead.runAsync(() -> {
+                    User user = userRepository.findByEmail(userEmail).orElseThrow(
+                            () -> new IllegalArgumentException("사용자를 찾을 수 없습니다: " + userEmail)
+                    );
+                    StudyContentKey key = StudyContentKey.of(user, req.subject(), req.studyLevel());
+
+                    UUID studyContentId = findContents(key).map(UserToStudyContent::getId).orElseGet(() -> {
+                        if (!catalogueProperties.isOnDemandGeneration()) {
+                            throw new RuntimeException("학습 내용을 준비 중입니다. 잠시 후 다시 시도해주세요.");
+                        }
+                        return studyContentSingleFlight.run(
+                                key.generationKey(),
+                                () -> findContents(key).map(UserToStudyContent::getId),
+                                () -> generateSubjectStudyContentsStreaming(key, user,
+                                        sentence -> events.tryEmitNext(StudyContentStreamEvent.sentence(sentence))));
+                    });
+
+                    SubjectStudyContentsResponseDto contents = openContents(user,
+                            userToStudyContentJpaRepository.findById(studyContentId));
+                    events.tryEmitNext(StudyContentStreamEvent.contents(contents));
+                    return contents;
+                })
+                .whenComplete((contents, error) -> {
+                    if (error != null) {
+                        events.tryEmitError(error);
+                        return;
+                    }
+                    events.tryEmitComplete();
+                });
+        return events.asFlux();
+    }
+
+    /**
+     * 학습 내용을 미리 생성합니다. 이미 있으면 생성하지 않습니다.
+     *
+     * @return 학습 내용 ID
+     */
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public UUID prepareContents(StudyContentKey key) {
+        return generateOnce(key, null);
+    }
+
+    @Transactional(readOnly = true)
+    public boolean hasContents(StudyContentKey key) {
+        return findContents(key).isPresent();
     }
 
     public void completeStudySentence(String username, UUID sentenceId) {
+        completeStudySentences(username, List.of(sentenceId));
+    }
+
+    /**
+     * 여러 문장을 한 번에 완료 처리합니다. 완료 기록과 학습 진도는 사용자별로 남기고, 학습한 단어 수는 합산해서 한 번에 반영합니다.
+     * <p>
+     * 문장은 같은 프로필의 사용자끼리 공유하므로 Sentence의 완료 여부는 바꾸지 않습니다.
+     */
+    public void completeStudySentences(String username, Collection<UUID> sentenceIds) {
+        if (sentenceIds.isEmpty()) {
+            throw new IllegalArgumentException("완료할 문장이 없습니다.");
+        }
+
         //1. Sentence 조회
-        Sentence sentence = sentenceJpaRepository.findById(sentenceId).orElseThrow(
-                () -> new IllegalArgumentException("해당 문장을 찾을 수 없습니다: " + sentenceId
-                )
-        );
+        Set<UUID> ids = new HashSet<>(sentenceIds);
+        List<Sentence> sentences = sentenceJpaRepository.findAllById(ids);
+        if (sentences.size() != ids.size()) {
+            sentences.forEach(sentence -> ids.remove(sentence.getId()));
+            throw new IllegalArgumentException("해당 문장을 찾을 수 없습니다: " + ids);
+        }
 
         //2. 내 학습 기록 가져오기
         StudyRecord studyRecord = studyRecordJpaRepository.findRecordByUserEmail(username).orElseThrow(
                 () -> new IllegalArgumentException("사용자 학습 기록을 찾을 수 없습니다: " + username)
         );
 
-        //내가 학습한 단어 수 업데이트
-        Long newWordsCount = sentence.getNewWordsCount();
+        //3. 처음 완료한 문장만 학습 진도와 내가 학습한 단어 수에 반영
+        List<Sentence> newlyCompleted = studyProgressCounter.recordCompletions(studyRecord.getUser().getId(),
+                sentences);
+        long newWordsCount = newlyCompleted.stream()
+                .mapToLong(Sentence::getNewWordsCount)
+                .sum();
         studyRecord.addTotalNewWordsCount(newWordsCount);
+    }
 
-        //2. 해당 문장의 isDone 상태를 true로 변경
-        sentence.markAsDone();
+    private SubjectStudyContentsResponseDto openContents(User user, Optional<UserToStudyContent> userToStudyContent) {
+        SubjectStudyContentsResponseDto response = getSubjectStudyContentResponsedtoFromDB(user, userToStudyContent);
+        studyProgressCounter.initialize(user, userToStudyContent.get(), response.sentences().size());
+        return response;
     }
 
     private SubjectStudyContentsResponseDto getSubjectStudyContentResponsedtoFromDB(
-            Optional<UserToStudyContent> userToStudyContent) {
+            User user, Optional<UserToStudyContent> userToStudyContent) {
         UserToStudyContent contents = userToStudyContent.get();
         Collection<Sentence> studySentences = sentenceJpaRepository.findByStudyContentId(contents.getId());
         if (studySentences.isEmpty()) {
             throw new RuntimeException("해당 학습 내용에 대한 문장이 존재하지 않습니다.");
         }
 
+        // 완료 여부는 공유되는 문장이 아니라 사용자의 완료 기록으로 표시
+        Set<UUID> completed = new HashSet<>(sentenceCompletionJpaRepository.findCompletedSentenceIds(user.getId(),
+                studySentences.stream().map(Sentence::getId).toList()));
         List<SubjectStudySentence> list = studySentences.stream().map(
-                this::toSubjectStudySentence
+                sentence -> toSubjectStudySentence(sentence, completed.contains(sentence.getId()))
         ).toList();
         return new SubjectStudyContentsResponseDto(contents.getId(), list);
     }
 
-    private void generateSubjectStudyContentsWithOpenAi(SubjectStudyContenstRequestDto req,
-                                                        User user) {
-        Map<String, Object> params = setPromptingParamsWithUserInfoAndSubjectAndLevel(req, user);
-        AISubjectStudyContentsResponse entity = ChatClient.create(chatModel).prompt()
-                .user(u -> u.text(
-                        promptMessage.subjectStudyContentsCreatingPrompt
-                ).params(params))
-                .call()
-                .entity(AISubjectStudyContentsResponse.class);
+    private UUID generateOnce(StudyContentKey key, User requester) {
+        return studyContentSingleFlight.run(
+                key.generationKey(),
+                () -> findContents(key).map(UserToStudyContent::getId),
+                () -> generateSubjectStudyContentsWithOpenAi(key, requester));
+    }
 
-        // DB에 저장
-        UserToStudyContent userToStudyContent = UserToStudyContent.of(user, req.subject(), req.studyLevel());
-        UserToStudyContent save = userToStudyContentJpaRepository.save(userToStudyContent);
+    private Optional<UserToStudyContent> findContents(StudyContentKey key) {
+        return userToStudyContentJpaRepository.findReadyContents(
+                key.subject(), key.studyLevel(), key.nativeLanguage(), key.koreanLevel());
+    }
 
-        assert entity != null;
-        List<Sentence> list = entity.contents().stream()
-                .map(sentence -> Sentence.create(sentence.sentence(), sentence.meaning(), sentence.newWordCount(),
-                        save))
+    /**
+     * 세부 주제별로 나눠서 동시에 생성한 뒤 중복 문장을 제거하고 한 번에 저장합니다. 한 번에 15문장을 생성하는 것보다 응답 길이가 짧아 생성
+     * 시간이 줄어듭니다. 하나라도 실패하면 저장하지 않습니다.
+     */
+    private UUID generateSubjectStudyContentsWithOpenAi(StudyContentKey key, User requester) {
+        discardUnfinishedContents(key);
+        List<CompletableFuture<AISubjectStudyContentsResponse>> calls = promptMessage.subjectStudySubThemes.stream()
+                .map(subTheme -> aiBulkhead.submit(AiProvider.OPENAI_CHAT,
+                        () -> ChatClient.create(chatModel).prompt()
+                                .user(u -> u.text(
+                                        promptMessage.subjectStudyContentsCreatingPrompt
+                                ).params(setPromptingParams(key, subTheme)))
+                                .call()
+                                .entity(AISubjectStudyContentsResponse.class)))
                 .toList();
-        sentenceJpaRepository.saveAll(list);
+
+        // 세부 주제가 달라도 같은 문장이 나올 수 있으므로 문장 기준으로 중복 제거
+        Map<String, AIStudySentence> sentences = new LinkedHashMap<>();
+        for (CompletableFuture<AISubjectStudyContentsResponse> call : calls) {
+            AISubjectStudyContentsResponse entity = join(call);
+            if (entity == null || entity.contents() == null) {
+                throw new RuntimeException("학습 내용 생성에 실패했습니다. 다시 시도해주세요.");
+            }
+            entity.contents().forEach(sentence -> sentences.putIfAbsent(sentence.sentence().strip(), sentence));
+        }
+
+        // DB에 저장
+        return transactionTemplate.execute(status -> {
+            UserToStudyContent userToStudyContent = UserToStudyContent.of(requester, key.subject(), key.studyLevel(),
+                    key.nativeLanguage(), key.koreanLevel());
+            UserToStudyContent save = userToStudyContentJpaRepository.save(userToStudyContent);
+
+            List<Sentence> list = sentences.values().stream()
+                    .map(sentence -> Sentence.create(sentence.sentence(), sentence.meaning(), sentence.newWordCount(),
+                            save))
+                    .toList();
+            sentenceJpaRepository.saveAll(list);
+            eventPublisher.publishEvent(new StudySentencesSavedEvent(list.stream()
+                    .map(Sentence::getSentence)
+                    .toList()));
+            return save.getId();
+        });
+    }
+
+    /**
+     * 세부 주제별 스트리밍 응답을 합쳐서, 문장 객체가 완성될 때마다 onSentence로 전달하고 STREAM_SAVE_BATCH_SIZE개씩 저장합니다.
+     * 저장이 끝나기 전에는 학습 내용을 생성 중으로 표시해 다른 요청이 일부만 저장된 학습 내용을 조회하지 않도록 합니다. 실패하면 저장한
+     * 문장을 모두 지웁니다.
+     */
+    private UUID generateSubjectStudyContentsStreaming(StudyContentKey key, User requester,
+                                                       Consumer<AIStudySentence> onSentence) {
+        String format = new BeanOutputConverter<>(AISubjectStudyContentsResponse.class).getFormat();
+        discardUnfinishedContents(key);
+        UUID studyContentId = transactionTemplate.execute(status -> userToStudyContentJpaRepository.save(
+                UserToStudyContent.generating(requester, key.subject(), key.studyLevel(), key.nativeLanguage(),
+                        key.koreanLevel())).getId());
+
+        try {
+            Set<String> seen = ConcurrentHashMap.newKeySet();
+            Long saved = Flux.merge(promptMessage.subjectStudySubThemes.stream()
+                            .map(subTheme -> streamSentences(key, subTheme, format))
+                            .toList())
+                    .filter(sentence -> seen.add(sentence.sentence().strip()))
+                    .doOnNext(onSentence)
+                    .buffer(STREAM_SAVE_BATCH_SIZE)
+                    .doOnNext(batch -> saveSentences(studyContentId, batch))
+                    .count()
+                    .block();
+            if (saved == null || saved == 0) {
+                throw new RuntimeException("학습 내용 생성에 실패했습니다. 다시 시도해주세요.");
+            }
+
+            transactionTemplate.executeWithoutResult(status -> userToStudyContentJpaRepository
+                    .findById(studyContentId).ifPresent(UserToStudyContent::completeGenerating));
+            return studyContentId;
+        } catch (RuntimeException e) {
+            transactionTemplate.executeWithoutResult(status -> {
+                sentenceJpaRepository.deleteAll(sentenceJpaRepository.findByStudyContentId(studyContentId));
+                userToStudyContentJpaRepository.deleteById(studyContentId);
+            });
+            throw e;
+        }
+    }
+
+    /**
+     * 생성 중 서버가 중단되어 남은 생성 중 학습 내용과 일부만 저장된 문장을 지웁니다. 생성 권한(lease)을 가진 요청만 호출하므로 다른
+     * 서버가 생성 중인 학습 내용을 지우지 않습니다.
+     */
+    private void discardUnfinishedContents(StudyContentKey key) {
+        transactionTemplate.executeWithoutResult(status -> {
+            for (UserToStudyContent unfinished : userToStudyContentJpaRepository.findGeneratingContents(
+                    key.subject(), key.studyLevel(), key.nativeLanguage(), key.koreanLevel())) {
+                sentenceJpaRepository.deleteAll(sentenceJpaRepository.findByStudyContentId(unfinished.getId()));
+                userToStudyContentJpaRepository.delete(unfinished);
+            }
+        });
+    }
+
+    private Flux<AIStudySentence> streamSentences(StudyContentKey key, String subTheme, String format) {
+        Map<String, Object> params = setPromptingParams(key, subTheme);
+        params.put("format", format);
+        return Flux.defer(() -> {
+            JsonArrayElementSplitter splitter = new JsonArrayElementSplitter();
+            return aiBulkhead.stream(AiProvider.OPENAI_CHAT,
+                            () -> ChatClient.create(chatModel).prompt()
+                                    .user(u -> u.text(
+                                            promptMessage.subjectStudyContentsCreatingPrompt + "{format}"
+                                    ).params(params))
+                                    .stream()
+                                    .content())
+                    .concatMapIterable(splitter::feed)
+                    .handle((json, sink) -> {
+                        try {
+                            sink.next(objectMapper.readValue(json, AIStudySentence.class));
+                        } catch (JsonProcessingException e) {
+                            log.warn("학습 문장 파싱 실패, 건너뜁니다 - {}", json);
+                        }
+                    });
+        });
     }
 
-    private static Map<String, Object> setPromptingParamsWithUserInfoAndSubjectAndLevel(
-            SubjectStudyContenstRequestDto req, User user) {
+    private void saveSentences(UUID studyContentId, List<AIStudySentence> sentences) {
+        transactionTemplate.executeWithoutResult(status -> {
+            UserToStudyContent content = userToStudyContentJpaRepository.getReferenceById(studyContentId);
+            sentenceJpaRepository.saveAll(sentences.stream()
+                    .map(sentence -> Sentence.create(sentence.sentence(), sentence.meaning(), sentence.newWordCount(),
+                            content))
+                    .toList());
+            eventPublisher.publishEvent(new StudySentencesSavedEvent(sentences.stream()
+                    .map(AIStudySentence::sentence)
+                    .toList()));
+        });
+    }
+
+    private static <T> T join(CompletableFuture<T> call) {
+        try {
+            return call.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw new RuntimeException("학습 내용 생성에 실패했습니다. 다시 시도해주세요.", e.getCause());
+        }
+    }
+
+    private Map<String, Object> setPromptingParams(StudyContentKey key, String subTheme) {
         Map<String, Object> params = new HashMap<>();
-        params.put("subject", req.subject());
-        params.put("level", req.studyLevel());
-        params.put("age", user.getAge());
-        params.put("nativeLanguage", user.getNativeLanguage());
-        params.put("koreanLevel", user.getKoreanLevel());
+        params.put("subject", key.subject());
+        params.put("subTheme", subTheme);
+        params.put("sentenceCount", promptMessage.subjectStudySentencesPerSubTheme);
+        params.put("level", key.studyLevel());
+        params.put("nativeLanguage", key.nativeLanguage());
+        params.put("koreanLevel", key.koreanLevel());
         return params;
     }
 
-    private SubjectStudySentence toSubjectStudySentence(Sentence sentence) {
+    private SubjectStudySentence toSubjectStudySentence(Sentence sentence, boolean isDone) {
         return new SubjectStudySentence(
                 sentence.getId(),
                 sentence.getSentence(),
                 sentence.getMeaning(),
-                sentence.isDone()
+                isDone
         );
     }
 
+    @Transactional(readOnly = true)
     public CompletionRateResponse getMyCompletionRate(String userEmail, StudyLevel studyLevel) {
+        User user = userRepository.findByEmail(userEmail).orElseThrow(
+                () -> new IllegalArgumentException("사용자를 찾을 수 없습니다: " + userEmail)
+        );
 
-        // 1. 모든 주제(Enum)를 가져와 리스트로 만듭니다.
-        // Subject.values()를 사용하면 Enum에 새로운 주제가 추가되더라도 코드를 수정할 필요가 없습니다.
-        List<Subject> allSubjects = Arrays.asList(Subject.values());
-
-        // 2. 사용자가 학습 중인 모든 StudyContent를 한 번에 조회합니다.
-        List<UserToStudyContent> myStudyContents = userToStudyContentJpaRepository.findByUserEmailAndStudyLevel(
-                userEmail, studyLevel);
-
-        // 3. 모든 주제를 순회하며 완료율을 계산합니다.
-        List<SubjectCompletionRateDto> completionRateDtoList = allSubjects.stream()
-                .map(subject -> {
-                    // 해당 주제에 대한 모든 문장을 조회합니다.
-                    List<Sentence> sentences = sentenceJpaRepository.findBySubjectAndStudyLevel(subject, studyLevel);
-
-                    // 사용자가 해당 주제를 학습했는지 확인
-                    boolean userHasStudiedSubject = myStudyContents.stream()
-                            .anyMatch(content -> content.getSubject().equals(subject));
-
-                    long completedCount = 0;
-                    if (userHasStudiedSubject) {
-                        // 학습한 주제일 경우에만 완료된 문장 수를 카운트합니다.
-                        completedCount = sentences.stream()
-                                .filter(Sentence::isDone)
-                                .count();
-                    }
-
-                    double rate = (sentences.size() > 0) ? (double) completedCount / sentences.size() * 100 : 0;
+        // 1. 주제별 학습 진도를 기본 키로 한 번에 조회합니다.
+        Map<Subject, StudyProgress> progress = studyProgressCounter.getProgress(user.getId(), studyLevel);
 
-                    return new SubjectCompletionRateDto(subject, rate);
-                })
+        // 2. 모든 주제(Enum)를 순회하며 완료율을 계산합니다. 학습 내용을 연 적 없는 주제는 0%입니다.
+        // Subject.values()를 사용하면 Enum에 새로운 주제가 추가되더라도 코드를 수정할 필요가 없습니다.
+        List<SubjectCompletionRateDto> completionRateDtoList = Arrays.stream(Subject.values())
+                .map(subject -> new SubjectCompletionRateDto(subject,
+                        progress.containsKey(subject) ? progress.get(subject).getCompletionRate() : 0))
                 .collect(Collectors.toList());
 
         return new CompletionRateResponse(completionRateDtoList);
@@ -1,5 +1,19 @@
 package com.halfmoon.halfmoon.study.application;
 
+import com.halfmoon.halfmoon.global.executor.AiBulkhead;
+import com.halfmoon.halfmoon.global.executor.AiProvider;
+import com.halfmoon.halfmoon.study.domain.Sentence;
+import com.halfmoon.halfmoon.study.dto.resp.TtsCacheStatsResponse;
+import com.halfmoon.halfmoon.study.infra.SentenceJpaRepository;
+import com.halfmoon.halfmoon.study.infra.TtsAudioCache;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
 import lombok.RequiredArgsConstructor;
 import org.springframework.ai.openai.OpenAiAudioSpeechModel;
 import org.springframework.ai.openai.OpenAiAudioSpeechOptions;
@@ -7,28 +21,188 @@ import org.springframework.ai.openai.api.OpenAiAudioApi;
 import org.springframework.ai.openai.api.OpenAiAudioApi.SpeechRequest.Voice;
 import org.springframework.ai.openai.audio.speech.SpeechPrompt;
 import org.springframework.ai.openai.audio.speech.SpeechResponse;
-import org.springframework.ai.openai.metadata.audio.OpenAiAudioSpeechResponseMetadata;
+import org.springframework.core.io.ByteArrayResource;
+import org.springframework.core.io.FileSystemResource;
+import org.springframework.core.io.Resource;
 import org.springframework.stereotype.Service;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
 
 @Service
 @RequiredArgsConstructor
 public class TTSService {
 
+    private static final String MODEL = "tts-1";
+    private static final Voice VOICE = Voice.ALLOY;
+    private static final OpenAiAudioApi.SpeechRequest.AudioResponseFormat FORMAT =
+            OpenAiAudioApi.SpeechRequest.AudioResponseFormat.MP3;
+    private static final float SPEED = 1.0f;
+
     private final OpenAiAudioSpeechModel openAiAudioSpeechModel;
+    private final AiBulkhead aiBulkhead;
+    private final TtsAudioCache ttsAudioCache;
+    private final SentenceJpaRepository sentenceJpaRepository;
+    private final TtsSegmentProperties segmentProperties;
+
+    // 캐시에 없는 같은 문장을 동시에 요청하면 한 번만 변환
+    private final Map<String, CompletableFuture<byte[]>> inFlight = new ConcurrentHashMap<>();
+
+    public CompletableFuture<byte[]> convertTextToSpeechAsync(String text) {
+        String key = cacheKey(text);
+        Optional<byte[]> cached = ttsAudioCache.get(key);
+        if (cached.isPresent()) {
+            return CompletableFuture.completedFuture(cached.get());
+        }
+        return synthesizeOnce(key, text);
+    }
+
+    /**
+     * 음성을 변환해 캐시에 넣고 캐시 키를 반환합니다. 음성은 {@link #getCachedAudio(String)}로 조회합니다.
+     */
+    public CompletableFuture<String> prepareAudio(String text) {
+        String key = cacheKey(text);
+        if (ttsAudioCache.findFile(key).isPresent()) {
+            return CompletableFuture.completedFuture(key);
+        }
+        return synthesizeOnce(key, text).thenApply(audio -> key);
+    }
+
+    /**
+     * {@link #prepareAudio(String)}가 반환한 키로 캐시된 음성 파일을 찾습니다.
+     */
+    public Resource getCachedAudio(String key) {
+        return ttsAudioCache.getFile(key)
+                .map(FileSystemResource::new)
+                .orElseThrow(() -> new IllegalArgumentException("해당 음성을 찾을 수 없습니다: " + key));
+    }
 
+    /**
+     * 음성을 응답 본문으로 그대로 흘려보낼 수 있는 형태로 반환합니다. 캐시된 음성은 디스크 파일을 그대로 사용합니다.
+     */
+    public CompletableFuture<Resource> getAudio(String text) {
+        String key = cacheKey(text);
+        Optional<Path> cached = ttsAudioCache.getFile(key);
+        if (cached.isPresent()) {
+            return CompletableFuture.completedFuture(new FileSystemResource(cached.get()));
+        }
+        return synthesizeOnce(key, text).thenApply(audio -> ttsAudioCache.findFile(key)
+                .<Resource>map(FileSystemResource::new)
+                .orElseGet(() -> new ByteArrayResource(audio))); // 캐시를 끈 경우
+    }
+
+    /**
+     * 학습 문장의 음성을 반환합니다. 문장이 저장될 때 {@link SentenceAudioPreSynthesizer}가 미리 변환해 두므로 보통 캐시에서 읽습니다.
+     */
+    public CompletableFuture<Resource> getSentenceAudio(UUID sentenceId) {
+        Sentence sentence = sentenceJpaRepository.findById(sentenceId).orElseThrow(
+                () -> new IllegalArgumentException("해당 문장을 찾을 수 없습니다: " + sentenceId)
+        );
+        return getAudio(sentence.getSentence());
+    }
+
+    /**
+     * 캐시에 없는 음성만 변환해 캐시에 넣고, 캐시에서 제거되지 않도록 고정합니다. 학습 문장 음성에 사용합니다.
+     */
+    public CompletableFuture<Void> synthesizeAndPin(String text) {
+        String key = cacheKey(text);
+        if (ttsAudioCache.pin(key)) {
+            return CompletableFuture.completedFuture(null);
+        }
+        return synthesizeOnce(key, text).thenAccept(audio -> ttsAudioCache.pin(key));
+    }
 
     public byte[] convertTextToSpeech(String text) {
+        String key = cacheKey(text);
+        return ttsAudioCache.get(key).orElseGet(() -> join(synthesizeOnce(key, text)));
+    }
+
+    /**
+     * 문장별 음성을 순서대로 내보냅니다. 앞 문장의 음성이 준비되는 대로 바로 내보내고, 뒤 문장은 최대 max-parallel 개까지 미리
+     * 변환합니다. 이어 붙이면 하나의 MP3가 되도록 태그와 VBR 헤더를 뗀 오디오 프레임만 내보냅니다.
+     */
+    public Flux<byte[]> streamSpeech(String text) {
+        return synthesizeSegments(segmentsOf(text)).map(Mp3Frames::audioFrames);
+    }
+
+    public TtsCacheStatsResponse getCacheStats() {
+        return ttsAudioCache.getStats();
+    }
+
+    /**
+     * 같은 음성을 기다리는 요청끼리 결과를 공유하므로, 한 요청이 취소해도 다른 요청에 영향이 없도록 복사본을 반환합니다.
+     */
+    private CompletableFuture<byte[]> synthesizeOnce(String key, String text) {
+        CompletableFuture<byte[]> result = new CompletableFuture<>();
+        CompletableFuture<byte[]> existing = inFlight.putIfAbsent(key, result);
+        if (existing != null) {
+            return existing.copy();
+        }
+        synthesizeAndCache(key, text)
+                .whenComplete((audio, e) -> {
+                    inFlight.remove(key, result);
+                    if (e != null) {
+                        result.completeExceptionally(e);
+                    } else {
+                        result.complete(audio);
+                    }
+                });
+        return result.copy();
+    }
+
+    /**
+     * 여러 문장으로 된 텍스트는 문장별로 나눠 동시에 변환한 뒤 이어 붙입니다. 문장별 음성도 캐시되므로 다른 텍스트에 같은 문장이 나오면
+     * 다시 변환하지 않습니다.
+     */
+    private CompletableFuture<byte[]> synthesizeAndCache(String key, String text) {
+        List<String> segments = segmentsOf(text);
+        CompletableFuture<byte[]> synthesized = segments.size() == 1
+                ? aiBulkhead.submit(AiProvider.OPENAI_AUDIO, () -> synthesize(text))
+                : synthesizeSegments(segments).collectList().map(Mp3Frames::concat).toFuture();
+        return synthesized.thenApply(audio -> {
+            ttsAudioCache.put(key, audio);
+            return audio;
+        });
+    }
+
+    private Flux<byte[]> synthesizeSegments(List<String> segments) {
+        return Flux.fromIterable(segments)
+                .flatMapSequential(segment -> Mono.fromFuture(() -> convertTextToSpeechAsync(segment)),
+                        segmentProperties.getMaxParallel());
+    }
+
+    private List<String> segmentsOf(String text) {
+        if (!segmentProperties.isEnabled()) {
+            return List.of(text);
+        }
+        List<String> segments = SentenceSplitter.split(text);
+        return segments.size() <= 1 ? List.of(text) : segments;
+    }
+
+    private byte[] synthesize(String text) {
         OpenAiAudioSpeechOptions speechOptions = OpenAiAudioSpeechOptions.builder()
-                .model("tts-1")
-                .voice(Voice.ALLOY)
-                .responseFormat(OpenAiAudioApi.SpeechRequest.AudioResponseFormat.MP3)
-                .speed(1.0f)
+                .model(MODEL)
+                .voice(VOICE)
+                .responseFormat(FORMAT)
+                .speed(SPEED)
                 .build();
 
         SpeechPrompt speechPrompt = new SpeechPrompt(text, speechOptions);
         SpeechResponse response = openAiAudioSpeechModel.call(speechPrompt);
-
-        OpenAiAudioSpeechResponseMetadata metadata = response.getMetadata();
         return response.getResult().getOutput();
     }
+
+    private static <T> T join(CompletableFuture<T> future) {
+        try {
+            return future.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw e;
+        }
+    }
+
+    private static String cacheKey(String text) {
+        return TtsAudioCache.key(text, MODEL, VOICE.name(), SPEED, FORMAT.name());
+    }
 }
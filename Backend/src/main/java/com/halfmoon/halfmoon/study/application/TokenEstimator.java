@@ -0,0 +1,43 @@
+package com.halfmoon.halfmoon.study.application;
+
+import java.util.List;
+import lombok.AccessLevel;
+import lombok.NoArgsConstructor;
+import org.springframework.ai.chat.messages.Message;
+
+/**
+ * 메시지의 토큰 수를 추정합니다.
+ * <p>
+ * 토크나이저 없이 한글 음절은 1토큰, 그 외 문자는 4자당 1토큰, 메시지마다 역할 구분 등에 4토큰을 더해 계산합니다. 컨텍스트 요약 시점을 정하는 용도이며
+ * 실제 사용량은 모델 응답의 usage 값을 사용합니다.
+ */
+@NoArgsConstructor(access = AccessLevel.PRIVATE)
+public class TokenEstimator {
+
+    private static final int MESSAGE_OVERHEAD_TOKENS = 4;
+
+    public static long estimate(List<Message> messages) {
+        long tokens = 0L;
+        for (Message message : messages) {
+            tokens += MESSAGE_OVERHEAD_TOKENS + estimate(message.getText());
+        }
+        return tokens;
+    }
+
+    public static long estimate(String text) {
+        if (text == null || text.isEmpty()) {
+            return 0L;
+        }
+        long hangul = 0L;
+        long others = 0L;
+        for (int i = 0; i < text.length(); i++) {
+            char c = text.charAt(i);
+            if (c >= '가' && c <= '힣') {
+                hangul++;
+            } else {
+                others++;
+            }
+        }
+        return hangul + (others + 3) / 4;
+    }
+}
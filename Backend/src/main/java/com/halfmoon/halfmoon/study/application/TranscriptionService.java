@@ -1,36 +1,159 @@
 package com.halfmoon.halfmoon.study.application;
 
+import com.halfmoon.halfmoon.global.executor.AiBulkhead;
+import com.halfmoon.halfmoon.global.executor.AiProvider;
+import com.halfmoon.halfmoon.global.http.ExternHttpSender;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.net.URI;
+import java.net.http.HttpRequest;
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.CompletionException;
 import lombok.RequiredArgsConstructor;
-import org.springframework.ai.audio.transcription.AudioTranscriptionPrompt;
-import org.springframework.ai.audio.transcription.AudioTranscriptionResponse;
-import org.springframework.ai.openai.OpenAiAudioTranscriptionModel;
-import org.springframework.ai.openai.OpenAiAudioTranscriptionOptions;
-import org.springframework.ai.openai.api.OpenAiAudioApi.TranscriptResponseFormat;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.core.io.ByteArrayResource;
 import org.springframework.core.io.Resource;
 import org.springframework.stereotype.Service;
 
+/**
+ * OpenAI 음성 인식 API로 음성을 텍스트로 변환합니다.
+ * <p>
+ * 음성 파일을 메모리에 다시 올리지 않도록 multipart 요청 본문에 파일 내용을 그대로 흘려보냅니다. 업로드된 음성은 디스크에 있는 파일을 읽어 바로
+ * 전송하므로, 음성 길이와 상관없이 버퍼 하나만큼의 메모리만 사용합니다.
+ * <p>
+ * 요청은 {@link ExternHttpSender}로 보내므로 응답이 없는 서버를 request-timeout 이상 기다리지 않고, 429/5xx 응답은 다시 시도합니다.
+ */
 @Service
 @RequiredArgsConstructor
 public class TranscriptionService {
 
-    private final OpenAiAudioTranscriptionModel openAiAudioTranscriptionModel;
+    private static final String TRANSCRIPTION_PATH = "/v1/audio/transcriptions";
+    private static final Map<String, String> FORM_FIELDS = Map.of(
+            "response_format", "text",
+            "temperature", "0",
+            "language", "ko" // 한국어 설정
+    );
+    private static final int HEADER_BYTES = 12;
+
+    @Value("${spring.ai.openai.audio.transcription.api-key:${spring.ai.openai.api-key}}")
+    private String openAiApiKey;
+    @Value("${spring.ai.openai.audio.transcription.base-url:${spring.ai.openai.base-url:https://api.openai.com}}")
+    private String openAiBaseUrl; // 부하 테스트 시 스텁 서버 주소
+    @Value("${spring.ai.openai.audio.transcription.options.model:whisper-1}")
+    private String model;
+
+    private final AiBulkhead aiBulkhead;
+    private final AudioPreprocessor audioPreprocessor;
+    private final ExternHttpSender externHttpSender;
 
     public String convertAudioToText(byte[] audioData) {
-        Resource audioResource = new ByteArrayResource(audioData);
+        return convertAudioToText(new ByteArrayResource(audioData));
+    }
 
-        // 2. 음성 인식 옵션 설정
-        OpenAiAudioTranscriptionOptions transcriptionOptions = OpenAiAudioTranscriptionOptions.builder()
-                .responseFormat(TranscriptResponseFormat.TEXT)
-                .temperature(0f)
-                .language("ko") // 한국어 설정
+    /**
+     * 앞뒤 무음을 잘라내고 다운샘플링한 음성을 전송합니다. 말소리가 없는 음성은 AI를 호출하지 않고 거절합니다.
+     *
+     * @param audio 음성 파일. 전처리와 전송에 여러 번 읽습니다.
+     */
+    public String convertAudioToText(Resource audio) {
+        try (PreparedAudio prepared = audioPreprocessor.prepare(audio, null)) {
+            return aiBulkhead.call(AiProvider.OPENAI_AUDIO, () -> transcribe(prepared.resource()));
+        }
+    }
+
+    private String transcribe(Resource audio) throws IOException {
+        String boundary = UUID.randomUUID().toString();
+        byte[] head = formHead(boundary, fileNameOf(audio));
+        byte[] tail = ("\r\n--" + boundary + "--\r\n").getBytes(StandardCharsets.UTF_8);
+
+        // 길이를 아는 본문을 이어 붙이므로 Content-Length를 보내고, 재시도하면 파일을 처음부터 다시 읽음
+        HttpRequest.BodyPublisher body = HttpRequest.BodyPublishers.concat(
+                HttpRequest.BodyPublishers.ofByteArray(head),
+                HttpRequest.BodyPublishers.fromPublisher(HttpRequest.BodyPublishers.ofInputStream(() -> {
+                    try {
+                        return audio.getInputStream();
+                    } catch (IOException e) {
+                        throw new UncheckedIOException(e);
+                    }
+                }), audio.contentLength()),
+                HttpRequest.BodyPublishers.ofByteArray(tail));
+        HttpRequest request = externHttpSender.newRequest(URI.create(openAiBaseUrl + TRANSCRIPTION_PATH))
+                .header("Authorization", "Bearer " + openAiApiKey)
+                .header("Content-Type", "multipart/form-data; boundary=" + boundary)
+                .POST(body)
                 .build();
 
-        AudioTranscriptionPrompt transcriptionPrompt = new AudioTranscriptionPrompt(audioResource,
-                transcriptionOptions);
+        try {
+            return externHttpSender.send("음성 인식", request).join().body().strip();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw e;
+        }
+    }
+
+    private byte[] formHead(String boundary, String fileName) {
+        ByteArrayOutputStream head = new ByteArrayOutputStream();
+        appendField(head, boundary, "model", model);
+        FORM_FIELDS.forEach((name, value) -> appendField(head, boundary, name, value));
+        head.writeBytes(("--" + boundary + "\r\n"
+                + "Content-Disposition: form-data; name=\"file\"; filename=\"" + fileName + "\"\r\n"
+                + "Content-Type: application/octet-stream\r\n\r\n").getBytes(StandardCharsets.UTF_8));
+        return head.toByteArray();
+    }
+
+    private static void appendField(ByteArrayOutputStream head, String boundary, String name, String value) {
+        head.writeBytes(("--" + boundary + "\r\n"
+                + "Content-Disposition: form-data; name=\"" + name + "\"\r\n\r\n"
+                + value + "\r\n").getBytes(StandardCharsets.UTF_8));
+    }
 
-        AudioTranscriptionResponse response = openAiAudioTranscriptionModel.call(transcriptionPrompt);
+    /**
+     * OpenAI는 파일 이름의 확장자로 음성 형식을 판단합니다. 브라우저 MediaRecorder가 보내는 "blob" 처럼 확장자가 없는 경우가 있어 파일
+     * 앞부분으로 형식을 확인합니다.
+     */
+    private static String fileNameOf(Resource audio) throws IOException {
+        byte[] header;
+        try (InputStream is = audio.getInputStream()) {
+            header = is.readNBytes(HEADER_BYTES);
+        }
+        return "audio." + extensionOf(header);
+    }
+
+    private static String extensionOf(byte[] header) {
+        if (startsWith(header, 0, "RIFF") && startsWith(header, 8, "WAVE")) {
+            return "wav";
+        }
+        if (startsWith(header, 0, "OggS")) {
+            return "ogg";
+        }
+        if (startsWith(header, 0, "fLaC")) {
+            return "flac";
+        }
+        if (startsWith(header, 4, "ftyp")) {
+            return "m4a";
+        }
+        if (startsWith(header, 0, "ID3")
+                || header.length >= 2 && (header[0] & 0xFF) == 0xFF && (header[1] & 0xE0) == 0xE0) {
+            return "mp3";
+        }
+        return "webm"; // EBML(1A 45 DF A3) - 브라우저 녹음 기본 형식
+    }
 
-        return response.getResult().getOutput();
+    private static boolean startsWith(byte[] data, int offset, String prefix) {
+        if (offset + prefix.length() > data.length) {
+            return false;
+        }
+        for (int i = 0; i < prefix.length(); i++) {
+            if (data[offset + i] != prefix.charAt(i)) {
+                return false;
+            }
+        }
+        return true;
     }
-}
\ No newline at end of file
+}
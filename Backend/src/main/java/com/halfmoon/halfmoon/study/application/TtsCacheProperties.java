@@ -0,0 +1,74 @@
+package com.halfmoon.halfmoon.study.application;
+
+import java.time.Duration;
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+@Getter
+@Setter
+@Component
+@ConfigurationProperties(prefix = "tts.cache")
+public class TtsCacheProperties {
+
+    /**
+     * 변환한 음성을 캐시하여 같은 문장은 다시 변환하지 않을지 여부
+     */
+    private boolean enabled = true;
+
+    /**
+     * 음성 파일을 저장할 디렉토리
+     */
+    private String directory = "data/tts-cache";
+
+    /**
+     * 메모리에 보관할 음성의 전체 크기 상한 (바이트)
+     */
+    private long maxMemoryBytes = 32L * 1024 * 1024;
+
+    /**
+     * 디스크에 보관할 음성의 전체 크기 상한 (바이트)
+     */
+    private long maxDiskBytes = 1024L * 1024 * 1024;
+
+    /**
+     * 학습 문장 음성 미리 변환 설정
+     */
+    private PreSynthesis preSynthesis = new PreSynthesis();
+
+    @Getter
+    @Setter
+    public static class PreSynthesis {
+
+        /**
+         * 학습 문장이 저장되면 음성을 미리 변환해 캐시에 넣을지 여부
+         */
+        private boolean enabled = true;
+
+        /**
+         * 한 번에 꺼내서 변환할 문장 수
+         */
+        private int batchSize = 20;
+
+        /**
+         * 동시에 보내는 변환 요청 수 (사용자 요청이 쓸 자리를 남겨두기 위함)
+         */
+        private int concurrency = 4;
+
+        /**
+         * 변환을 기다리는 문장 수 상한. 넘치는 문장은 미리 변환하지 않고 처음 재생할 때 변환합니다.
+         */
+        private int maxPending = 10_000;
+
+        /**
+         * 변환에 실패한 문장을 다시 시도하는 최대 횟수 (처음 시도 포함)
+         */
+        private int maxAttempts = 3;
+
+        /**
+         * 첫 재시도까지 기다리는 시간. 재시도마다 두 배로 늘어납니다.
+         */
+        private Duration retryBackoff = Duration.ofSeconds(10);
+    }
+}
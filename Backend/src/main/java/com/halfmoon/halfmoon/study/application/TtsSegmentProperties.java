@@ -0,0 +1,23 @@
+package com.halfmoon.halfmoon.study.application;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+@Getter
+@Setter
+@Component
+@ConfigurationProperties(prefix = "tts.segment")
+public class TtsSegmentProperties {
+
+    /**
+     * 여러 문장으로 된 텍스트를 문장별로 나눠 동시에 변환할지 여부
+     */
+    private boolean enabled = true;
+
+    /**
+     * 한 텍스트에서 동시에 변환하는 최대 문장 수
+     */
+    private int maxParallel = 4;
+}
@@ -0,0 +1,44 @@
+package com.halfmoon.halfmoon.study.domain;
+
+import static jakarta.persistence.FetchType.LAZY;
+import static jakarta.persistence.GenerationType.UUID;
+import static lombok.AccessLevel.PROTECTED;
+
+import com.halfmoon.halfmoon.global.domain.BaseEntity;
+import jakarta.persistence.Entity;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.Id;
+import jakarta.persistence.ManyToOne;
+import jakarta.persistence.Table;
+import jakarta.persistence.UniqueConstraint;
+import java.util.UUID;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+/**
+ * 사용자가 학습 완료한 문장입니다. 학습 내용은 같은 프로필의 사용자끼리 공유하므로 완료 여부는 사용자별로 기록합니다.
+ */
+@Getter
+@Entity
+@Table(uniqueConstraints = {
+        @UniqueConstraint(name = "unique_user_sentence", columnNames = {"user_id", "sentence_id"})
+})
+@NoArgsConstructor(access = PROTECTED)
+public class SentenceCompletion extends BaseEntity {
+
+    @Id
+    @GeneratedValue(strategy = UUID)
+    private UUID id;
+
+    private UUID userId;
+
+    @ManyToOne(fetch = LAZY)
+    private Sentence sentence;
+
+    public static SentenceCompletion of(UUID userId, Sentence sentence) {
+        SentenceCompletion sentenceCompletion = new SentenceCompletion();
+        sentenceCompletion.userId = userId;
+        sentenceCompletion.sentence = sentence;
+        return sentenceCompletion;
+    }
+}
@@ -0,0 +1,80 @@
+package com.halfmoon.halfmoon.study.domain;
+
+import static jakarta.persistence.GenerationType.UUID;
+import static lombok.AccessLevel.PROTECTED;
+
+import com.halfmoon.halfmoon.global.domain.BaseEntity;
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.EnumType;
+import jakarta.persistence.Enumerated;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.Id;
+import jakarta.persistence.Version;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.UUID;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+/**
+ * 학습 내용 생성 선점 기록입니다. generationKey 유니크 제약으로 여러 서버에서도 같은 학습 내용은 한 번만 생성합니다.
+ * <p>
+ * 생성 중인 서버는 leaseExpiresAt을 주기적으로 연장하므로, 서버가 중단되어 연장이 멈추고 leaseExpiresAt이 지나면 다른 요청이 이어받아
+ * 생성합니다.
+ */
+@Getter
+@Entity
+@NoArgsConstructor(access = PROTECTED)
+public class StudyContentGeneration extends BaseEntity {
+
+    @Id
+    @GeneratedValue(strategy = UUID)
+    private UUID id;
+
+    @Column(nullable = false, unique = true)
+    private String generationKey; // StudyContentKey.generationKey()
+
+    @Enumerated(EnumType.STRING)
+    private GenerationStatus status;
+
+    private UUID studyContentId; // 생성 완료된 UserToStudyContent ID
+
+    private LocalDateTime leaseExpiresAt; // 이 시각까지 생성이 끝나지 않으면 다른 요청이 이어받음
+
+    @Version
+    private Long version;
+
+    public static StudyContentGeneration claim(String generationKey, Duration lease) {
+        StudyContentGeneration generation = new StudyContentGeneration();
+        generation.generationKey = generationKey;
+        generation.status = GenerationStatus.GENERATING;
+        generation.leaseExpiresAt = LocalDateTime.now().plus(lease);
+        return generation;
+    }
+
+    public boolean isLeaseExpired() {
+        return status == GenerationStatus.GENERATING && leaseExpiresAt.isBefore(LocalDateTime.now());
+    }
+
+    public void reclaim(Duration lease) {
+        this.status = GenerationStatus.GENERATING;
+        this.leaseExpiresAt = LocalDateTime.now().plus(lease);
+    }
+
+    public void renewLease(Duration lease) {
+        if (status == GenerationStatus.GENERATING) {
+            this.leaseExpiresAt = LocalDateTime.now().plus(lease);
+        }
+    }
+
+    public void complete(UUID studyContentId) {
+        this.status = GenerationStatus.DONE;
+        this.studyContentId = studyContentId;
+    }
+
+    public enum GenerationStatus {
+        GENERATING, // 생성 중
+        DONE        // 생성 완료
+    }
+}
@@ -0,0 +1,99 @@
+package com.halfmoon.halfmoon.study.domain;
+
+import static lombok.AccessLevel.PROTECTED;
+
+import com.halfmoon.halfmoon.global.domain.BaseEntity;
+import com.halfmoon.halfmoon.study.dto.req.StudyLevel;
+import com.halfmoon.halfmoon.study.dto.req.Subject;
+import com.halfmoon.halfmoon.study.dto.req.SubjectStudyContenstRequestDto;
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.EnumType;
+import jakarta.persistence.Enumerated;
+import jakarta.persistence.Id;
+import jakarta.persistence.Version;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+/**
+ * 학습 내용 생성 작업입니다. 작업 상태를 DB에 두므로 작업을 실행하지 않은 서버에서도 조회할 수 있고, 재시작 후에도 남습니다.
+ * <p>
+ * 결과(학습 내용)는 저장하지 않고 조회할 때마다 사용자의 완료 여부를 반영해 다시 만듭니다.
+ */
+@Getter
+@Entity
+@NoArgsConstructor(access = PROTECTED)
+public class StudyContentJob extends BaseEntity {
+
+    private static final int MAX_ERROR_LENGTH = 1000;
+
+    @Id
+    private String id; // SnowflakeIdGenerator 문자열 ID
+
+    @Column(nullable = false, unique = true)
+    private String jobKey; // 사용자 ID:generationKey
+
+    @Column(nullable = false)
+    private String ownerEmail;
+
+    @Enumerated(EnumType.STRING)
+    private Subject subject;
+
+    @Enumerated(EnumType.STRING)
+    private StudyLevel studyLevel;
+
+    @Enumerated(EnumType.STRING)
+    private StudyContentJobStatus status;
+
+    @Column(length = MAX_ERROR_LENGTH)
+    private String error;
+
+    private LocalDateTime finishedAt;
+
+    @Version
+    private Long version;
+
+    public static StudyContentJob queue(String id, String jobKey, String ownerEmail,
+                                        SubjectStudyContenstRequestDto req) {
+        StudyContentJob job = new StudyContentJob();
+        job.id = id;
+        job.jobKey = jobKey;
+        job.ownerEmail = ownerEmail;
+        job.subject = req.subject();
+        job.studyLevel = req.studyLevel();
+        job.status = StudyContentJobStatus.QUEUED;
+        return job;
+    }
+
+    public SubjectStudyContenstRequestDto toRequest() {
+        return new SubjectStudyContenstRequestDto(subject, studyLevel);
+    }
+
+    public void start() {
+        this.status = StudyContentJobStatus.GENERATING;
+    }
+
+    public void complete() {
+        this.status = StudyContentJobStatus.DONE;
+        this.finishedAt = LocalDateTime.now();
+    }
+
+    public void fail(String error) {
+        this.status = StudyContentJobStatus.FAILED;
+        this.error = error == null || error.length() <= MAX_ERROR_LENGTH ? error : error.substring(0, MAX_ERROR_LENGTH);
+        this.finishedAt = LocalDateTime.now();
+    }
+
+    /**
+     * 실행하던 서버가 중단되어 staleAfter 동안 상태가 바뀌지 않은 작업인지 여부
+     */
+    public boolean isAbandoned(Duration staleAfter) {
+        return !status.isFinished() && getUpdatedAt().isBefore(LocalDateTime.now().minus(staleAfter));
+    }
+
+    public boolean isExpired(Duration retention) {
+        return status.isFinished() && finishedAt.isBefore(LocalDateTime.now().minus(retention));
+    }
+}
@@ -0,0 +1,12 @@
+package com.halfmoon.halfmoon.study.domain;
+
+public enum StudyContentJobStatus {
+    QUEUED, // 작업 등록
+    GENERATING, // 학습 내용 조회/생성 중
+    DONE, // 완료 (result 포함)
+    FAILED; // 실패 (error 포함)
+
+    public boolean isFinished() {
+        return this == DONE || this == FAILED;
+    }
+}
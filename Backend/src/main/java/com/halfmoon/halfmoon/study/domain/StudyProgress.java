@@ -0,0 +1,44 @@
+package com.halfmoon.halfmoon.study.domain;
+
+import static lombok.AccessLevel.PROTECTED;
+
+import com.halfmoon.halfmoon.global.domain.BaseEntity;
+import jakarta.persistence.EmbeddedId;
+import jakarta.persistence.Entity;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+/**
+ * 사용자의 (주제, 난이도)별 학습 진도입니다. 완료율 조회가 문장 테이블을 읽지 않도록 문장 수와 완료한 문장 수를 미리 집계해 둡니다.
+ * <p>
+ * 완료 수는 {@link com.halfmoon.halfmoon.study.infra.StudyProgressJpaRepository#addDone}으로 DB에서 바로 증가시키며,
+ * 집계가 어긋나면 {@link SentenceCompletion}과 문장 테이블로 다시 계산합니다.
+ */
+@Getter
+@Entity
+@NoArgsConstructor(access = PROTECTED)
+public class StudyProgress extends BaseEntity {
+
+    @EmbeddedId
+    private StudyProgressId id;
+
+    private long total; // 학습 내용의 문장 수
+    private long done; // 학습 완료한 문장 수
+
+    public static StudyProgress of(StudyProgressId id, long total, long done) {
+        StudyProgress studyProgress = new StudyProgress();
+        studyProgress.id = id;
+        studyProgress.total = total;
+        studyProgress.done = done;
+        return studyProgress;
+    }
+
+    public void rebuild(long total, long done) {
+        this.total = total;
+        this.done = done;
+    }
+
+    public double getCompletionRate() {
+        return total > 0 ? (double) done / total * 100 : 0;
+    }
+}
@@ -0,0 +1,31 @@
+package com.halfmoon.halfmoon.study.domain;
+
+import static lombok.AccessLevel.PROTECTED;
+
+import com.halfmoon.halfmoon.study.dto.req.StudyLevel;
+import com.halfmoon.halfmoon.study.dto.req.Subject;
+import jakarta.persistence.Embeddable;
+import jakarta.persistence.EnumType;
+import jakarta.persistence.Enumerated;
+import java.io.Serializable;
+import java.util.UUID;
+import lombok.AllArgsConstructor;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+@Getter
+@Embeddable
+@EqualsAndHashCode
+@NoArgsConstructor(access = PROTECTED)
+@AllArgsConstructor(staticName = "of")
+public class StudyProgressId implements Serializable {
+
+    private UUID userId;
+
+    @Enumerated(EnumType.STRING)
+    private Subject subject;
+
+    @Enumerated(EnumType.STRING)
+    private StudyLevel studyLevel;
+}
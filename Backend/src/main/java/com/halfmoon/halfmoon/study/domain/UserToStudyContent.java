@@ -4,6 +4,8 @@ import static jakarta.persistence.FetchType.LAZY;
 import static jakarta.persistence.GenerationType.UUID;
 import static lombok.AccessLevel.PROTECTED;
 
+import com.halfmoon.halfmoon.security.domain.KoreanLevel;
+import com.halfmoon.halfmoon.security.domain.NativeLanguage;
 import com.halfmoon.halfmoon.security.domain.User;
 import com.halfmoon.halfmoon.study.dto.req.StudyLevel;
 import com.halfmoon.halfmoon.study.dto.req.Subject;
@@ -32,14 +34,37 @@ public class UserToStudyContent {
     @Enumerated(EnumType.STRING)
     private StudyLevel studyLevel;
 
+    @Enumerated(EnumType.STRING)
+    private NativeLanguage nativeLanguage; // 문장 뜻을 제공하는 언어
+
+    @Enumerated(EnumType.STRING)
+    private KoreanLevel koreanLevel;
+
     @ManyToOne(fetch = LAZY)
-    private User user;
+    private User user; // 생성을 요청한 사용자 (미리 생성한 학습 내용은 null)
+
+    private Boolean generating; // 스트리밍으로 문장을 저장하는 중 (끝나기 전에는 조회하지 않음)
 
-    public static UserToStudyContent of(User user, Subject subject, StudyLevel studyLevel) {
+    public static UserToStudyContent of(User user, Subject subject, StudyLevel studyLevel,
+                                        NativeLanguage nativeLanguage, KoreanLevel koreanLevel) {
         UserToStudyContent userToStudyContent = new UserToStudyContent();
         userToStudyContent.user = user;
         userToStudyContent.subject = subject;
         userToStudyContent.studyLevel = studyLevel;
+        userToStudyContent.nativeLanguage = nativeLanguage;
+        userToStudyContent.koreanLevel = koreanLevel;
+        userToStudyContent.generating = false;
         return userToStudyContent;
     }
+
+    public static UserToStudyContent generating(User user, Subject subject, StudyLevel studyLevel,
+                                                NativeLanguage nativeLanguage, KoreanLevel koreanLevel) {
+        UserToStudyContent userToStudyContent = of(user, subject, studyLevel, nativeLanguage, koreanLevel);
+        userToStudyContent.generating = true;
+        return userToStudyContent;
+    }
+
+    public void completeGenerating() {
+        this.generating = false;
+    }
 }
@@ -0,0 +1,14 @@
+package com.halfmoon.halfmoon.study.dto.req;
+
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+import java.util.List;
+import java.util.UUID;
+
+public record SentenceCompletionRequestDto(
+        @NotEmpty(message = "완료할 문장 ID가 없습니다.")
+        @Size(max = 100, message = "한 번에 완료할 수 있는 문장은 최대 100개입니다.")
+        List<@NotNull(message = "문장 ID는 null일 수 없습니다.") UUID> sentenceIds
+) {
+}
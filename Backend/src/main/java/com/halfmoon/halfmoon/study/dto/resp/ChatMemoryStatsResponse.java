@@ -0,0 +1,11 @@
+package com.halfmoon.halfmoon.study.dto.resp;
+
+public record ChatMemoryStatsResponse(
+        int conversationCount, // 보관 중인 대화 수
+        long estimatedBytes, // 추정 메모리 사용량
+        long hitCount,
+        long missCount,
+        long evictionCount,
+        long restoreCount // 디스크 로그에서 복구한 횟수
+) {
+}
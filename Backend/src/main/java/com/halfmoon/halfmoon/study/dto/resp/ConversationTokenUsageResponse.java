@@ -0,0 +1,13 @@
+package com.halfmoon.halfmoon.study.dto.resp;
+
+public record ConversationTokenUsageResponse(
+        String conversationId,
+        int messageCount, // 현재 컨텍스트의 메시지 수
+        long contextTokens, // 현재 컨텍스트의 추정 토큰 수
+        long lastPromptTokens, // 마지막 턴에 모델이 보고한 프롬프트 토큰 수
+        long totalPromptTokens,
+        long totalCompletionTokens,
+        int compactionCount, // 이전 대화를 요약한 횟수
+        long savedTokens // 요약으로 줄어든 추정 토큰 수 (누적)
+) {
+}
@@ -0,0 +1,11 @@
+package com.halfmoon.halfmoon.study.dto.resp;
+
+import com.halfmoon.halfmoon.study.domain.StudyContentJobStatus;
+
+public record StudyContentJobResponse(
+        String jobId,
+        StudyContentJobStatus status,
+        SubjectStudyContentsResponseDto result, // DONE일 때만 존재
+        String error // FAILED일 때만 존재
+) {
+}
@@ -0,0 +1,22 @@
+package com.halfmoon.halfmoon.study.dto.resp;
+
+import com.halfmoon.halfmoon.study.aiResponse.AIStudySentence;
+
+/**
+ * 학습 내용 스트리밍(SSE) 이벤트입니다.
+ *
+ * @param event sentence(생성된 문장), contents(저장된 전체 학습 내용, 문장 ID 포함)
+ */
+public record StudyContentStreamEvent(
+        String event,
+        Object data
+) {
+
+    public static StudyContentStreamEvent sentence(AIStudySentence sentence) {
+        return new StudyContentStreamEvent("sentence", sentence);
+    }
+
+    public static StudyContentStreamEvent contents(SubjectStudyContentsResponseDto contents) {
+        return new StudyContentStreamEvent("contents", contents);
+    }
+}
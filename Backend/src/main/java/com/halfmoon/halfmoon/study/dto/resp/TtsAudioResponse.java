@@ -0,0 +1,6 @@
+package com.halfmoon.halfmoon.study.dto.resp;
+
+public record TtsAudioResponse(
+        String audioKey // GET /api/tts/audio/{audioKey} 로 음성 조회
+) {
+}
@@ -0,0 +1,17 @@
+package com.halfmoon.halfmoon.study.dto.resp;
+
+public record TtsCacheStatsResponse(
+        long memoryHitCount,
+        long diskHitCount,
+        long missCount,
+        double hitRatio, // (메모리 + 디스크 hit) / 전체 요청
+        long bytesSaved, // 캐시에서 응답하여 다시 받지 않은 음성 크기
+        int memoryEntryCount,
+        long memoryBytes,
+        int diskEntryCount,
+        long diskBytes,
+        int pinnedEntryCount, // 제거 대상에서 제외한 학습 문장 음성 수
+        long pinnedBytes,
+        long evictionCount // 디스크에서 제거한 음성 수
+) {
+}
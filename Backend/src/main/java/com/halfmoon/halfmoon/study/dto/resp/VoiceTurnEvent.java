@@ -0,0 +1,35 @@
+package com.halfmoon.halfmoon.study.dto.resp;
+
+/**
+ * 음성 대화 스트리밍(SSE) 이벤트입니다.
+ *
+ * @param event transcript(사용자 음성 인식 결과), token(AI 응답 토큰), audio(문장별 음성)
+ */
+public record VoiceTurnEvent(
+        String event,
+        Object data
+) {
+
+    public static VoiceTurnEvent transcript(String text) {
+        return new VoiceTurnEvent("transcript", text);
+    }
+
+    public static VoiceTurnEvent token(String token) {
+        return new VoiceTurnEvent("token", token);
+    }
+
+    public static VoiceTurnEvent audio(long index, String sentence, byte[] audio) {
+        return new VoiceTurnEvent("audio", new AudioChunk(index, sentence, audio));
+    }
+
+    /**
+     * @param index 문장 순서 (0부터 시작)
+     * @param audio mp3 (JSON에서는 base64 문자열)
+     */
+    public record AudioChunk(
+            long index,
+            String sentence,
+            byte[] audio
+    ) {
+    }
+}
@@ -0,0 +1,368 @@
+package com.halfmoon.halfmoon.study.infra;
+
+import com.halfmoon.halfmoon.study.application.ChatMemoryProperties;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.zip.CRC32;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.ai.chat.messages.AssistantMessage;
+import org.springframework.ai.chat.messages.Message;
+import org.springframework.ai.chat.messages.MessageType;
+import org.springframework.ai.chat.messages.SystemMessage;
+import org.springframework.ai.chat.messages.UserMessage;
+import org.springframework.stereotype.Component;
+
+/**
+ * 대화 메시지를 로컬 디스크에 순서대로 기록하는 세그먼트 기반 로그입니다.
+ * <p>
+ * 세그먼트 파일은 고정 크기로 미리 할당한 뒤 메모리 매핑(MappedByteBuffer)하여 append 합니다. 힙에는 대화별로 최근 hot-window-size 개 레코드의
+ * 위치(세그먼트 번호, 오프셋)만 유지하므로 대화가 길어져도 대화당 힙 사용량은 일정합니다. 재시작 시 세그먼트를 처음부터 읽어 인덱스를 다시 만듭니다.
+ * 창을 넘으면 {@link com.halfmoon.halfmoon.study.application.PersistentChatMemory}와 같이 SystemMessage(이전 대화 요약)를 제외한
+ * 가장 오래된 레코드부터 버리므로, 복구한 대화에도 요약이 남습니다.
+ * <p>
+ * 레코드 구조 : [length:int][type:byte][messageType:byte][timestamp:long][idLength:short][id][textLength:int][text][crc:int]
+ * (length 가 0 이면 해당 세그먼트의 끝)
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class ConversationSegmentLog {
+
+    private static final String SEGMENT_PREFIX = "segment-";
+    private static final String SEGMENT_SUFFIX = ".log";
+
+    private static final byte RECORD_MESSAGE = 1;
+    private static final byte RECORD_CLEAR = 2;
+
+    private static final byte SYSTEM_CODE = 2; // messageType 중 SystemMessage
+
+    // type + messageType + timestamp + idLength + textLength + crc
+    private static final int RECORD_FIXED_BYTES = 1 + 1 + Long.BYTES + Short.BYTES + Integer.BYTES + Integer.BYTES;
+
+    private final ChatMemoryProperties properties;
+
+    private final TreeMap<Long, Segment> segments = new TreeMap<>();
+    private final Map<String, ConversationIndex> conversations = new HashMap<>();
+    private Segment activeSegment;
+
+    @PostConstruct
+    public synchronized void open() {
+        if (!properties.getPersistence().isEnabled()) {
+            return;
+        }
+        try {
+            Path directory = directory();
+            Files.createDirectories(directory);
+            try (DirectoryStream<Path> files = Files.newDirectoryStream(directory,
+                    SEGMENT_PREFIX + "*" + SEGMENT_SUFFIX)) {
+                for (Path file : files) {
+                    long segmentNo = parseSegmentNo(file);
+                    segments.put(segmentNo, Segment.map(segmentNo, file, segmentSize()));
+                }
+            }
+            for (Segment segment : segments.values()) {
+                replay(segment);
+            }
+            activeSegment = segments.isEmpty() ? createSegment(1L) : segments.lastEntry().getValue();
+            log.info("대화 로그 복구 완료 - 세그먼트 수: {}, 대화 수: {}", segments.size(), conversations.size());
+        } catch (IOException e) {
+            throw new UncheckedIOException("대화 로그를 열 수 없습니다: " + properties.getPersistence().getDirectory(), e);
+        }
+    }
+
+    @PreDestroy
+    public synchronized void close() {
+        for (Segment segment : segments.values()) {
+            segment.close();
+        }
+        segments.clear();
+        conversations.clear();
+    }
+
+    public synchronized void append(String conversationId, Message message) {
+        byte[] id = conversationId.getBytes(StandardCharsets.UTF_8);
+        byte[] text = message.getText() == null ? new byte[0] : message.getText().getBytes(StandardCharsets.UTF_8);
+        long timestamp = System.currentTimeMillis();
+
+        RecordPointer pointer = write(RECORD_MESSAGE, toCode(message.getMessageType()), timestamp, id, text);
+
+        ConversationIndex index = conversations.computeIfAbsent(conversationId, k -> new ConversationIndex());
+        index.lastAppendedAt = timestamp;
+        index.add(pointer, properties.getPersistence().getHotWindowSize());
+    }
+
+    public synchronized void clear(String conversationId) {
+        if (conversations.remove(conversationId) == null) {
+            return;
+        }
+        write(RECORD_CLEAR, (byte) 0, System.currentTimeMillis(), conversationId.getBytes(StandardCharsets.UTF_8),
+                new byte[0]);
+    }
+
+    public synchronized boolean contains(String conversationId) {
+        return conversations.containsKey(conversationId);
+    }
+
+    public synchronized long lastAppendedAt(String conversationId) {
+        ConversationIndex index = conversations.get(conversationId);
+        return index == null ? 0L : index.lastAppendedAt;
+    }
+
+    /**
+     * 대화의 최근 메시지(최대 hot-window-size 개)를 디스크에서 읽어옵니다.
+     */
+    public synchronized List<Message> readRecent(String conversationId) {
+        ConversationIndex index = conversations.get(conversationId);
+        if (index == null) {
+            return List.of();
+        }
+        List<Message> messages = new ArrayList<>(index.recent.size());
+        for (RecordPointer pointer : index.recent) {
+            Segment segment = segments.get(pointer.segmentNo());
+            if (segment != null) {
+                messages.add(readMessage(segment.buffer.duplicate(), pointer.offset()));
+            }
+        }
+        return messages;
+    }
+
+    /**
+     * 마지막 기록 이후 cutoff 보다 오래된 대화를 로그에서 제거하고 제거한 대화 ID를 반환합니다.
+     */
+    public synchronized List<String> clearIdleSince(long cutoff) {
+        List<String> idle = conversations.entrySet().stream()
+                .filter(e -> e.getValue().lastAppendedAt < cutoff)
+                .map(Map.Entry::getKey)
+                .toList();
+        idle.forEach(this::clear);
+        return idle;
+    }
+
+    private RecordPointer write(byte type, byte messageType, long timestamp, byte[] id, byte[] text) {
+        int length = RECORD_FIXED_BYTES + id.length + text.length;
+        if (Integer.BYTES + length + Integer.BYTES > segmentSize()) {
+            throw new IllegalArgumentException("메시지가 너무 커서 대화 로그에 기록할 수 없습니다: " + length + " bytes");
+        }
+        // 다음 레코드의 length(0 = 끝) 자리까지 확보
+        if (activeSegment.buffer.remaining() < Integer.BYTES + length + Integer.BYTES) {
+            roll();
+        }
+
+        MappedByteBuffer buffer = activeSegment.buffer;
+        int offset = buffer.position();
+        buffer.putInt(length);
+        int bodyStart = buffer.position();
+        buffer.put(type);
+        buffer.put(messageType);
+        buffer.putLong(timestamp);
+        buffer.putShort((short) id.length);
+        buffer.put(id);
+        buffer.putInt(text.length);
+        buffer.put(text);
+        buffer.putInt(crcOf(buffer, bodyStart, buffer.position() - bodyStart));
+        return new RecordPointer(activeSegment.segmentNo, offset, messageType == SYSTEM_CODE);
+    }
+
+    private void roll() {
+        activeSegment.buffer.force();
+        activeSegment = createSegment(activeSegment.segmentNo + 1);
+
+        while (segments.size() > properties.getPersistence().getMaxSegments()) {
+            Map.Entry<Long, Segment> eldest = segments.pollFirstEntry();
+            dropSegment(eldest.getValue());
+        }
+    }
+
+    private Segment createSegment(long segmentNo) {
+        Path file = directory().resolve(String.format("%s%012d%s", SEGMENT_PREFIX, segmentNo, SEGMENT_SUFFIX));
+        try {
+            Segment segment = Segment.map(segmentNo, file, segmentSize());
+            segments.put(segmentNo, segment);
+            return segment;
+        } catch (IOException e) {
+            throw new UncheckedIOException("대화 로그 세그먼트를 만들 수 없습니다: " + file, e);
+        }
+    }
+
+    private void dropSegment(Segment segment) {
+        log.info("오래된 대화 로그 세그먼트 삭제: {}", segment.file);
+        Iterator<ConversationIndex> iterator = conversations.values().iterator();
+        while (iterator.hasNext()) {
+            ConversationIndex index = iterator.next();
+            index.recent.removeIf(pointer -> pointer.segmentNo() == segment.segmentNo);
+            if (index.recent.isEmpty()) {
+                iterator.remove();
+            }
+        }
+        segment.close();
+        try {
+            Files.deleteIfExists(segment.file);
+        } catch (IOException e) {
+            log.warn("대화 로그 세그먼트 삭제 실패: {}", segment.file, e);
+        }
+    }
+
+    private void replay(Segment segment) {
+        ByteBuffer buffer = segment.buffer.duplicate();
+        buffer.position(0);
+        int windowSize = properties.getPersistence().getHotWindowSize();
+
+        while (buffer.remaining() >= Integer.BYTES) {
+            int offset = buffer.position();
+            int length = buffer.getInt();
+            if (length <= 0 || length > buffer.remaining()) {
+                buffer.position(offset);
+                break;
+            }
+            int bodyStart = buffer.position();
+            byte type;
+            byte messageType;
+            long timestamp;
+            byte[] id;
+            int expectedCrc;
+            try {
+                type = buffer.get();
+                messageType = buffer.get();
+                timestamp = buffer.getLong();
+                id = new byte[buffer.getShort()];
+                buffer.get(id);
+                int textLength = buffer.getInt();
+                buffer.position(buffer.position() + textLength); // text
+                expectedCrc = buffer.getInt();
+            } catch (RuntimeException e) {
+                log.warn("읽을 수 없는 대화 로그 레코드 발견, 이후 내용을 무시합니다: {} @{}", segment.file, offset);
+                buffer.position(offset);
+                break;
+            }
+            if (crcOf(buffer, bodyStart, length - Integer.BYTES) != expectedCrc) {
+                log.warn("손상된 대화 로그 레코드 발견, 이후 내용을 무시합니다: {} @{}", segment.file, offset);
+                buffer.position(offset);
+                break;
+            }
+
+            String conversationId = new String(id, StandardCharsets.UTF_8);
+            if (type == RECORD_CLEAR) {
+                conversations.remove(conversationId);
+                continue;
+            }
+            ConversationIndex index = conversations.computeIfAbsent(conversationId, k -> new ConversationIndex());
+            index.lastAppendedAt = timestamp;
+            index.add(new RecordPointer(segment.segmentNo, offset, messageType == SYSTEM_CODE), windowSize);
+        }
+        segment.buffer.position(buffer.position());
+    }
+
+    private static Message readMessage(ByteBuffer buffer, int offset) {
+        buffer.position(offset + Integer.BYTES + 1);
+        byte messageType = buffer.get();
+        buffer.getLong(); // timestamp
+        short idLength = buffer.getShort();
+        buffer.position(buffer.position() + idLength);
+        byte[] text = new byte[buffer.getInt()];
+        buffer.get(text);
+        String content = new String(text, StandardCharsets.UTF_8);
+
+        return switch (messageType) {
+            case 1 -> new AssistantMessage(content);
+            case SYSTEM_CODE -> new SystemMessage(content);
+            default -> new UserMessage(content);
+        };
+    }
+
+    private static byte toCode(MessageType messageType) {
+        return switch (messageType) {
+            case ASSISTANT -> (byte) 1;
+            case SYSTEM -> SYSTEM_CODE;
+            default -> (byte) 0;
+        };
+    }
+
+    private static int crcOf(ByteBuffer buffer, int from, int length) {
+        ByteBuffer slice = buffer.duplicate();
+        slice.position(from);
+        slice.limit(from + length);
+        CRC32 crc = new CRC32();
+        crc.update(slice);
+        return (int) crc.getValue();
+    }
+
+    private static long parseSegmentNo(Path file) {
+        String name = file.getFileName().toString();
+        return Long.parseLong(name.substring(SEGMENT_PREFIX.length(), name.length() - SEGMENT_SUFFIX.length()));
+    }
+
+    private Path directory() {
+        return Paths.get(properties.getPersistence().getDirectory());
+    }
+
+    private int segmentSize() {
+        return properties.getPersistence().getSegmentSize();
+    }
+
+    private record RecordPointer(long segmentNo, int offset, boolean system) {
+    }
+
+    private static class ConversationIndex {
+        private final ArrayDeque<RecordPointer> recent = new ArrayDeque<>();
+        private long lastAppendedAt;
+
+        private void add(RecordPointer pointer, int windowSize) {
+            recent.addLast(pointer);
+            Iterator<RecordPointer> iterator = recent.iterator();
+            while (recent.size() > windowSize && iterator.hasNext()) {
+                if (!iterator.next().system()) {
+                    iterator.remove();
+                }
+            }
+        }
+    }
+
+    private static class Segment {
+        private final long segmentNo;
+        private final Path file;
+        private final FileChannel channel;
+        private final MappedByteBuffer buffer;
+
+        private Segment(long segmentNo, Path file, FileChannel channel, MappedByteBuffer buffer) {
+            this.segmentNo = segmentNo;
+            this.file = file;
+            this.channel = channel;
+            this.buffer = buffer;
+        }
+
+        private static Segment map(long segmentNo, Path file, int size) throws IOException {
+            FileChannel channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.READ,
+                    StandardOpenOption.WRITE);
+            MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, size);
+            return new Segment(segmentNo, file, channel, buffer);
+        }
+
+        private void close() {
+            try {
+                buffer.force();
+                channel.close();
+            } catch (IOException e) {
+                log.warn("대화 로그 세그먼트 닫기 실패: {}", file, e);
+            }
+        }
+    }
+}
@@ -0,0 +1,29 @@
+package com.halfmoon.halfmoon.study.infra;
+
+import com.halfmoon.halfmoon.study.domain.Sentence;
+import com.halfmoon.halfmoon.study.domain.SentenceCompletion;
+import java.util.Collection;
+import java.util.List;
+import java.util.UUID;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+public interface SentenceCompletionJpaRepository extends JpaRepository<SentenceCompletion, UUID> {
+
+    @Query("SELECT sc.sentence.id FROM SentenceCompletion sc "
+            + "WHERE sc.userId = :userId AND sc.sentence.id IN :sentenceIds")
+    List<UUID> findCompletedSentenceIds(@Param("userId") UUID userId,
+                                        @Param("sentenceIds") Collection<UUID> sentenceIds);
+
+    /**
+     * 사용자가 학습 내용에서 완료한 문장을 조회합니다.
+     */
+    @Query("SELECT sc.sentence FROM SentenceCompletion sc "
+            + "WHERE sc.userId = :userId AND sc.sentence.studyContent.id = :studyContentId")
+    List<Sentence> findCompletedSentences(@Param("userId") UUID userId, @Param("studyContentId") UUID studyContentId);
+
+    @Query("SELECT COUNT(sc) FROM SentenceCompletion sc "
+            + "WHERE sc.userId = :userId AND sc.sentence.studyContent.id = :studyContentId")
+    long countByUserIdAndStudyContentId(@Param("userId") UUID userId, @Param("studyContentId") UUID studyContentId);
+}
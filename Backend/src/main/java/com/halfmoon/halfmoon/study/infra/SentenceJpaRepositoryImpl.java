@@ -1,15 +1,18 @@
 package com.halfmoon.halfmoon.study.infra;
 
 import static com.halfmoon.halfmoon.study.domain.QSentence.sentence1;
+import static com.halfmoon.halfmoon.study.domain.QSentenceCompletion.sentenceCompletion;
 import static com.halfmoon.halfmoon.study.domain.QUserToStudyContent.userToStudyContent;
 
-import com.halfmoon.halfmoon.security.domain.User;
-import com.halfmoon.halfmoon.study.domain.Sentence;
-import com.halfmoon.halfmoon.study.dto.req.StudyLevel;
-import com.halfmoon.halfmoon.study.dto.req.Subject;
+import com.halfmoon.halfmoon.security.domain.KoreanLevel;
+import com.halfmoon.halfmoon.security.domain.NativeLanguage;
+import com.halfmoon.halfmoon.study.domain.QUserToStudyContent;
+import com.querydsl.jpa.JPAExpressions;
+import com.querydsl.jpa.JPQLQuery;
 import com.querydsl.jpa.impl.JPAQueryFactory;
 import jakarta.persistence.EntityManager;
 import java.util.List;
+import java.util.UUID;
 
 public class SentenceJpaRepositoryImpl implements SentenceQueryDslRepository {
 
@@ -24,25 +27,36 @@ public class SentenceJpaRepositoryImpl implements SentenceQueryDslRepository {
 
 
     @Override
-    public List<Sentence> findBySubjectAndStudyLevel(Subject subject, StudyLevel studyLevel) {
+    public List<StudyProgressCount> countProgress(UUID userId, NativeLanguage nativeLanguage,
+                                                  KoreanLevel koreanLevel) {
+        // 학습 내용을 열 때와 같이 (주제, 난이도)별로 findReadyContents가 고르는 학습 내용 하나만 집계
+        // (생성 중이거나 생성 도중 남겨진 학습 내용, 중복 생성된 학습 내용은 제외)
+        QUserToStudyContent readyContent = new QUserToStudyContent("readyContent");
+        JPQLQuery<UUID> readyContentId = JPAExpressions
+                .select(readyContent.id.min())
+                .from(readyContent)
+                .where(readyContent.subject.eq(userToStudyContent.subject)
+                        .and(readyContent.studyLevel.eq(userToStudyContent.studyLevel))
+                        .and(readyContent.nativeLanguage.eq(nativeLanguage))
+                        .and(readyContent.koreanLevel.eq(koreanLevel))
+                        .and(readyContent.generating.isNull().or(readyContent.generating.isFalse())));
+
+        // 완료 기록은 (사용자, 문장)마다 하나뿐이므로 left join해도 문장 수가 부풀지 않음
         return queryFactory
-                .selectFrom(sentence1)
-                .join(sentence1.studyContent, userToStudyContent).fetchJoin()
-                .where(sentence1.studyContent.subject.eq(subject)
-                        .and(sentence1.studyContent.studyLevel.eq(studyLevel)))
-                .fetch();
-    }
-
-    @Override
-    public List<Sentence> findBySubjectAndStudyLevelAndUser(Subject subject,
-                                                            StudyLevel studyLevel,
-                                                            User user) {
-        return queryFactory
-                .selectFrom(sentence1)
-                .join(sentence1.studyContent, userToStudyContent).fetchJoin()
-                .where(sentence1.studyContent.subject.eq(subject)
-                        .and(sentence1.studyContent.studyLevel.eq(studyLevel))
-                        .and(sentence1.studyContent.user.eq(user)))
-                .fetch();
+                .select(userToStudyContent.subject, userToStudyContent.studyLevel, sentence1.count(),
+                        sentenceCompletion.count())
+                .from(sentence1)
+                .join(sentence1.studyContent, userToStudyContent)
+                .leftJoin(sentenceCompletion).on(sentenceCompletion.sentence.eq(sentence1)
+                        .and(sentenceCompletion.userId.eq(userId)))
+                .where(userToStudyContent.nativeLanguage.eq(nativeLanguage)
+                        .and(userToStudyContent.koreanLevel.eq(koreanLevel))
+                        .and(userToStudyContent.id.eq(readyContentId)))
+                .groupBy(userToStudyContent.subject, userToStudyContent.studyLevel)
+                .fetch().stream()
+                .map(row -> new StudyProgressCount(row.get(userToStudyContent.subject),
+                        row.get(userToStudyContent.studyLevel), row.get(sentence1.count()),
+                        row.get(sentenceCompletion.count())))
+                .toList();
     }
 }
@@ -1,15 +1,16 @@
 package com.halfmoon.halfmoon.study.infra;
 
-import com.halfmoon.halfmoon.security.domain.User;
-import com.halfmoon.halfmoon.study.domain.Sentence;
-import com.halfmoon.halfmoon.study.dto.req.StudyLevel;
-import com.halfmoon.halfmoon.study.dto.req.Subject;
+import com.halfmoon.halfmoon.security.domain.KoreanLevel;
+import com.halfmoon.halfmoon.security.domain.NativeLanguage;
 import java.util.List;
+import java.util.UUID;
 
 public interface SentenceQueryDslRepository {
 
-    List<Sentence> findBySubjectAndStudyLevel(Subject subject, StudyLevel studyLevel);
-
-    List<Sentence> findBySubjectAndStudyLevelAndUser(
-            Subject subject, StudyLevel studyLevel, User user);
+    /**
+     * 프로필(모국어, 한국어 수준)에 맞는 학습 내용의 문장 수와 그중 사용자가 완료한 문장 수를 (주제, 난이도)별로 한 번에 조회합니다.
+     * 사용자가 보는 학습 내용과 같도록 (주제, 난이도)마다 {@link UserToStudyContentJpaRepository#findReadyContents}가 고르는 학습
+     * 내용만 집계합니다.
+     */
+    List<StudyProgressCount> countProgress(UUID userId, NativeLanguage nativeLanguage, KoreanLevel koreanLevel);
 }
@@ -0,0 +1,10 @@
+package com.halfmoon.halfmoon.study.infra;
+
+import com.halfmoon.halfmoon.study.domain.StudyContentGeneration;
+import java.util.Optional;
+import java.util.UUID;
+import org.springframework.data.jpa.repository.JpaRepository;
+
+public interface StudyContentGenerationJpaRepository extends JpaRepository<StudyContentGeneration, UUID> {
+    Optional<StudyContentGeneration> findByGenerationKey(String generationKey);
+}
@@ -0,0 +1,19 @@
+package com.halfmoon.halfmoon.study.infra;
+
+import com.halfmoon.halfmoon.study.domain.StudyContentJob;
+import java.time.LocalDateTime;
+import java.util.Optional;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+public interface StudyContentJobJpaRepository extends JpaRepository<StudyContentJob, String> {
+    Optional<StudyContentJob> findByJobKey(String jobKey);
+
+    @Modifying
+    @Query("DELETE FROM StudyContentJob j WHERE j.finishedAt < :finishedBefore "
+            + "OR (j.finishedAt IS NULL AND j.updatedAt < :abandonedBefore)")
+    int deleteExpired(@Param("finishedBefore") LocalDateTime finishedBefore,
+                      @Param("abandonedBefore") LocalDateTime abandonedBefore);
+}
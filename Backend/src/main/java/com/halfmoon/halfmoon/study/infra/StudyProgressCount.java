@@ -0,0 +1,15 @@
+package com.halfmoon.halfmoon.study.infra;
+
+import com.halfmoon.halfmoon.study.dto.req.StudyLevel;
+import com.halfmoon.halfmoon.study.dto.req.Subject;
+
+/**
+ * 사용자 한 명의 (주제, 난이도)별 문장 수와 완료한 문장 수 집계
+ */
+public record StudyProgressCount(
+        Subject subject,
+        StudyLevel studyLevel,
+        long total,
+        long done
+) {
+}
@@ -0,0 +1,20 @@
+package com.halfmoon.halfmoon.study.infra;
+
+import com.halfmoon.halfmoon.study.domain.StudyProgress;
+import com.halfmoon.halfmoon.study.domain.StudyProgressId;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+public interface StudyProgressJpaRepository extends JpaRepository<StudyProgress, StudyProgressId> {
+
+    /**
+     * 완료 수를 DB에서 바로 증가시킵니다. (동시에 완료해도 누락되지 않음) 문장 수를 넘지 않습니다.
+     *
+     * @return 변경된 행 수 (진도가 아직 없으면 0)
+     */
+    @Modifying
+    @Query("UPDATE StudyProgress sp SET sp.done = LEAST(sp.done + :count, sp.total) WHERE sp.id = :id")
+    int addDone(@Param("id") StudyProgressId id, @Param("count") long count);
+}
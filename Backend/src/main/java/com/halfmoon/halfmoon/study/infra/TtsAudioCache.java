@@ -0,0 +1,438 @@
+package com.halfmoon.halfmoon.study.infra;
+
+import com.halfmoon.halfmoon.study.application.TtsCacheProperties;
+import com.halfmoon.halfmoon.study.dto.resp.TtsCacheStatsResponse;
+import jakarta.annotation.PostConstruct;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.nio.file.attribute.FileTime;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HexFormat;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Stream;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+/**
+ * 변환한 음성을 내용(텍스트, 모델, 목소리, 속도, 포맷)의 해시로 저장하는 2단계 캐시입니다.
+ * <p>
+ * 모든 음성은 디스크(tts.cache.directory)에 해시 이름의 파일로 저장하고, 최근에 사용한 음성은 max-memory-bytes 까지 메모리에도 보관합니다. 두
+ * 단계 모두 상한을 넘으면 가장 오래 사용하지 않은 음성부터 제거하며, 메모리에 있는 음성은 항상 디스크에도 있습니다.
+ * <p>
+ * 사용 순서는 파일의 수정 시각으로 남겨두므로, 재시작 시 디스크를 훑어 같은 순서로 인덱스를 다시 만들고 최근에 사용한 음성부터 메모리에 다시
+ * 올립니다.
+ * <p>
+ * 학습 문장처럼 계속 다시 재생되는 음성은 {@link #pin(String)}으로 고정하여 디스크 상한과 제거 대상에서 제외합니다. 응답 중인 파일을
+ * 옮기지 않도록 파일은 그대로 두고 pinned 디렉토리에 같은 이름의 빈 표시 파일을 남겨, 재시작 후에도 고정 여부를 복구합니다. 고정한 음성의
+ * 크기는 저장된 학습 문장 수에 비례합니다.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class TtsAudioCache {
+
+    private static final String TEMP_SUFFIX = ".tmp";
+    private static final String PINNED_DIRECTORY = "pinned";
+
+    private final TtsCacheProperties properties;
+
+    // accessOrder = true : 가장 오래 사용하지 않은 음성이 맨 앞에 위치
+    private final LinkedHashMap<String, byte[]> memoryEntries = new LinkedHashMap<>(16, 0.75f, true);
+    private final LinkedHashMap<String, Long> diskEntries = new LinkedHashMap<>(16, 0.75f, true);
+    private final Map<String, Long> pinnedEntries = new HashMap<>();
+    private long memoryBytes = 0L;
+    private long diskBytes = 0L;
+    private long pinnedBytes = 0L;
+
+    private final AtomicLong memoryHitCount = new AtomicLong();
+    private final AtomicLong diskHitCount = new AtomicLong();
+    private final AtomicLong missCount = new AtomicLong();
+    private final AtomicLong bytesSaved = new AtomicLong();
+    private final AtomicLong evictionCount = new AtomicLong();
+
+    /**
+     * 같은 음성을 만드는 요청은 같은 키를 갖습니다.
+     */
+    public static String key(String text, String model, String voice, float speed, String format) {
+        String source = String.join("\n", model, voice, Float.toString(speed), format, text);
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            return HexFormat.of().formatHex(digest.digest(source.getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    @PostConstruct
+    public synchronized void open() {
+        if (!properties.isEnabled()) {
+            return;
+        }
+        try {
+            Files.createDirectories(directory());
+            List<CachedFile> files = scan();
+            for (CachedFile file : files) {
+                diskEntries.put(file.key(), file.size());
+                diskBytes += file.size();
+            }
+            for (String key : scanPinnedKeys()) {
+                Long size = diskEntries.remove(key);
+                if (size == null) {
+                    deleteFile(pinnedPathOf(key)); // 음성이 없는 표시 파일
+                    continue;
+                }
+                diskBytes -= size;
+                pinnedEntries.put(key, size);
+                pinnedBytes += size;
+            }
+            evictDiskIfOverCapacity();
+            warmMemory();
+            log.info("TTS 캐시 복구 완료 - 디스크: {}건 ({} bytes), 고정: {}건 ({} bytes), 메모리: {}건 ({} bytes)",
+                    diskEntries.size(), diskBytes, pinnedEntries.size(), pinnedBytes, memoryEntries.size(),
+                    memoryBytes);
+        } catch (IOException e) {
+            throw new UncheckedIOException("TTS 캐시 디렉토리를 열 수 없습니다: " + properties.getDirectory(), e);
+        }
+    }
+
+    /**
+     * 메모리, 디스크 순으로 음성을 찾습니다. 디스크에서 찾은 음성은 메모리에 올립니다.
+     */
+    public Optional<byte[]> get(String key) {
+        if (!properties.isEnabled()) {
+            return Optional.empty();
+        }
+        byte[] audio;
+        synchronized (this) {
+            audio = memoryEntries.get(key);
+            diskEntries.get(key); // 디스크 사용 순서도 함께 갱신
+        }
+        if (audio != null) {
+            memoryHitCount.incrementAndGet();
+            bytesSaved.addAndGet(audio.length);
+            touch(key);
+            return Optional.of(audio);
+        }
+
+        Optional<Path> file = findFile(key);
+        if (file.isEmpty()) {
+            missCount.incrementAndGet();
+            return Optional.empty();
+        }
+        try {
+            audio = Files.readAllBytes(file.get());
+        } catch (NoSuchFileException e) {
+            // 읽기 직전에 제거된 경우
+            missCount.incrementAndGet();
+            return Optional.empty();
+        } catch (IOException e) {
+            log.warn("TTS 캐시 파일을 읽을 수 없습니다 - key: {}, 사유: {}", key, e.getMessage());
+            remove(key);
+            missCount.incrementAndGet();
+            return Optional.empty();
+        }
+        diskHitCount.incrementAndGet();
+        bytesSaved.addAndGet(audio.length);
+        synchronized (this) {
+            if (diskEntries.containsKey(key) || pinnedEntries.containsKey(key)) {
+                putMemory(key, audio);
+            }
+        }
+        return Optional.of(audio);
+    }
+
+    /**
+     * 디스크에 저장된 음성 파일을 찾습니다. 파일을 그대로 응답에 쓰는 경우에 사용합니다.
+     */
+    public Optional<Path> getFile(String key) {
+        Optional<Path> file = findFile(key);
+        if (file.isEmpty()) {
+            missCount.incrementAndGet();
+            return Optional.empty();
+        }
+        diskHitCount.incrementAndGet();
+        bytesSaved.addAndGet(sizeOf(key));
+        return file;
+    }
+
+    /**
+     * 방금 저장한 음성처럼 hit/miss 집계 없이 디스크 파일을 찾습니다.
+     */
+    public Optional<Path> findFile(String key) {
+        if (!properties.isEnabled()) {
+            return Optional.empty();
+        }
+        synchronized (this) {
+            if (!pinnedEntries.containsKey(key) && diskEntries.get(key) == null) {
+                return Optional.empty();
+            }
+        }
+        touch(key);
+        return Optional.of(pathOf(key));
+    }
+
+    /**
+     * 음성을 디스크에 저장하고 메모리에도 올립니다. 디스크 저장에 실패하면 캐시하지 않습니다.
+     */
+    public void put(String key, byte[] audio) {
+        if (!properties.isEnabled() || audio.length > properties.getMaxDiskBytes()) {
+            return;
+        }
+        Path file = pathOf(key);
+        try {
+            Files.createDirectories(file.getParent());
+            // 다른 요청이 쓰는 중인 파일을 읽지 않도록 임시 파일에 쓴 뒤 이름을 바꿈
+            Path temp = file.resolveSibling(key + "." + UUID.randomUUID() + TEMP_SUFFIX);
+            Files.write(temp, audio);
+            Files.move(temp, file, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+        } catch (IOException e) {
+            log.warn("TTS 캐시 파일을 저장할 수 없습니다 - key: {}, 사유: {}", key, e.getMessage());
+            return;
+        }
+
+        synchronized (this) {
+            if (pinnedEntries.containsKey(key)) {
+                pinnedBytes += audio.length - pinnedEntries.put(key, (long) audio.length);
+                putMemory(key, audio);
+                return;
+            }
+            Long previous = diskEntries.put(key, (long) audio.length);
+            diskBytes += audio.length - (previous == null ? 0L : previous);
+            putMemory(key, audio);
+            evictDiskIfOverCapacity();
+        }
+    }
+
+    /**
+     * 디스크에 저장된 음성을 고정하여 이후 제거되지 않도록 합니다.
+     *
+     * @return 음성이 고정되었는지 여부 (캐시에 없으면 false)
+     */
+    public synchronized boolean pin(String key) {
+        if (!properties.isEnabled()) {
+            return false;
+        }
+        if (pinnedEntries.containsKey(key)) {
+            return true;
+        }
+        Long size = diskEntries.get(key);
+        if (size == null) {
+            return false;
+        }
+        Path marker = pinnedPathOf(key);
+        try {
+            Files.createDirectories(marker.getParent());
+            if (Files.notExists(marker)) {
+                Files.createFile(marker);
+            }
+        } catch (IOException e) {
+            log.warn("TTS 캐시 파일을 고정할 수 없습니다 - key: {}, 사유: {}", key, e.getMessage());
+            return false;
+        }
+        diskEntries.remove(key);
+        diskBytes -= size;
+        pinnedEntries.put(key, size);
+        pinnedBytes += size;
+        return true;
+    }
+
+    public synchronized TtsCacheStatsResponse getStats() {
+        long hits = memoryHitCount.get() + diskHitCount.get();
+        long requests = hits + missCount.get();
+        return new TtsCacheStatsResponse(
+                memoryHitCount.get(),
+                diskHitCount.get(),
+                missCount.get(),
+                requests == 0 ? 0.0 : (double) hits / requests,
+                bytesSaved.get(),
+                memoryEntries.size(),
+                memoryBytes,
+                diskEntries.size(),
+                diskBytes,
+                pinnedEntries.size(),
+                pinnedBytes,
+                evictionCount.get()
+        );
+    }
+
+    private synchronized long sizeOf(String key) {
+        Long size = pinnedEntries.containsKey(key) ? pinnedEntries.get(key) : diskEntries.get(key);
+        return size == null ? 0L : size;
+    }
+
+    private void putMemory(String key, byte[] audio) {
+        if (audio.length > properties.getMaxMemoryBytes()) {
+            return;
+        }
+        byte[] previous = memoryEntries.put(key, audio);
+        memoryBytes += audio.length - (previous == null ? 0L : previous.length);
+
+        Iterator<Map.Entry<String, byte[]>> iterator = memoryEntries.entrySet().iterator();
+        while (iterator.hasNext() && memoryBytes > properties.getMaxMemoryBytes()) {
+            memoryBytes -= iterator.next().getValue().length;
+            iterator.remove();
+        }
+    }
+
+    private void evictDiskIfOverCapacity() {
+        Iterator<Map.Entry<String, Long>> iterator = diskEntries.entrySet().iterator();
+        while (iterator.hasNext() && diskBytes > properties.getMaxDiskBytes()) {
+            Map.Entry<String, Long> eldest = iterator.next();
+            iterator.remove();
+            diskBytes -= eldest.getValue();
+            removeMemory(eldest.getKey());
+            deleteFile(eldest.getKey());
+            evictionCount.incrementAndGet();
+        }
+    }
+
+    private synchronized void remove(String key) {
+        Long removed = diskEntries.remove(key);
+        if (removed != null) {
+            diskBytes -= removed;
+            removeMemory(key);
+            deleteFile(key);
+        }
+        Long unpinned = pinnedEntries.remove(key);
+        if (unpinned != null) {
+            pinnedBytes -= unpinned;
+            removeMemory(key);
+            deleteFile(key);
+            deleteFile(pinnedPathOf(key));
+        }
+    }
+
+    private void removeMemory(String key) {
+        byte[] removed = memoryEntries.remove(key);
+        if (removed != null) {
+            memoryBytes -= removed.length;
+        }
+    }
+
+    /**
+     * 디스크의 음성을 가장 오래 사용하지 않은 순서로 읽습니다. 쓰다 만 임시 파일은 지웁니다.
+     */
+    private List<CachedFile> scan() throws IOException {
+        List<CachedFile> files = new ArrayList<>();
+        Path directory = directory();
+        try (Stream<Path> paths = Files.walk(directory, 2)) {
+            for (Path path : (Iterable<Path>) paths::iterator) {
+                if (directory.relativize(path).getNameCount() != 2) {
+                    continue; // 해시 앞 두 글자 디렉토리 아래의 파일만 사용
+                }
+                String name = path.getFileName().toString();
+                if (name.endsWith(TEMP_SUFFIX)) {
+                    Files.deleteIfExists(path);
+                    continue;
+                }
+                BasicFileAttributes attributes = Files.readAttributes(path, BasicFileAttributes.class);
+                if (attributes.isRegularFile()) {
+                    files.add(new CachedFile(name, attributes.size(), attributes.lastModifiedTime().toMillis()));
+                }
+            }
+        }
+        files.sort(Comparator.comparingLong(CachedFile::lastUsedAt));
+        return files;
+    }
+
+    /**
+     * 고정 표시 파일의 이름(캐시 키)을 읽습니다.
+     */
+    private List<String> scanPinnedKeys() throws IOException {
+        List<String> keys = new ArrayList<>();
+        Path directory = directory().resolve(PINNED_DIRECTORY);
+        if (!Files.isDirectory(directory)) {
+            return keys;
+        }
+        try (Stream<Path> paths = Files.walk(directory, 2)) {
+            for (Path path : (Iterable<Path>) paths::iterator) {
+                if (directory.relativize(path).getNameCount() == 2 && Files.isRegularFile(path)) {
+                    keys.add(path.getFileName().toString());
+                }
+            }
+        }
+        return keys;
+    }
+
+    /**
+     * 최근에 사용한 음성부터 메모리 상한까지 다시 올립니다.
+     */
+    private void warmMemory() {
+        List<String> recentFirst = new ArrayList<>();
+        long bytes = 0L;
+        for (Map.Entry<String, Long> entry : diskEntries.sequencedEntrySet().reversed()) {
+            bytes += entry.getValue();
+            if (bytes > properties.getMaxMemoryBytes()) {
+                break;
+            }
+            recentFirst.add(entry.getKey());
+        }
+        // 가장 최근에 사용한 음성이 맨 뒤에 오도록 오래된 것부터 넣음
+        for (String key : recentFirst.reversed()) {
+            try {
+                putMemory(key, Files.readAllBytes(pathOf(key)));
+            } catch (IOException e) {
+                log.warn("TTS 캐시 파일을 메모리에 올릴 수 없습니다 - key: {}, 사유: {}", key, e.getMessage());
+            }
+        }
+    }
+
+    /**
+     * 재시작 후에도 사용 순서를 알 수 있도록 파일의 수정 시각을 갱신합니다.
+     */
+    private void touch(String key) {
+        try {
+            Files.setLastModifiedTime(pathOf(key), FileTime.fromMillis(System.currentTimeMillis()));
+        } catch (IOException ignored) {
+            // 순서가 조금 어긋나도 캐시 동작에는 문제 없음
+        }
+    }
+
+    private void deleteFile(String key) {
+        deleteFile(pathOf(key));
+    }
+
+    private void deleteFile(Path file) {
+        try {
+            Files.deleteIfExists(file);
+        } catch (IOException e) {
+            log.warn("TTS 캐시 파일을 삭제할 수 없습니다 - 파일: {}, 사유: {}", file, e.getMessage());
+        }
+    }
+
+    /**
+     * 한 디렉토리에 파일이 몰리지 않도록 해시 앞 두 글자로 나눠 저장합니다.
+     */
+    private Path pathOf(String key) {
+        return directory().resolve(key.substring(0, 2)).resolve(key);
+    }
+
+    private Path pinnedPathOf(String key) {
+        return directory().resolve(PINNED_DIRECTORY).resolve(key.substring(0, 2)).resolve(key);
+    }
+
+    private Path directory() {
+        return Paths.get(properties.getDirectory());
+    }
+
+    private record CachedFile(String key, long size, long lastUsedAt) {
+    }
+}
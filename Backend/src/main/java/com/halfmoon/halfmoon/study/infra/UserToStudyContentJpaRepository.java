@@ -1,5 +1,7 @@
 package com.halfmoon.halfmoon.study.infra;
 
+import com.halfmoon.halfmoon.security.domain.KoreanLevel;
+import com.halfmoon.halfmoon.security.domain.NativeLanguage;
 import com.halfmoon.halfmoon.study.domain.UserToStudyContent;
 import com.halfmoon.halfmoon.study.dto.req.StudyLevel;
 import com.halfmoon.halfmoon.study.dto.req.Subject;
@@ -7,10 +9,33 @@ import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
 public interface UserToStudyContentJpaRepository extends JpaRepository<UserToStudyContent, UUID> {
-    Optional<UserToStudyContent> findBySubjectAndStudyLevel(Subject subject, StudyLevel studyLevel);
-
-    List<UserToStudyContent> findByUserEmailAndStudyLevel(String email, StudyLevel studyLevel);
+    /**
+     * 문장 저장이 끝난 학습 내용을 조회합니다. (스트리밍으로 생성 중인 학습 내용은 제외) 같은 조건의 학습 내용이 여럿이면 ID가 가장 작은
+     * 것을 사용하며, 학습 진도 재계산({@link SentenceQueryDslRepository#countProgress})도 같은 기준을 따릅니다.
+     */
+    @Query("SELECT c FROM UserToStudyContent c "
+            + "WHERE c.subject = :subject AND c.studyLevel = :studyLevel "
+            + "AND c.nativeLanguage = :nativeLanguage AND c.koreanLevel = :koreanLevel "
+            + "AND (c.generating IS NULL OR c.generating = false) "
+            + "ORDER BY c.id LIMIT 1")
+    Optional<UserToStudyContent> findReadyContents(@Param("subject") Subject subject,
+                                                   @Param("studyLevel") StudyLevel studyLevel,
+                                                   @Param("nativeLanguage") NativeLanguage nativeLanguage,
+                                                   @Param("koreanLevel") KoreanLevel koreanLevel);
 
+    /**
+     * 스트리밍으로 생성 중인 학습 내용을 조회합니다.
+     */
+    @Query("SELECT c FROM UserToStudyContent c "
+            + "WHERE c.subject = :subject AND c.studyLevel = :studyLevel "
+            + "AND c.nativeLanguage = :nativeLanguage AND c.koreanLevel = :koreanLevel "
+            + "AND c.generating = true")
+    List<UserToStudyContent> findGeneratingContents(@Param("subject") Subject subject,
+                                                    @Param("studyLevel") StudyLevel studyLevel,
+                                                    @Param("nativeLanguage") NativeLanguage nativeLanguage,
+                                                    @Param("koreanLevel") KoreanLevel koreanLevel);
 }
@@ -6,20 +6,31 @@ import com.halfmoon.halfmoon.study.application.ChatService;
 import com.halfmoon.halfmoon.study.dto.req.ConversationContinueRequest;
 import com.halfmoon.halfmoon.study.dto.req.ConversationContinueVoiceRequest;
 import com.halfmoon.halfmoon.study.dto.req.ConversationStartRequest;
+import com.halfmoon.halfmoon.study.dto.resp.ChatMemoryStatsResponse;
 import com.halfmoon.halfmoon.study.dto.resp.ConversationStartResponse;
+import com.halfmoon.halfmoon.study.dto.resp.ConversationTokenUsageResponse;
+import com.halfmoon.halfmoon.study.dto.resp.VoiceTurnEvent;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.media.Content;
 import io.swagger.v3.oas.annotations.media.Schema;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.tags.Tag;
+import java.util.concurrent.CompletableFuture;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.MediaType;
+import org.springframework.http.codec.ServerSentEvent;
 import org.springframework.security.core.annotation.AuthenticationPrincipal;
+import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RequestPart;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.multipart.MultipartFile;
+import reactor.core.publisher.Flux;
 
 @Slf4j
 @Tag(
@@ -45,14 +56,12 @@ public class ChatController {
             }
     )
     @PostMapping("/start")
-    public APIResponse<ConversationStartResponse> startConversation(
+    public CompletableFuture<APIResponse<ConversationStartResponse>> startConversation(
             @AuthenticationPrincipal CustomUserDetails userDetails,
             @RequestBody ConversationStartRequest request) {
 
-        ConversationStartResponse conversationStartResponse = chatService.startConversation(userDetails.getUsername(),
-                request);
-
-        return APIResponse.success(conversationStartResponse);
+        return chatService.startConversation(userDetails.getUsername(), request)
+                .thenApply(APIResponse::success);
     }
 
     @Operation(
@@ -66,12 +75,31 @@ public class ChatController {
             }
     )
     @PostMapping("/continue")
-    public APIResponse<String> continueConversation(
+    public CompletableFuture<APIResponse<String>> continueConversation(
             @RequestBody ConversationContinueRequest req) {
         log.info("Controller talk id: {}", req.talkId());
         log.info("Controller talk userInput: {}", req.userInput());
-        String aiResponse = chatService.continueConversation(req);
-        return APIResponse.success(aiResponse);
+        return chatService.continueConversation(req).thenApply(APIResponse::success);
+    }
+
+    @Operation(
+            summary = "텍스트 대화 이어가기 (스트리밍)",
+            description = "기존 대화에 텍스트 메시지를 추가하고 AI의 응답을 SSE(text/event-stream)로 토큰 단위로 전송합니다. "
+                    + "응답이 끝나면 done 이벤트가 전송됩니다.",
+            responses = {
+                    @ApiResponse(
+                            responseCode = "200",
+                            description = "AI의 응답 토큰을 순서대로 전송합니다."
+                    )
+            }
+    )
+    @PostMapping(value = "/continue/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public Flux<ServerSentEvent<String>> streamConversation(
+            @RequestBody ConversationContinueRequest req) {
+        log.info("Controller stream talk id: {}", req.talkId());
+        return chatService.streamConversation(req)
+                .map(token -> ServerSentEvent.builder(token).event("token").build())
+                .concatWith(Flux.just(ServerSentEvent.builder("").event("done").build()));
     }
 
     @Operation(
@@ -85,10 +113,63 @@ public class ChatController {
             }
     )
     @PostMapping("/continue/voice")
-    public APIResponse<String> continueConversationWithVoice(
+    public CompletableFuture<APIResponse<String>> continueConversationWithVoice(
+            @RequestBody ConversationContinueVoiceRequest req) {
+        return chatService.continueConversationWithVoice(req).thenApply(APIResponse::success);
+    }
+
+    @Operation(
+            summary = "음성 대화 이어가기 (파일 업로드)",
+            description = "음성 파일을 multipart/form-data로 전송하여 AI의 텍스트 응답을 받습니다. base64로 인코딩한 JSON 요청보다 "
+                    + "전송량이 작고, 서버가 음성을 메모리에 올리지 않고 음성 인식 요청에 그대로 흘려보냅니다.",
+            responses = {
+                    @ApiResponse(
+                            responseCode = "200",
+                            description = "AI의 텍스트 응답을 성공적으로 반환합니다."
+                    )
+            }
+    )
+    @PostMapping(value = "/continue/voice", consumes = MediaType.MULTIPART_FORM_DATA_VALUE)
+    public CompletableFuture<APIResponse<String>> continueConversationWithVoiceFile(
+            @RequestParam String conversationId, @RequestPart MultipartFile audio) {
+        return chatService.continueConversationWithVoice(conversationId, audio.getResource())
+                .thenApply(APIResponse::success);
+    }
+
+    @Operation(
+            summary = "음성 대화 이어가기 (스트리밍)",
+            description = "음성 데이터를 전송하면 음성 인식 결과(transcript), AI 응답 토큰(token), 문장별 음성(audio)을 "
+                    + "SSE(text/event-stream)로 전송합니다. 첫 문장이 완성되면 바로 음성 합성을 시작하므로 전체 응답을 기다리지 않고 "
+                    + "음성을 재생할 수 있습니다. audio 이벤트는 {index, sentence, audio(base64 mp3)} 형식이며 index 순서대로 전송됩니다. "
+                    + "응답이 끝나면 done 이벤트가 전송됩니다.",
+            responses = {
+                    @ApiResponse(
+                            responseCode = "200",
+                            description = "음성 인식 결과, AI 응답 토큰, 문장별 음성을 순서대로 전송합니다."
+                    )
+            }
+    )
+    @PostMapping(value = "/continue/voice/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public Flux<ServerSentEvent<Object>> streamVoiceConversation(
             @RequestBody ConversationContinueVoiceRequest req) {
-        String aiResponse = chatService.continueConversationWithVoice(req);
-        return APIResponse.success(aiResponse);
+        return toServerSentEvents(chatService.streamVoiceConversation(req));
+    }
+
+    @Operation(
+            summary = "음성 대화 이어가기 (파일 업로드, 스트리밍)",
+            description = "음성 파일을 multipart/form-data로 전송합니다. 응답은 /continue/voice/stream 과 같은 SSE 이벤트입니다.",
+            responses = {
+                    @ApiResponse(
+                            responseCode = "200",
+                            description = "음성 인식 결과, AI 응답 토큰, 문장별 음성을 순서대로 전송합니다."
+                    )
+            }
+    )
+    @PostMapping(value = "/continue/voice/stream", consumes = MediaType.MULTIPART_FORM_DATA_VALUE,
+            produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public Flux<ServerSentEvent<Object>> streamVoiceConversationFile(
+            @RequestParam String conversationId, @RequestPart MultipartFile audio) {
+        return toServerSentEvents(chatService.streamVoiceConversation(conversationId, audio.getResource()));
     }
 
     @PostMapping("/delete/{conversationId}")
@@ -97,4 +178,28 @@ public class ChatController {
         chatService.deleteConversation(userDetails.getUsername(), conversationId);
         return APIResponse.success();
     }
+
+    @Operation(
+            summary = "대화 토큰 사용량 조회",
+            description = "대화의 현재 컨텍스트 추정 토큰 수, 모델이 보고한 누적 토큰 사용량과 이전 대화 요약으로 줄어든 토큰 수를 반환합니다."
+    )
+    @GetMapping("/{conversationId}/tokens")
+    public APIResponse<ConversationTokenUsageResponse> getTokenUsage(@PathVariable String conversationId) {
+        return APIResponse.success(chatService.getTokenUsage(conversationId));
+    }
+
+    @Operation(
+            summary = "대화 저장소 상태 조회",
+            description = "보관 중인 대화 수, 추정 메모리 사용량과 조회 적중/실패/만료 횟수를 반환합니다."
+    )
+    @GetMapping("/memory/stats")
+    public APIResponse<ChatMemoryStatsResponse> getChatMemoryStats() {
+        return APIResponse.success(chatService.getChatMemoryStats());
+    }
+
+    private static Flux<ServerSentEvent<Object>> toServerSentEvents(Flux<VoiceTurnEvent> events) {
+        return events
+                .map(event -> ServerSentEvent.builder(event.data()).event(event.event()).build())
+                .concatWith(Flux.just(ServerSentEvent.<Object>builder("").event("done").build()));
+    }
 }
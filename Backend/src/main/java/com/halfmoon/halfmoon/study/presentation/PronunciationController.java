@@ -6,7 +6,7 @@ import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.constraints.NotNull;
-import java.io.IOException;
+import java.util.concurrent.CompletableFuture;
 import lombok.RequiredArgsConstructor;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
@@ -45,8 +45,7 @@ public class PronunciationController {
             }
     )
     @PostMapping("/evaluate")
-    public APIResponse<Integer> evaluatePronunciation(@NotNull @RequestBody MultipartFile audio) throws IOException {
-        Integer score = pronunciationService.geminiAnalyze(audio);
-        return APIResponse.success(score);
+    public CompletableFuture<APIResponse<Integer>> evaluatePronunciation(@NotNull @RequestBody MultipartFile audio) {
+        return pronunciationService.geminiAnalyze(audio).thenApply(APIResponse::success);
     }
 }
\ No newline at end of file
@@ -1,11 +1,15 @@
 package com.halfmoon.halfmoon.study.presentation;
 
+import com.halfmoon.halfmoon.global.executor.AiBulkhead;
 import com.halfmoon.halfmoon.global.response.APIResponse;
 import com.halfmoon.halfmoon.security.domain.CustomUserDetails;
+import com.halfmoon.halfmoon.study.application.StudyContentJobService;
 import com.halfmoon.halfmoon.study.application.SubjectStudyService;
+import com.halfmoon.halfmoon.study.dto.req.SentenceCompletionRequestDto;
 import com.halfmoon.halfmoon.study.dto.req.StudyLevel;
 import com.halfmoon.halfmoon.study.dto.req.SubjectStudyContenstRequestDto;
 import com.halfmoon.halfmoon.study.dto.resp.CompletionRateResponse;
+import com.halfmoon.halfmoon.study.dto.resp.StudyContentJobResponse;
 import com.halfmoon.halfmoon.study.dto.resp.SubjectStudyContentsResponseDto;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.media.Content;
@@ -15,7 +19,10 @@ import io.swagger.v3.oas.annotations.parameters.RequestBody;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.MediaType;
+import org.springframework.http.codec.ServerSentEvent;
 import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.GetMapping;
@@ -23,6 +30,7 @@ import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
+import reactor.core.publisher.Flux;
 
 @Tag(
         name = "주제별 학습 API",
@@ -34,6 +42,8 @@ import org.springframework.web.bind.annotation.RestController;
 public class SubjectController {
 
     private final SubjectStudyService subjectStudyService;
+    private final AiBulkhead aiBulkhead;
+    private final StudyContentJobService studyContentJobService;
 
     @Operation(
             summary = "주제 및 레벨별 학습 콘텐츠 생성",
@@ -61,14 +71,101 @@ public class SubjectController {
             )
     )
     @PostMapping("/start")
-    public APIResponse<SubjectStudyContentsResponseDto> getSubjectStudyContents(
+    public CompletableFuture<APIResponse<SubjectStudyContentsResponseDto>> getSubjectStudyContents(
             @AuthenticationPrincipal CustomUserDetails userDetails,
             @org.springframework.web.bind.annotation.RequestBody @Validated SubjectStudyContenstRequestDto req
     ) {
         String userEmail = userDetails.getUsername();
-        SubjectStudyContentsResponseDto subjectStudyContentsResponseDto = subjectStudyService.generateContents(
-                userEmail, req);
-        return APIResponse.success(subjectStudyContentsResponseDto);
+        // 학습 내용이 없으면 AI 생성까지 기다려야 하므로 가상 스레드에서 처리
+        return aiBulkhead.runAsync(() -> subjectStudyService.generateContents(userEmail, req))
+                .thenApply(APIResponse::success);
+    }
+
+    @Operation(
+            summary = "주제 및 레벨별 학습 콘텐츠 생성 (스트리밍)",
+            description = "학습 콘텐츠를 SSE(text/event-stream)로 전송합니다. 새로 생성하는 경우 문장이 생성되는 즉시 sentence 이벤트"
+                    + "({sentence, meaning, newWordCount})로 전송하고, 저장이 끝나면 문장 ID가 포함된 전체 학습 콘텐츠를 contents 이벤트로 "
+                    + "전송합니다. 이미 생성된 학습 콘텐츠는 contents 이벤트만 전송합니다. 마지막으로 done 이벤트가 전송됩니다.",
+            responses = {
+                    @ApiResponse(
+                            responseCode = "200",
+                            description = "생성된 문장과 전체 학습 콘텐츠를 순서대로 전송합니다."
+                    )
+            }
+    )
+    @PostMapping(value = "/start/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public Flux<ServerSentEvent<Object>> streamSubjectStudyContents(
+            @AuthenticationPrincipal CustomUserDetails userDetails,
+            @org.springframework.web.bind.annotation.RequestBody @Validated SubjectStudyContenstRequestDto req
+    ) {
+        return subjectStudyService.streamContents(userDetails.getUsername(), req)
+                .map(event -> ServerSentEvent.builder(event.data()).event(event.event()).build())
+                .concatWith(Flux.just(ServerSentEvent.<Object>builder("").event("done").build()));
+    }
+
+    @Operation(
+            summary = "학습 콘텐츠 생성 작업 등록",
+            description = "학습 콘텐츠 생성을 작업으로 등록하고 작업 ID를 바로 반환합니다. 생성은 서버에서 계속되므로 연결이 끊겨도 결과를 "
+                    + "다시 조회할 수 있습니다. 같은 학습 콘텐츠의 작업이 진행 중이거나 최근에 완료되었으면 그 작업을 반환합니다.",
+            responses = {
+                    @ApiResponse(
+                            responseCode = "200",
+                            description = "작업이 등록되었습니다.",
+                            content = @Content(
+                                    mediaType = "application/json",
+                                    schema = @Schema(implementation = StudyContentJobResponse.class)
+                            )
+                    )
+            }
+    )
+    @PostMapping("/jobs")
+    public APIResponse<StudyContentJobResponse> submitStudyContentJob(
+            @AuthenticationPrincipal CustomUserDetails userDetails,
+            @org.springframework.web.bind.annotation.RequestBody @Validated SubjectStudyContenstRequestDto req
+    ) {
+        return APIResponse.success(studyContentJobService.submit(userDetails.getUsername(), req));
+    }
+
+    @Operation(
+            summary = "학습 콘텐츠 생성 작업 조회",
+            description = "작업 상태(QUEUED, GENERATING, DONE, FAILED)를 조회합니다. DONE이면 result에 학습 콘텐츠가 포함됩니다.",
+            responses = {
+                    @ApiResponse(
+                            responseCode = "200",
+                            description = "작업 상태를 반환합니다.",
+                            content = @Content(
+                                    mediaType = "application/json",
+                                    schema = @Schema(implementation = StudyContentJobResponse.class)
+                            )
+                    ),
+                    @ApiResponse(
+                            responseCode = "400",
+                            description = "존재하지 않거나 만료된 작업, 또는 다른 사용자의 작업입니다."
+                    )
+            }
+    )
+    @GetMapping("/jobs/{jobId}")
+    public APIResponse<StudyContentJobResponse> getStudyContentJob(
+            @AuthenticationPrincipal CustomUserDetails userDetails, @PathVariable String jobId) {
+        return APIResponse.success(studyContentJobService.getJob(userDetails.getUsername(), jobId));
+    }
+
+    @Operation(
+            summary = "학습 콘텐츠 생성 작업 구독",
+            description = "작업의 현재 상태와 이후 상태 변화를 SSE(text/event-stream)로 전송합니다. 이벤트 이름은 상태(queued, generating, "
+                    + "done, failed)이며, done 또는 failed 이벤트 후 스트림이 끝납니다.",
+            responses = {
+                    @ApiResponse(
+                            responseCode = "200",
+                            description = "작업 상태를 순서대로 전송합니다."
+                    )
+            }
+    )
+    @GetMapping(value = "/jobs/{jobId}/events", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public Flux<ServerSentEvent<StudyContentJobResponse>> subscribeStudyContentJob(
+            @AuthenticationPrincipal CustomUserDetails userDetails, @PathVariable String jobId) {
+        return studyContentJobService.subscribe(userDetails.getUsername(), jobId)
+                .map(job -> ServerSentEvent.builder(job).event(job.status().name().toLowerCase()).build());
     }
 
     @Operation(
@@ -94,6 +191,37 @@ public class SubjectController {
         return APIResponse.success();
     }
 
+    @Operation(
+            summary = "학습 문장 일괄 완료 처리",
+            description = "사용자가 학습한 여러 문장을 한 번에 완료 처리합니다. 이미 완료한 문장은 학습한 단어 수에 다시 반영하지 않습니다.",
+            responses = {
+                    @ApiResponse(
+                            responseCode = "200",
+                            description = "문장들이 성공적으로 완료 처리되었습니다."
+                    ),
+                    @ApiResponse(
+                            responseCode = "400",
+                            description = "존재하지 않는 문장이 포함되어 있거나 문장 목록이 비어 있습니다."
+                    )
+            }
+    )
+    @RequestBody(
+            description = "완료할 문장 ID 목록",
+            required = true,
+            content = @Content(
+                    mediaType = "application/json",
+                    schema = @Schema(implementation = SentenceCompletionRequestDto.class)
+            )
+    )
+    @PostMapping("/done")
+    public APIResponse<Void> completeStudySentences(
+            @AuthenticationPrincipal CustomUserDetails userDetails,
+            @org.springframework.web.bind.annotation.RequestBody @Validated SentenceCompletionRequestDto req
+    ) {
+        subjectStudyService.completeStudySentences(userDetails.getUsername(), req.sentenceIds());
+        return APIResponse.success();
+    }
+
     @Operation(
             summary = "난이도별 내 이수율 조회",
             description = "사용자가 선택한 난이도별(StudyLevel)로 각 주제의 완료율을 조회합니다.",
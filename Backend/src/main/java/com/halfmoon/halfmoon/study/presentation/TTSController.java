@@ -3,13 +3,26 @@ package com.halfmoon.halfmoon.study.presentation;
 import com.halfmoon.halfmoon.global.response.APIResponse;
 import com.halfmoon.halfmoon.study.application.TTSService;
 import com.halfmoon.halfmoon.study.dto.req.AudioTextDto;
+import com.halfmoon.halfmoon.study.dto.resp.TtsAudioResponse;
+import com.halfmoon.halfmoon.study.dto.resp.TtsCacheStatsResponse;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.tags.Tag;
+import java.io.IOException;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
 import lombok.RequiredArgsConstructor;
+import org.springframework.core.io.Resource;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyEmitter;
+import reactor.core.Disposable;
+import reactor.core.Exceptions;
 
 @Tag(
         name = "TTS API",
@@ -20,6 +33,8 @@ import org.springframework.web.bind.annotation.RestController;
 @RequiredArgsConstructor
 public class TTSController {
 
+    private static final MediaType AUDIO_MPEG = MediaType.parseMediaType("audio/mpeg");
+
     private final TTSService ttsService;
 
     @Operation(
@@ -27,8 +42,78 @@ public class TTSController {
             description = "주어진 텍스트를 음성 파일로 변환하여 반환합니다."
     )
     @PostMapping
-    public APIResponse<byte[]> createAudio(@RequestBody AudioTextDto req) {
-        byte[] audioFile = ttsService.convertTextToSpeech(req.text());
-        return APIResponse.success(audioFile);
+    public CompletableFuture<APIResponse<byte[]>> createAudio(@RequestBody AudioTextDto req) {
+        return ttsService.convertTextToSpeechAsync(req.text()).thenApply(APIResponse::success);
+    }
+
+    @Operation(
+            summary = "텍스트를 음성(mp3)으로 변환하고 음성 키 반환",
+            description = "텍스트를 음성으로 변환해 캐시에 저장하고, 음성을 조회할 키를 반환합니다. 같은 텍스트는 같은 키를 가지며 다시 "
+                    + "변환하지 않습니다."
+    )
+    @PostMapping("/audio")
+    public CompletableFuture<APIResponse<TtsAudioResponse>> prepareAudio(@RequestBody AudioTextDto req) {
+        return ttsService.prepareAudio(req.text()).thenApply(key -> APIResponse.success(new TtsAudioResponse(key)));
+    }
+
+    @Operation(
+            summary = "음성(mp3)을 바이너리로 반환",
+            description = "POST /api/tts/audio 가 반환한 키의 음성을 JSON(base64)으로 감싸지 않고 audio/mpeg 본문으로 그대로 "
+                    + "전송합니다. Content-Length를 함께 보내고 Range 요청(206 Partial Content)을 지원하므로 클라이언트는 받는 즉시 "
+                    + "재생을 시작할 수 있습니다."
+    )
+    @GetMapping(value = "/audio/{audioKey}", produces = "audio/mpeg")
+    public ResponseEntity<Resource> getAudio(@PathVariable String audioKey) {
+        return ResponseEntity.ok()
+                .contentType(AUDIO_MPEG)
+                .body(ttsService.getCachedAudio(audioKey));
+    }
+
+    @Operation(
+            summary = "긴 텍스트를 문장별 음성(mp3)으로 스트리밍",
+            description = "텍스트를 문장 단위로 나눠 동시에 변환하고, 앞 문장의 음성이 준비되는 대로 audio/mpeg 본문으로 이어서 "
+                    + "전송합니다. 전체 길이를 미리 알 수 없으므로 Content-Length 없이 전송합니다."
+    )
+    @PostMapping(value = "/stream", produces = "audio/mpeg")
+    public ResponseEntity<ResponseBodyEmitter> streamAudio(@RequestBody AudioTextDto req) {
+        ResponseBodyEmitter emitter = new ResponseBodyEmitter();
+        // 스레드를 붙잡지 않고 문장별 음성이 준비될 때마다 전송, 클라이언트 연결이 끊기면 남은 문장 변환을 취소
+        Disposable subscription = ttsService.streamSpeech(req.text()).subscribe(
+                segment -> {
+                    try {
+                        emitter.send(segment, AUDIO_MPEG);
+                    } catch (IOException e) {
+                        throw Exceptions.propagate(e);
+                    }
+                },
+                emitter::completeWithError,
+                emitter::complete);
+        emitter.onCompletion(subscription::dispose);
+        emitter.onError(e -> subscription.dispose());
+        emitter.onTimeout(subscription::dispose);
+        return ResponseEntity.ok()
+                .contentType(AUDIO_MPEG)
+                .body(emitter);
+    }
+
+    @Operation(
+            summary = "학습 문장의 음성(mp3) 조회",
+            description = "학습 문장의 음성을 audio/mpeg 본문으로 전송합니다. 학습 문장은 저장될 때 음성을 미리 변환해 두므로 처음 재생할 "
+                    + "때도 변환을 기다리지 않습니다. Range 요청을 지원합니다."
+    )
+    @GetMapping(value = "/sentences/{sentenceId}", produces = "audio/mpeg")
+    public CompletableFuture<ResponseEntity<Resource>> getSentenceAudio(@PathVariable UUID sentenceId) {
+        return ttsService.getSentenceAudio(sentenceId).thenApply(audio -> ResponseEntity.ok()
+                .contentType(AUDIO_MPEG)
+                .body(audio));
+    }
+
+    @Operation(
+            summary = "TTS 캐시 상태 조회",
+            description = "변환한 음성 캐시의 hit 비율, 캐시로 절약한 바이트 수, 메모리/디스크 사용량을 반환합니다."
+    )
+    @GetMapping("/cache/stats")
+    public APIResponse<TtsCacheStatsResponse> getCacheStats() {
+        return APIResponse.success(ttsService.getCacheStats());
     }
 }
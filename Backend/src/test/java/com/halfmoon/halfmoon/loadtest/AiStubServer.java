@@ -0,0 +1,310 @@
+package com.halfmoon.halfmoon.loadtest;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.regex.Pattern;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * 부하 테스트용 OpenAI / Gemini 스텁 서버입니다.
+ * <p>
+ * 애플리케이션이 호출하는 엔드포인트만 흉내 냅니다.
+ * <ul>
+ *     <li>POST /v1/chat/completions : 일반 응답, 구조화 출력(JSON), stream=true 이면 토큰 단위 SSE</li>
+ *     <li>POST /v1/audio/speech : 더미 mp3 바이트</li>
+ *     <li>POST /v1/audio/transcriptions : 고정 문장 (text / json)</li>
+ *     <li>POST /upload/v1beta/files : 업로드 URL 발급 및 파일 업로드</li>
+ *     <li>POST /v1beta/models/{model}:generateContent : 발음 점수 JSON</li>
+ * </ul>
+ * 응답 지연은 {@link Latency}로 조절합니다.
+ */
+public class AiStubServer implements AutoCloseable {
+
+    private static final Logger log = LoggerFactory.getLogger(AiStubServer.class);
+    private static final ObjectMapper mapper = new ObjectMapper();
+    private static final String[] REPLY_WORDS = {
+            "좋아요!", "오늘은", "날씨가", "정말", "맑네요.", "주말에", "무엇을", "할", "계획이에요?",
+            "저는", "친구와", "공원에서", "산책할", "거예요.", "같이", "가고", "싶어요?"
+    };
+    private static final Pattern TEXT_RESPONSE_FORMAT = Pattern.compile(
+            "name=\"response_format\"\r\n(?:[^\r\n]+\r\n)*\r\ntext\r\n");
+    private static final String TRANSCRIPT = "안녕하세요. 저는 한국어를 공부하고 있어요.";
+
+    private final Latency latency;
+    private final HttpServer server;
+    private final ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+    private final AtomicLong requestCount = new AtomicLong();
+    private final AtomicLong uploadSequence = new AtomicLong();
+    private final AtomicLong studySequence = new AtomicLong();
+
+    public AiStubServer(Latency latency) throws IOException {
+        this.latency = latency;
+        this.server = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+        server.setExecutor(executor);
+        server.createContext("/v1/chat/completions", this::chatCompletions);
+        server.createContext("/v1/audio/speech", this::speech);
+        server.createContext("/v1/audio/transcriptions", this::transcription);
+        server.createContext("/upload/v1beta/files", this::upload);
+        server.createContext("/v1beta/models/", this::generateContent);
+    }
+
+    public AiStubServer start() {
+        server.start();
+        log.info("AI 스텁 서버 시작 - {}", baseUrl());
+        return this;
+    }
+
+    public String baseUrl() {
+        return "http://localhost:" + server.getAddress().getPort();
+    }
+
+    public long getRequestCount() {
+        return requestCount.get();
+    }
+
+    @Override
+    public void close() {
+        server.stop(0);
+        executor.shutdown();
+    }
+
+    private void chatCompletions(HttpExchange exchange) throws IOException {
+        JsonNode request = readJson(exchange);
+        String requestText = request.toString();
+        int promptTokens = requestText.length() / 4;
+
+        if (request.path("stream").asBoolean(false)) {
+            streamChat(exchange, promptTokens, requestText.contains("newWordCount"));
+            return;
+        }
+
+        sleep(latency.firstTokenMillis() + (long) latency.tokenIntervalMillis() * latency.replyTokens());
+        String content = requestText.contains("newWordCount") ? studyContentsJson() : replyText();
+        ObjectNode response = completion("chat.completion");
+        ObjectNode choice = response.putArray("choices").addObject();
+        choice.put("index", 0);
+        choice.putObject("message").put("role", "assistant").put("content", content);
+        choice.put("finish_reason", "stop");
+        putUsage(response, promptTokens, latency.replyTokens());
+        writeJson(exchange, response);
+    }
+
+    private void streamChat(HttpExchange exchange, int promptTokens, boolean studyContents) throws IOException {
+        exchange.getResponseHeaders().set("Content-Type", "text/event-stream");
+        exchange.sendResponseHeaders(200, 0);
+        try (OutputStream out = exchange.getResponseBody()) {
+            sleep(latency.firstTokenMillis());
+            List<String> tokens = studyContents ? studyContentsTokens() : replyTokens();
+            for (int i = 0; i < tokens.size(); i++) {
+                if (i > 0) {
+                    sleep(latency.tokenIntervalMillis());
+                }
+                String content = studyContents || i == 0 ? tokens.get(i) : " " + tokens.get(i);
+                ObjectNode chunk = completion("chat.completion.chunk");
+                ObjectNode choice = chunk.putArray("choices").addObject();
+                choice.put("index", 0);
+                choice.putObject("delta").put("role", "assistant").put("content", content);
+                choice.putNull("finish_reason");
+                writeEvent(out, chunk.toString());
+            }
+
+            ObjectNode last = completion("chat.completion.chunk");
+            ObjectNode choice = last.putArray("choices").addObject();
+            choice.put("index", 0);
+            choice.putObject("delta");
+            choice.put("finish_reason", "stop");
+            putUsage(last, promptTokens, tokens.size());
+            writeEvent(out, last.toString());
+            writeEvent(out, "[DONE]");
+        }
+    }
+
+    private void speech(HttpExchange exchange) throws IOException {
+        exchange.getRequestBody().readAllBytes();
+        requestCount.incrementAndGet();
+        sleep(latency.speechMillis());
+        byte[] audio = new byte[latency.speechBytes()];
+        audio[0] = (byte) 0xFF; // MPEG 프레임 동기 비트
+        audio[1] = (byte) 0xFB;
+        exchange.getResponseHeaders().set("Content-Type", "audio/mpeg");
+        exchange.sendResponseHeaders(200, audio.length);
+        try (OutputStream out = exchange.getResponseBody()) {
+            out.write(audio);
+        }
+    }
+
+    private void transcription(HttpExchange exchange) throws IOException {
+        String body = new String(exchange.getRequestBody().readAllBytes(), StandardCharsets.ISO_8859_1);
+        requestCount.incrementAndGet();
+        sleep(latency.transcriptionMillis());
+        if (TEXT_RESPONSE_FORMAT.matcher(body).find()) {
+            writeBody(exchange, "text/plain; charset=utf-8", TRANSCRIPT.getBytes(StandardCharsets.UTF_8));
+            return;
+        }
+        ObjectNode response = mapper.createObjectNode().put("text", TRANSCRIPT);
+        writeJson(exchange, response);
+    }
+
+    /**
+     * 업로드 URL 발급(start)과 파일 업로드(upload, finalize)를 모두 처리합니다.
+     */
+    private void upload(HttpExchange exchange) throws IOException {
+        exchange.getRequestBody().readAllBytes();
+        requestCount.incrementAndGet();
+        String command = exchange.getRequestHeaders().getFirst("X-Goog-Upload-Command");
+        if ("start".equals(command)) {
+            String sessionUrl = baseUrl() + "/upload/v1beta/files/session-" + uploadSequence.incrementAndGet();
+            exchange.getResponseHeaders().set("x-goog-upload-url", sessionUrl);
+            writeJson(exchange, mapper.createObjectNode());
+            return;
+        }
+        String fileId = exchange.getRequestURI().getPath().replaceAll(".*/session-", "");
+        ObjectNode response = mapper.createObjectNode();
+        response.putObject("file")
+                .put("name", "files/" + fileId)
+                .put("uri", baseUrl() + "/v1beta/files/" + fileId);
+        writeJson(exchange, response);
+    }
+
+    private void generateContent(HttpExchange exchange) throws IOException {
+        exchange.getRequestBody().readAllBytes();
+        requestCount.incrementAndGet();
+        sleep(latency.geminiMillis());
+        ObjectNode response = mapper.createObjectNode();
+        response.putArray("candidates").addObject()
+                .putObject("content")
+                .putArray("parts").addObject()
+                .put("text", "{\"score\": 87}");
+        writeJson(exchange, response);
+    }
+
+    private JsonNode readJson(HttpExchange exchange) throws IOException {
+        requestCount.incrementAndGet();
+        return mapper.readTree(exchange.getRequestBody());
+    }
+
+    private ObjectNode completion(String object) {
+        return mapper.createObjectNode()
+                .put("id", "chatcmpl-stub-" + requestCount.get())
+                .put("object", object)
+                .put("created", System.currentTimeMillis() / 1000)
+                .put("model", "gpt-4o-mini");
+    }
+
+    private static void putUsage(ObjectNode response, int promptTokens, int completionTokens) {
+        response.putObject("usage")
+                .put("prompt_tokens", promptTokens)
+                .put("completion_tokens", completionTokens)
+                .put("total_tokens", promptTokens + completionTokens);
+    }
+
+    private List<String> replyTokens() {
+        List<String> tokens = new ArrayList<>(latency.replyTokens());
+        for (int i = 0; i < latency.replyTokens(); i++) {
+            tokens.add(REPLY_WORDS[i % REPLY_WORDS.length]);
+        }
+        return tokens;
+    }
+
+    /**
+     * 학습 문장 JSON을 토큰 크기(8글자)로 나눕니다.
+     */
+    private List<String> studyContentsTokens() {
+        String json = studyContentsJson();
+        List<String> tokens = new ArrayList<>();
+        for (int i = 0; i < json.length(); i += 8) {
+            tokens.add(json.substring(i, Math.min(json.length(), i + 8)));
+        }
+        return tokens;
+    }
+
+    private String replyText() {
+        return String.join(" ", replyTokens());
+    }
+
+    private String studyContentsJson() {
+        ObjectNode response = mapper.createObjectNode();
+        ArrayNode contents = response.putArray("contents");
+        // 나눠서 생성한 결과를 합칠 때 중복으로 제거되지 않도록 호출마다 다른 문장을 반환
+        long sequence = studySequence.incrementAndGet();
+        for (int i = 1; i <= 5; i++) {
+            contents.addObject()
+                    .put("sentence", "저는 매일 아침 " + i + "시 " + sequence + "분에 일어나요.")
+                    .put("meaning", "I wake up at " + i + ":" + sequence + " every morning.")
+                    .put("newWordCount", 2);
+        }
+        return response.toString();
+    }
+
+    private static void writeEvent(OutputStream out, String data) throws IOException {
+        out.write(("data: " + data + "\n\n").getBytes(StandardCharsets.UTF_8));
+        out.flush();
+    }
+
+    private static void writeJson(HttpExchange exchange, JsonNode body) throws IOException {
+        writeBody(exchange, "application/json", mapper.writeValueAsBytes(body));
+    }
+
+    private static void writeBody(HttpExchange exchange, String contentType, byte[] body) throws IOException {
+        exchange.getResponseHeaders().set("Content-Type", contentType);
+        exchange.sendResponseHeaders(200, body.length);
+        try (OutputStream out = exchange.getResponseBody()) {
+            out.write(body);
+        }
+    }
+
+    private static void sleep(long millis) {
+        if (millis <= 0) {
+            return;
+        }
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * 스텁 응답 지연 설정입니다. -Pstub.xxx 로 덮어쓸 수 있습니다.
+     *
+     * @param firstTokenMillis    채팅 첫 토큰까지의 지연
+     * @param tokenIntervalMillis 스트리밍 토큰 사이 간격
+     * @param replyTokens         채팅 응답 토큰 수
+     */
+    public record Latency(
+            long firstTokenMillis,
+            int tokenIntervalMillis,
+            int replyTokens,
+            long speechMillis,
+            int speechBytes,
+            long transcriptionMillis,
+            long geminiMillis
+    ) {
+
+        public static Latency fromSystemProperties() {
+            return new Latency(
+                    Long.getLong("stub.chat.first-token-ms", 300),
+                    Integer.getInteger("stub.chat.token-interval-ms", 20),
+                    Integer.getInteger("stub.chat.reply-tokens", 40),
+                    Long.getLong("stub.audio.speech-ms", 400),
+                    Integer.getInteger("stub.audio.speech-bytes", 16_000),
+                    Long.getLong("stub.audio.transcription-ms", 300),
+                    Long.getLong("stub.gemini.latency-ms", 800)
+            );
+        }
+    }
+}
@@ -0,0 +1,86 @@
+package com.halfmoon.halfmoon.loadtest;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 엔드포인트별 응답 시간을 모아 처리량과 p50/p99를 계산합니다.
+ */
+public class LatencyRecorder {
+
+    private final Map<String, Samples> samplesByEndpoint = new ConcurrentHashMap<>();
+
+    public void record(String endpoint, long elapsedNanos) {
+        samplesByEndpoint.computeIfAbsent(endpoint, key -> new Samples()).add(elapsedNanos, null);
+    }
+
+    /**
+     * 실패한 요청을 기록합니다. 엔드포인트별 첫 실패 사유는 리포트에 함께 출력합니다.
+     */
+    public void recordFailure(String endpoint, long elapsedNanos, String reason) {
+        samplesByEndpoint.computeIfAbsent(endpoint, key -> new Samples()).add(elapsedNanos, reason);
+    }
+
+    public String report(long elapsedMillis) {
+        StringBuilder report = new StringBuilder();
+        report.append(String.format("%-45s %8s %7s %9s %9s %9s %9s%n",
+                "endpoint", "count", "errors", "req/s", "p50(ms)", "p99(ms)", "max(ms)"));
+
+        long totalCount = 0;
+        long totalErrors = 0;
+        for (String endpoint : samplesByEndpoint.keySet().stream().sorted().toList()) {
+            Samples samples = samplesByEndpoint.get(endpoint);
+            List<Long> sorted = samples.sorted();
+            totalCount += sorted.size();
+            totalErrors += samples.errors;
+            report.append(String.format("%-45s %8d %7d %9.2f %9d %9d %9d%n",
+                    endpoint,
+                    sorted.size(),
+                    samples.errors,
+                    sorted.size() * 1000.0 / elapsedMillis,
+                    percentile(sorted, 0.50),
+                    percentile(sorted, 0.99),
+                    percentile(sorted, 1.0)));
+        }
+        report.append(String.format("%-45s %8d %7d %9.2f%n", "TOTAL", totalCount, totalErrors,
+                totalCount * 1000.0 / elapsedMillis));
+
+        samplesByEndpoint.forEach((endpoint, samples) -> {
+            if (samples.firstFailure != null) {
+                report.append(String.format("%n[실패] %s : %s", endpoint, samples.firstFailure));
+            }
+        });
+        return report.toString();
+    }
+
+    private static long percentile(List<Long> sorted, double percentile) {
+        if (sorted.isEmpty()) {
+            return 0L;
+        }
+        int index = (int) Math.ceil(percentile * sorted.size()) - 1;
+        return TimeUnit.NANOSECONDS.toMillis(sorted.get(Math.max(0, index)));
+    }
+
+    private static class Samples {
+        private final List<Long> elapsedNanos = new ArrayList<>();
+        private long errors;
+        private String firstFailure;
+
+        private synchronized void add(long nanos, String failure) {
+            elapsedNanos.add(nanos);
+            if (failure != null) {
+                errors++;
+                if (firstFailure == null) {
+                    firstFailure = failure.length() > 300 ? failure.substring(0, 300) + "..." : failure;
+                }
+            }
+        }
+
+        private synchronized List<Long> sorted() {
+            return elapsedNanos.stream().sorted().toList();
+        }
+    }
+}
@@ -0,0 +1,263 @@
+package com.halfmoon.halfmoon.loadtest;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.io.BufferedReader;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.net.URI;
+import java.net.URLEncoder;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.stream.Collectors;
+
+/**
+ * 가상 사용자 한 명의 HTTP 클라이언트입니다. 모든 요청의 응답 시간을 {@link LatencyRecorder}에 기록합니다.
+ * <p>
+ * 2xx가 아닌 응답은 실패로 기록한 뒤 {@link IllegalStateException}을 던져 진행 중인 시나리오를 중단합니다.
+ */
+public class LoadTestClient {
+
+    private static final ObjectMapper mapper = new ObjectMapper();
+    private static final Duration REQUEST_TIMEOUT = Duration.ofMinutes(2);
+
+    private final HttpClient httpClient;
+    private final String baseUrl;
+    private final LatencyRecorder recorder;
+    private String accessToken;
+
+    public LoadTestClient(HttpClient httpClient, String baseUrl, LatencyRecorder recorder) {
+        this.httpClient = httpClient;
+        this.baseUrl = baseUrl;
+        this.recorder = recorder;
+    }
+
+    public void setAccessToken(String accessToken) {
+        this.accessToken = accessToken;
+    }
+
+    public JsonNode get(String endpoint, String path) {
+        return send(endpoint, request(path).GET());
+    }
+
+    public JsonNode post(String endpoint, String path, Object body) {
+        return send(endpoint, request(path)
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofByteArray(toJson(body))));
+    }
+
+    public JsonNode postForm(String endpoint, String path, Map<String, String> form) {
+        String encoded = form.entrySet().stream()
+                .map(e -> e.getKey() + "=" + URLEncoder.encode(e.getValue(), StandardCharsets.UTF_8))
+                .collect(Collectors.joining("&"));
+        return send(endpoint, request(path)
+                .header("Content-Type", "application/x-www-form-urlencoded")
+                .POST(HttpRequest.BodyPublishers.ofString(encoded)));
+    }
+
+    /**
+     * SSE 응답을 끝까지 읽습니다. 전체 시간은 endpoint로, 첫 이벤트까지의 시간은 "endpoint (first event)"로 기록합니다.
+     *
+     * @return 받은 이벤트의 data 목록
+     */
+    public List<String> postStream(String endpoint, String path, Object body) {
+        return stream(endpoint, request(path)
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofByteArray(toJson(body))));
+    }
+
+    public JsonNode postMultipart(String endpoint, String path, Map<String, String> fields, String fileField,
+                                  byte[] file) {
+        String boundary = UUID.randomUUID().toString();
+        return send(endpoint, request(path)
+                .header("Content-Type", "multipart/form-data; boundary=" + boundary)
+                .POST(HttpRequest.BodyPublishers.ofByteArray(multipart(boundary, fields, fileField, file))));
+    }
+
+    /**
+     * 파일을 multipart/form-data로 올리고 SSE 응답을 끝까지 읽습니다.
+     *
+     * @return 받은 이벤트의 data 목록
+     */
+    public List<String> postMultipartStream(String endpoint, String path, Map<String, String> fields,
+                                            String fileField, byte[] file) {
+        String boundary = UUID.randomUUID().toString();
+        return stream(endpoint, request(path)
+                .header("Content-Type", "multipart/form-data; boundary=" + boundary)
+                .POST(HttpRequest.BodyPublishers.ofByteArray(multipart(boundary, fields, fileField, file))));
+    }
+
+    /**
+     * @return 받은 이벤트의 data 목록
+     */
+    public List<String> getStream(String endpoint, String path) {
+        return stream(endpoint, request(path).GET());
+    }
+
+    private List<String> stream(String endpoint, HttpRequest.Builder builder) {
+        builder.header("Accept", "text/event-stream");
+
+        long startedAt = System.nanoTime();
+        try {
+            HttpResponse<InputStream> response = httpClient.send(builder.build(),
+                    HttpResponse.BodyHandlers.ofInputStream());
+            if (response.statusCode() / 100 != 2) {
+                response.body().close();
+                throw failure(endpoint, startedAt, "HTTP " + response.statusCode());
+            }
+
+            List<String> events = new ArrayList<>();
+            try (BufferedReader reader = new BufferedReader(
+                    new InputStreamReader(response.body(), StandardCharsets.UTF_8))) {
+                String line;
+                while ((line = reader.readLine()) != null) {
+                    if (!line.startsWith("data:")) {
+                        continue;
+                    }
+                    if (events.isEmpty()) {
+                        recorder.record(endpoint + " (first event)", System.nanoTime() - startedAt);
+                    }
+                    events.add(line.substring("data:".length()));
+                }
+            }
+            recorder.record(endpoint, System.nanoTime() - startedAt);
+            return events;
+        } catch (IOException e) {
+            throw failure(endpoint, startedAt, e.getMessage());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw failure(endpoint, startedAt, "interrupted");
+        }
+    }
+
+    /**
+     * 바이너리 응답을 끝까지 읽습니다. 전체 시간은 endpoint로, 첫 바이트까지의 시간은 "endpoint (first byte)"로 기록합니다.
+     *
+     * @param range Range 헤더 값 (없으면 null)
+     * @return 받은 바이트 수
+     */
+    public long getBinary(String endpoint, String path, String accept, String range) {
+        HttpRequest.Builder builder = request(path).header("Accept", accept).GET();
+        if (range != null) {
+            builder.header("Range", range);
+        }
+        return binary(endpoint, builder);
+    }
+
+    /**
+     * @return 받은 바이트 수
+     */
+    public long postBinary(String endpoint, String path, Object body, String accept) {
+        return binary(endpoint, request(path)
+                .header("Accept", accept)
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofByteArray(toJson(body))));
+    }
+
+    private long binary(String endpoint, HttpRequest.Builder builder) {
+        long startedAt = System.nanoTime();
+        try {
+            HttpResponse<InputStream> response = httpClient.send(builder.build(),
+                    HttpResponse.BodyHandlers.ofInputStream());
+            if (response.statusCode() / 100 != 2) {
+                response.body().close();
+                throw failure(endpoint, startedAt, "HTTP " + response.statusCode());
+            }
+
+            long received = 0L;
+            try (InputStream body = response.body()) {
+                byte[] buffer = new byte[8 * 1024];
+                int read;
+                while ((read = body.read(buffer)) != -1) {
+                    if (received == 0L) {
+                        recorder.record(endpoint + " (first byte)", System.nanoTime() - startedAt);
+                    }
+                    received += read;
+                }
+            }
+            long expected = response.headers().firstValueAsLong("Content-Length").orElse(received);
+            if (received != expected) {
+                throw failure(endpoint, startedAt, "Content-Length " + expected + " 중 " + received + " bytes 수신");
+            }
+            recorder.record(endpoint, System.nanoTime() - startedAt);
+            return received;
+        } catch (IOException e) {
+            throw failure(endpoint, startedAt, e.getMessage());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw failure(endpoint, startedAt, "interrupted");
+        }
+    }
+
+    /**
+     * JSON 문자열을 읽습니다. 읽을 수 없으면 실패로 기록합니다.
+     */
+    public JsonNode readJson(String endpoint, String json) {
+        try {
+            return mapper.readTree(json);
+        } catch (IOException e) {
+            throw failure(endpoint, System.nanoTime(), "JSON 파싱 실패: " + json);
+        }
+    }
+
+    private JsonNode send(String endpoint, HttpRequest.Builder builder) {
+        long startedAt = System.nanoTime();
+        try {
+            HttpResponse<byte[]> response = httpClient.send(builder.build(), HttpResponse.BodyHandlers.ofByteArray());
+            if (response.statusCode() / 100 != 2) {
+                throw failure(endpoint, startedAt,
+                        "HTTP " + response.statusCode() + " " + new String(response.body(), StandardCharsets.UTF_8));
+            }
+            recorder.record(endpoint, System.nanoTime() - startedAt);
+            return response.body().length == 0 ? mapper.nullNode() : mapper.readTree(response.body());
+        } catch (IOException e) {
+            throw failure(endpoint, startedAt, e.getMessage());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw failure(endpoint, startedAt, "interrupted");
+        }
+    }
+
+    private HttpRequest.Builder request(String path) {
+        HttpRequest.Builder builder = HttpRequest.newBuilder(URI.create(baseUrl + path)).timeout(REQUEST_TIMEOUT);
+        if (accessToken != null) {
+            builder.header("Authorization", "Bearer " + accessToken);
+        }
+        return builder;
+    }
+
+    private IllegalStateException failure(String endpoint, long startedAt, String reason) {
+        recorder.recordFailure(endpoint, System.nanoTime() - startedAt, reason);
+        return new IllegalStateException(endpoint + " 실패: " + reason);
+    }
+
+    private static byte[] multipart(String boundary, Map<String, String> fields, String fileField, byte[] file) {
+        ByteArrayOutputStream body = new ByteArrayOutputStream();
+        fields.forEach((name, value) -> body.writeBytes(("--" + boundary + "\r\n"
+                + "Content-Disposition: form-data; name=\"" + name + "\"\r\n\r\n"
+                + value + "\r\n").getBytes(StandardCharsets.UTF_8)));
+        body.writeBytes(("--" + boundary + "\r\n"
+                + "Content-Disposition: form-data; name=\"" + fileField + "\"; filename=\"blob\"\r\n"
+                + "Content-Type: application/octet-stream\r\n\r\n").getBytes(StandardCharsets.UTF_8));
+        body.writeBytes(file);
+        body.writeBytes(("\r\n--" + boundary + "--\r\n").getBytes(StandardCharsets.UTF_8));
+        return body.toByteArray();
+    }
+
+    private static byte[] toJson(Object body) {
+        try {
+            return mapper.writeValueAsBytes(body);
+        } catch (IOException e) {
+            throw new IllegalArgumentException("요청 본문을 JSON으로 변환할 수 없습니다: " + body, e);
+        }
+    }
+}
@@ -0,0 +1,73 @@
+package com.halfmoon.halfmoon.loadtest;
+
+import com.halfmoon.halfmoon.HalfmoonApplication;
+import java.net.http.HttpClient;
+import java.time.Duration;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import org.springframework.boot.SpringApplication;
+import org.springframework.context.ConfigurableApplicationContext;
+
+/**
+ * 부하 테스트 진입점입니다. ({@code ./gradlew loadTest})
+ * <p>
+ * AI 스텁 서버와 H2(loadtest 프로필)로 애플리케이션을 띄우고, 가상 사용자들이 {@link UserJourney}를 반복한 뒤 엔드포인트별 처리량과
+ * p50/p99를 출력합니다.
+ * <p>
+ * 설정 (-P 로 전달)
+ * <ul>
+ *     <li>loadtest.users : 동시 가상 사용자 수 (기본 20)</li>
+ *     <li>loadtest.duration-seconds : 측정 시간 (기본 60)</li>
+ *     <li>loadtest.ramp-up-seconds : 가상 사용자를 나눠서 투입하는 시간 (기본 5)</li>
+ *     <li>stub.* : 스텁 응답 지연 ({@link AiStubServer.Latency})</li>
+ * </ul>
+ */
+public class LoadTestRunner {
+
+    public static void main(String[] args) throws Exception {
+        int users = Integer.getInteger("loadtest.users", 20);
+        Duration duration = Duration.ofSeconds(Long.getLong("loadtest.duration-seconds", 60));
+        Duration rampUp = Duration.ofSeconds(Long.getLong("loadtest.ramp-up-seconds", 5));
+        String runId = Long.toString(System.currentTimeMillis(), 36);
+
+        try (AiStubServer stub = new AiStubServer(AiStubServer.Latency.fromSystemProperties()).start();
+             ConfigurableApplicationContext context = startApplication(stub);
+             HttpClient httpClient = HttpClient.newBuilder().connectTimeout(Duration.ofSeconds(5)).build()) {
+
+            String baseUrl = "http://localhost:" + context.getEnvironment().getProperty("local.server.port");
+            LatencyRecorder recorder = new LatencyRecorder();
+            System.out.printf("%n부하 테스트 시작 - 가상 사용자 %d명, %d초, 대상 %s%n", users, duration.toSeconds(), baseUrl);
+
+            long startedAt = System.currentTimeMillis();
+            long deadline = startedAt + duration.toMillis();
+            try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+                for (int i = 0; i < users; i++) {
+                    UserJourney journey = new UserJourney(new LoadTestClient(httpClient, baseUrl, recorder), runId, i);
+                    long startDelayMillis = rampUp.toMillis() * i / users;
+                    executor.submit(() -> {
+                        Thread.sleep(startDelayMillis);
+                        journey.runUntil(deadline);
+                        return null;
+                    });
+                }
+            }
+            long elapsedMillis = System.currentTimeMillis() - startedAt;
+
+            System.out.printf("%n===== 부하 테스트 결과 (%.1f초, 스텁 호출 %d건) =====%n", elapsedMillis / 1000.0,
+                    stub.getRequestCount());
+            System.out.println(recorder.report(elapsedMillis));
+        }
+    }
+
+    private static ConfigurableApplicationContext startApplication(AiStubServer stub) {
+        SpringApplication application = new SpringApplication(HalfmoonApplication.class);
+        application.setAdditionalProfiles("loadtest");
+        // 로컬 secret 설정보다 우선하도록 명령행 인자로 전달
+        return application.run(
+                "--server.port=0",
+                "--spring.datasource.url=jdbc:h2:mem:loadtest;MODE=MySQL",
+                "--spring.ai.openai.base-url=" + stub.baseUrl(),
+                "--google.api.base-url=" + stub.baseUrl()
+        );
+    }
+}
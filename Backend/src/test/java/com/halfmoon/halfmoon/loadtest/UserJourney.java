@@ -0,0 +1,230 @@
+package com.halfmoon.halfmoon.loadtest;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.halfmoon.halfmoon.security.domain.KoreanLevel;
+import com.halfmoon.halfmoon.security.domain.NativeLanguage;
+import com.halfmoon.halfmoon.study.dto.req.StudyLevel;
+import com.halfmoon.halfmoon.study.dto.req.Subject;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * 가상 사용자 한 명의 시나리오입니다.
+ * <p>
+ * 회원 가입과 로그인 후, 종료 시각까지 아래 시나리오를 가중치에 따라 골라 반복합니다.
+ * <ul>
+ *     <li>학습 (35%) : 주제 학습 시작 (직접 요청, 생성 작업 + SSE, 스트리밍 중 하나) → 문장 듣기(TTS) → 발음 평가 → 들은 문장 일괄 완료 → 완료율 조회</li>
+ *     <li>대화 (35%) : 롤플레이 시작 → 텍스트 턴 → 스트리밍 턴 → 음성 스트리밍 턴 → 토큰 사용량 조회 → 종료</li>
+ *     <li>복습 시험 (10%) : 학습한 주제로 시험 생성 → 제출</li>
+ *     <li>게시판 (20%) : 목록 → 작성 → 상세 → 댓글 → 좋아요</li>
+ * </ul>
+ */
+public class UserJourney {
+
+    private static final Logger log = LoggerFactory.getLogger(UserJourney.class);
+    private static final String PASSWORD = "loadtest-password";
+    private static final byte[] VOICE_SAMPLE = voiceSample();
+
+    private final LoadTestClient client;
+    private final String email;
+    private final Random random;
+    private final Map<Subject, StudyLevel> studiedSubjects = new HashMap<>();
+
+    public UserJourney(LoadTestClient client, String runId, int userIndex) {
+        this.client = client;
+        this.email = "loadtest-" + runId + "-" + userIndex + "@halfmoon.test";
+        this.random = new Random();
+    }
+
+    public void runUntil(long deadlineMillis) {
+        try {
+            signUpAndLogin();
+        } catch (IllegalStateException e) {
+            return; // 실패는 이미 기록됨
+        }
+
+        while (System.currentTimeMillis() < deadlineMillis) {
+            int dice = random.nextInt(100);
+            try {
+                if (dice < 35) {
+                    study();
+                } else if (dice < 70) {
+                    chat();
+                } else if (dice < 80 && !studiedSubjects.isEmpty()) {
+                    reviewTest();
+                } else {
+                    posts();
+                }
+            } catch (IllegalStateException e) {
+                // 실패한 요청은 기록되었으므로 다음 시나리오로 넘어감
+            } catch (RuntimeException e) {
+                log.warn("시나리오 실행 중 예상하지 못한 오류 - {}", email, e);
+            }
+        }
+    }
+
+    private void signUpAndLogin() {
+        Map<String, Object> signUp = new LinkedHashMap<>();
+        signUp.put("email", email);
+        signUp.put("password", PASSWORD);
+        signUp.put("name", "부하테스트");
+        signUp.put("nickname", "tester" + random.nextInt(10_000));
+        signUp.put("age", 10 + random.nextInt(40));
+        signUp.put("nativeLanguage", pick(NativeLanguage.values()));
+        signUp.put("koreanLevel", pick(KoreanLevel.values()));
+        client.post("POST /api/signup", "/api/signup", signUp);
+
+        JsonNode token = client.postForm("POST /api/login", "/api/login",
+                Map.of("username", email, "password", PASSWORD));
+        client.setAccessToken(token.path("accessToken").asText());
+    }
+
+    private void study() {
+        Subject subject = pick(Subject.values());
+        StudyLevel studyLevel = pick(StudyLevel.values());
+        Map<String, Object> request = Map.of("subject", subject, "studyLevel", studyLevel);
+        JsonNode contents = switch (random.nextInt(3)) {
+            case 0 -> client.post("POST /api/subject/start", "/api/subject/start", request).path("data");
+            case 1 -> studyContentsByJob(request);
+            default -> studyContentsByStream(request);
+        };
+
+        List<JsonNode> sentences = new ArrayList<>();
+        contents.path("sentences").forEach(sentences::add);
+        List<String> completed = new ArrayList<>();
+        for (JsonNode sentence : sentences.subList(0, Math.min(3, sentences.size()))) {
+            String sentenceId = sentence.path("id").asText();
+            if (completed.isEmpty()) {
+                // 브라우저의 <audio>처럼 Range 요청으로 앞부분부터 받음
+                client.getBinary("GET /api/tts/sentences/{id} (range)", "/api/tts/sentences/" + sentenceId, "*/*",
+                        "bytes=0-4095");
+            } else {
+                client.getBinary("GET /api/tts/sentences/{id}", "/api/tts/sentences/" + sentenceId, "audio/mpeg",
+                        null);
+            }
+            completed.add(sentenceId);
+        }
+        // 들은 문장을 따라 읽고 발음 평가
+        client.postMultipart("POST /api/pron/evaluate", "/api/pron/evaluate", Map.of(), "audio", VOICE_SAMPLE);
+        client.post("POST /api/subject/done", "/api/subject/done", Map.of("sentenceIds", completed));
+        studiedSubjects.put(subject, studyLevel); // 복습 시험은 완료한 문장으로 출제
+        client.get("GET /api/subject/completion-rate/{studyLevel}", "/api/subject/completion-rate/" + studyLevel);
+    }
+
+    /**
+     * 생성 작업을 등록하고 SSE로 완료를 기다립니다.
+     */
+    private JsonNode studyContentsByJob(Map<String, Object> request) {
+        String jobId = client.post("POST /api/subject/jobs", "/api/subject/jobs", request)
+                .path("data").path("jobId").asText();
+        List<String> events = client.getStream("GET /api/subject/jobs/{jobId}/events",
+                "/api/subject/jobs/" + jobId + "/events");
+        if (events.isEmpty()) {
+            throw new IllegalStateException("학습 내용 생성 작업 이벤트 없음 - " + jobId);
+        }
+        JsonNode job = client.readJson("GET /api/subject/jobs/{jobId}/events", events.getLast());
+        if (!"DONE".equals(job.path("status").asText())) {
+            throw new IllegalStateException("학습 내용 생성 작업 실패 - " + job);
+        }
+        return job.path("result");
+    }
+
+    /**
+     * 스트리밍으로 학습 내용을 받습니다. 마지막 done 이벤트 앞의 contents 이벤트에 문장 ID가 포함된 전체 학습 내용이 있습니다.
+     */
+    private JsonNode studyContentsByStream(Map<String, Object> request) {
+        List<String> events = client.postStream("POST /api/subject/start/stream", "/api/subject/start/stream",
+                request);
+        if (events.size() < 2) {
+            throw new IllegalStateException("학습 내용 스트리밍 이벤트 부족 - " + events);
+        }
+        return client.readJson("POST /api/subject/start/stream", events.get(events.size() - 2));
+    }
+
+    private void chat() {
+        String conversationId = client.post("POST /api/chat/start", "/api/chat/start",
+                Map.of("subject", pick(Subject.values()))).path("data").path("conversationId").asText();
+
+        String reply = "";
+        for (int turn = 0; turn < 3; turn++) {
+            JsonNode response = client.post("POST /api/chat/continue", "/api/chat/continue",
+                    Map.of("talkId", conversationId, "userInput", "저는 주말에 친구를 만나요. " + turn));
+            reply = response.path("data").asText();
+        }
+        // 마지막 응답 듣기 (문장별로 나눠 변환한 음성을 이어서 받음)
+        client.postBinary("POST /api/tts/stream", "/api/tts/stream", Map.of("text", reply), "audio/mpeg");
+        client.postStream("POST /api/chat/continue/stream", "/api/chat/continue/stream",
+                Map.of("talkId", conversationId, "userInput", "오늘 날씨가 어때요?"));
+        client.postMultipartStream("POST /api/chat/continue/voice/stream", "/api/chat/continue/voice/stream",
+                Map.of("conversationId", conversationId), "audio", VOICE_SAMPLE);
+
+        client.get("GET /api/chat/{conversationId}/tokens", "/api/chat/" + conversationId + "/tokens");
+        client.post("POST /api/chat/delete/{conversationId}", "/api/chat/delete/" + conversationId, Map.of());
+    }
+
+    private void reviewTest() {
+        List<Subject> subjects = new ArrayList<>(studiedSubjects.keySet());
+        Subject subject = subjects.get(random.nextInt(subjects.size()));
+        JsonNode test = client.post("POST /api/study/review-test/generate", "/api/study/review-test/generate",
+                Map.of("subject", subject, "studyLevel", studiedSubjects.get(subject), "questionCount", 5))
+                .path("data");
+
+        List<Map<String, String>> answers = new ArrayList<>();
+        for (JsonNode question : test.path("questions")) {
+            String answer = random.nextBoolean() ? question.path("correctAnswer").asText() : "모르겠어요";
+            answers.add(Map.of("questionId", question.path("id").asText(), "userAnswer", answer));
+        }
+        client.post("POST /api/study/review-test/submit", "/api/study/review-test/submit",
+                Map.of("testId", test.path("testId").asText(), "answers", answers));
+    }
+
+    private void posts() {
+        client.get("GET /api/post/all", "/api/post/all");
+        String postId = client.post("POST /api/post", "/api/post",
+                Map.of("title", "오늘의 한국어 공부", "content", "드디어 자기소개를 끝까지 말할 수 있게 되었어요!"))
+                .path("data").asText();
+        client.get("GET /api/post/{postId}", "/api/post/" + postId);
+        client.post("POST /api/comments/add/{postId}", "/api/comments/add/" + postId,
+                Map.of("content", "축하해요!"));
+        client.post("POST /api/post/like/{postId}", "/api/post/like/" + postId, Map.of());
+        client.get("GET /api/comments/{postId}", "/api/comments/" + postId);
+    }
+
+    private <T> T pick(T[] values) {
+        return values[random.nextInt(values.length)];
+    }
+
+    /**
+     * 앞뒤에 0.5초씩 무음이 있는 1초짜리 44.1kHz 스테레오 WAV. 서버의 음성 전처리(무음 제거, 다운샘플링)를 거치도록 실제 녹음과 비슷하게
+     * 만듭니다.
+     */
+    private static byte[] voiceSample() {
+        int sampleRate = 44_100;
+        int channels = 2;
+        int samples = sampleRate * 2;
+        ByteBuffer wav = ByteBuffer.allocate(44 + samples * channels * 2).order(ByteOrder.LITTLE_ENDIAN);
+        wav.put("RIFF".getBytes(StandardCharsets.US_ASCII)).putInt(wav.capacity() - 8)
+                .put("WAVE".getBytes(StandardCharsets.US_ASCII))
+                .put("fmt ".getBytes(StandardCharsets.US_ASCII)).putInt(16).putShort((short) 1)
+                .putShort((short) channels).putInt(sampleRate).putInt(sampleRate * channels * 2)
+                .putShort((short) (channels * 2)).putShort((short) 16)
+                .put("data".getBytes(StandardCharsets.US_ASCII)).putInt(samples * channels * 2);
+        for (int i = 0; i < samples; i++) {
+            boolean voiced = i >= sampleRate / 2 && i < sampleRate * 3 / 2;
+            short sample = voiced ? (short) (8_000 * Math.sin(2 * Math.PI * 220 * i / sampleRate)) : 0;
+            for (int channel = 0; channel < channels; channel++) {
+                wav.putShort(sample);
+            }
+        }
+        return wav.array();
+    }
+}
@@ -0,0 +1,238 @@
+package com.halfmoon.halfmoon.study.application;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.function.LongFunction;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.core.io.ByteArrayResource;
+import org.springframework.core.io.Resource;
+
+class AudioPreprocessorTest {
+
+    private static final int WAVE_FORMAT_PCM = 1;
+    private static final int WAVE_FORMAT_IEEE_FLOAT = 3;
+    private static final int WAVE_FORMAT_EXTENSIBLE = 0xFFFE;
+
+    private final AudioPreprocessor audioPreprocessor = new AudioPreprocessor(new AudioPreprocessingProperties());
+
+    @Test
+    @DisplayName("앞뒤 무음을 잘라내고 스테레오 48kHz 음성을 모노 16kHz로 줄인다")
+    void trimsAndDownsamples() throws IOException {
+        Resource audio = new Wav(48_000, 2).silence(1.0).tone(1.0).silence(1.0).toResource();
+
+        try (PreparedAudio prepared = audioPreprocessor.prepare(audio, "audio/x-wav")) {
+            assertThat(prepared.contentType()).isEqualTo("audio/wav");
+            WavHeader header = WavHeader.read(prepared.tempFile());
+            assertThat(header.channels()).isEqualTo(1);
+            assertThat(header.sampleRate()).isEqualTo(16_000);
+            // 말소리 1초 + 앞뒤 여유 0.3초씩
+            assertThat(header.seconds()).isBetween(1.56, 1.64);
+        }
+    }
+
+    @Test
+    @DisplayName("헤더의 data 크기와 RIFF 크기가 실제로 쓴 샘플 수와 일치한다")
+    void headerMatchesWrittenSamples() throws IOException {
+        // 44.1kHz → 16kHz 처럼 나누어 떨어지지 않는 비율
+        Resource audio = new Wav(44_100, 1).silence(0.5).tone(0.77).silence(0.5).toResource();
+
+        try (PreparedAudio prepared = audioPreprocessor.prepare(audio, null)) {
+            WavHeader header = WavHeader.read(prepared.tempFile());
+            long fileSize = Files.size(prepared.tempFile());
+            assertThat(header.dataSize()).isEqualTo(fileSize - 44);
+            assertThat(header.riffSize()).isEqualTo(fileSize - 8);
+            assertThat(header.dataSize() % 2).isZero();
+        }
+    }
+
+    @Test
+    @DisplayName("WAVE_FORMAT_EXTENSIBLE 16bit PCM 음성도 전처리한다")
+    void handlesWaveFormatExtensible() throws IOException {
+        Resource audio = new Wav(48_000, 2).formatTag(WAVE_FORMAT_EXTENSIBLE)
+                .silence(1.0).tone(1.0).silence(1.0).toResource();
+
+        try (PreparedAudio prepared = audioPreprocessor.prepare(audio, null)) {
+            assertThat(prepared.tempFile()).isNotNull();
+            assertThat(WavHeader.read(prepared.tempFile()).seconds()).isBetween(1.56, 1.64);
+        }
+    }
+
+    @Test
+    @DisplayName("PCM이 아닌 WAVE_FORMAT_EXTENSIBLE 음성은 그대로 사용한다")
+    void keepsNonPcmExtensible() {
+        Resource audio = new Wav(48_000, 2).formatTag(WAVE_FORMAT_EXTENSIBLE).subFormat(WAVE_FORMAT_IEEE_FLOAT)
+                .silence(1.0).toResource();
+
+        PreparedAudio prepared = audioPreprocessor.prepare(audio, "audio/wav");
+
+        assertThat(prepared.resource()).isSameAs(audio);
+        assertThat(prepared.tempFile()).isNull();
+    }
+
+    @Test
+    @DisplayName("홀수 크기 청크 뒤의 패딩 바이트를 건너뛰고 data 청크를 찾는다")
+    void skipsOddSizedChunks() throws IOException {
+        Resource audio = new Wav(16_000, 1).extraChunk("LIST", 5)
+                .silence(1.0).tone(1.0).silence(1.0).toResource();
+
+        try (PreparedAudio prepared = audioPreprocessor.prepare(audio, null)) {
+            assertThat(WavHeader.read(prepared.tempFile()).seconds()).isBetween(1.56, 1.64);
+        }
+    }
+
+    @Test
+    @DisplayName("data 크기를 알 수 없는(0xFFFFFFFF) 녹음은 파일 끝까지 읽는다")
+    void readsUnknownDataSizeToEnd() throws IOException {
+        Resource audio = new Wav(16_000, 1).unknownDataSize()
+                .silence(1.0).tone(1.0).silence(1.0).toResource();
+
+        try (PreparedAudio prepared = audioPreprocessor.prepare(audio, null)) {
+            WavHeader header = WavHeader.read(prepared.tempFile());
+            assertThat(header.seconds()).isBetween(1.56, 1.64);
+            assertThat(header.dataSize()).isEqualTo(Files.size(prepared.tempFile()) - 44);
+        }
+    }
+
+    @Test
+    @DisplayName("말소리가 없는 음성은 거절한다")
+    void rejectsSilence() {
+        Resource audio = new Wav(16_000, 1).silence(2.0).toResource();
+
+        assertThatThrownBy(() -> audioPreprocessor.prepare(audio, null))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    @DisplayName("WAV가 아니거나 줄일 것이 없는 음성은 그대로 사용한다")
+    void keepsAudioThatNeedsNoWork() {
+        Resource webm = new ByteArrayResource(new byte[]{0x1A, 0x45, (byte) 0xDF, (byte) 0xA3, 0, 0, 0, 0});
+        Resource clean = new Wav(16_000, 1).tone(1.0).toResource();
+
+        assertThat(audioPreprocessor.prepare(webm, "audio/webm").resource()).isSameAs(webm);
+        assertThat(audioPreprocessor.prepare(clean, "audio/wav").resource()).isSameAs(clean);
+    }
+
+    @Test
+    @DisplayName("닫으면 전처리한 임시 파일을 삭제한다")
+    void deletesTempFileOnClose() {
+        Resource audio = new Wav(48_000, 1).silence(1.0).tone(1.0).toResource();
+
+        PreparedAudio prepared = audioPreprocessor.prepare(audio, null);
+        Path tempFile = prepared.tempFile();
+        assertThat(tempFile).exists();
+
+        prepared.close();
+        assertThat(tempFile).doesNotExist();
+    }
+
+    /**
+     * 16bit PCM WAV를 만듭니다. 무음 구간에도 작은 잡음을 넣습니다.
+     */
+    private static class Wav {
+
+        private final int sampleRate;
+        private final int channels;
+        private final ByteArrayOutputStream samples = new ByteArrayOutputStream();
+        private int formatTag = WAVE_FORMAT_PCM;
+        private int subFormat = WAVE_FORMAT_PCM;
+        private String extraChunkId;
+        private int extraChunkSize;
+        private boolean unknownDataSize;
+        private long sampleIndex;
+
+        Wav(int sampleRate, int channels) {
+            this.sampleRate = sampleRate;
+            this.channels = channels;
+        }
+
+        Wav formatTag(int formatTag) {
+            this.formatTag = formatTag;
+            return this;
+        }
+
+        Wav subFormat(int subFormat) {
+            this.subFormat = subFormat;
+            return this;
+        }
+
+        Wav extraChunk(String id, int size) {
+            this.extraChunkId = id;
+            this.extraChunkSize = size;
+            return this;
+        }
+
+        Wav unknownDataSize() {
+            this.unknownDataSize = true;
+            return this;
+        }
+
+        Wav silence(double seconds) {
+            return append(seconds, i -> (short) (i % 7 - 3));
+        }
+
+        Wav tone(double seconds) {
+            return append(seconds, i -> (short) (8_000 * Math.sin(2 * Math.PI * 220 * i / sampleRate)));
+        }
+
+        private Wav append(double seconds, LongFunction<Short> sample) {
+            long count = Math.round(sampleRate * seconds);
+            for (long i = 0; i < count; i++, sampleIndex++) {
+                short value = sample.apply(sampleIndex);
+                for (int channel = 0; channel < channels; channel++) {
+                    samples.write(value & 0xFF);
+                    samples.write((value >> 8) & 0xFF);
+                }
+            }
+            return this;
+        }
+
+        Resource toResource() {
+            boolean extensible = formatTag == WAVE_FORMAT_EXTENSIBLE;
+            int fmtSize = extensible ? 40 : 16;
+            int extraBytes = extraChunkId == null ? 0 : 8 + extraChunkSize + extraChunkSize % 2;
+            int dataSize = samples.size();
+            ByteBuffer wav = ByteBuffer.allocate(12 + 8 + fmtSize + extraBytes + 8 + dataSize)
+                    .order(ByteOrder.LITTLE_ENDIAN);
+
+            wav.put(ascii("RIFF")).putInt(wav.capacity() - 8).put(ascii("WAVE"));
+            wav.put(ascii("fmt ")).putInt(fmtSize)
+                    .putShort((short) formatTag).putShort((short) channels).putInt(sampleRate)
+                    .putInt(sampleRate * channels * 2).putShort((short) (channels * 2)).putShort((short) 16);
+            if (extensible) {
+                wav.putShort((short) 22).putShort((short) 16).putInt(0) // cbSize, validBits, channelMask
+                        .putShort((short) subFormat).put(new byte[14]);  // SubFormat GUID
+            }
+            if (extraChunkId != null) {
+                wav.put(ascii(extraChunkId)).putInt(extraChunkSize).put(new byte[extraChunkSize + extraChunkSize % 2]);
+            }
+            wav.put(ascii("data")).putInt(unknownDataSize ? 0xFFFFFFFF : dataSize).put(samples.toByteArray());
+            return new ByteArrayResource(wav.array());
+        }
+
+        private static byte[] ascii(String text) {
+            return text.getBytes(StandardCharsets.US_ASCII);
+        }
+    }
+
+    private record WavHeader(long riffSize, int channels, int sampleRate, long dataSize) {
+
+        static WavHeader read(Path file) throws IOException {
+            ByteBuffer header = ByteBuffer.wrap(Files.readAllBytes(file)).order(ByteOrder.LITTLE_ENDIAN);
+            return new WavHeader(header.getInt(4) & 0xFFFFFFFFL, header.getShort(22), header.getInt(24),
+                    header.getInt(40) & 0xFFFFFFFFL);
+        }
+
+        double seconds() {
+            return dataSize / 2.0 / sampleRate;
+        }
+    }
+}
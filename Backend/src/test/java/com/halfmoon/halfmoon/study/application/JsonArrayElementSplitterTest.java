@@ -0,0 +1,83 @@
+package com.halfmoon.halfmoon.study.application;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.ArrayList;
+import java.util.List;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+class JsonArrayElementSplitterTest {
+
+    private static final String FIRST = "{\"sentence\": \"안녕하세요\", \"newWordCount\": 1}";
+    private static final String SECOND = "{\"sentence\": \"감사합니다\", \"newWordCount\": 2}";
+
+    @Test
+    @DisplayName("배열 원소 객체가 닫히는 즉시 반환한다")
+    void emitsElementWhenItCloses() {
+        String json = "{\"contents\": [" + FIRST + ", " + SECOND + "]}";
+        JsonArrayElementSplitter splitter = new JsonArrayElementSplitter();
+
+        List<String> emitted = new ArrayList<>();
+        List<Integer> emittedAt = new ArrayList<>();
+        for (int i = 0; i < json.length(); i++) {
+            List<String> elements = splitter.feed(String.valueOf(json.charAt(i)));
+            if (!elements.isEmpty()) {
+                emitted.addAll(elements);
+                emittedAt.add(i);
+            }
+        }
+
+        int firstEnd = json.indexOf(FIRST) + FIRST.length() - 1;
+        int secondEnd = json.indexOf(SECOND) + SECOND.length() - 1;
+        assertThat(emitted).containsExactly(FIRST, SECOND);
+        assertThat(emittedAt).containsExactly(firstEnd, secondEnd);
+    }
+
+    @Test
+    @DisplayName("문자열 안의 괄호와 이스케이프된 따옴표는 구조로 보지 않는다")
+    void ignoresBracketsInsideStrings() {
+        String element = "{\"sentence\": \"a {b} [c] \\\"d}\\\\\", \"meaning\": \"}\"}";
+        String json = "{\"contents\": [" + element + "]}";
+
+        assertThat(feedInChunks(json, 3)).containsExactly(element);
+    }
+
+    @Test
+    @DisplayName("원소 안에 중첩된 객체와 배열은 원소의 일부로 함께 반환한다")
+    void keepsNestedValuesInElement() {
+        String element = "{\"sentence\": \"d\", \"tags\": [{\"k\": 1}, {\"k\": [2, {\"x\": 3}]}]}";
+        String json = "{\"contents\": [" + element + ", " + FIRST + "]}";
+
+        assertThat(feedInChunks(json, 5)).containsExactly(element, FIRST);
+    }
+
+    @Test
+    @DisplayName("JSON 바깥의 코드 블록 표시와 설명 문장은 건너뛰고, 최상위 배열도 처리한다")
+    void skipsTextOutsideJson() {
+        String fenced = "다음은 결과입니다 \"참고\":\n```json\n{\"contents\": [" + FIRST + "]}\n```";
+        String topLevelArray = "[" + FIRST + "," + SECOND + "]";
+
+        assertThat(feedInChunks(fenced, 4)).containsExactly(FIRST);
+        assertThat(feedInChunks(topLevelArray, 7)).containsExactly(FIRST, SECOND);
+    }
+
+    @Test
+    @DisplayName("조각 경계가 이스케이프 문자 사이에 걸려도 문자열 끝을 올바르게 찾는다")
+    void handlesEscapeSplitAcrossChunks() {
+        JsonArrayElementSplitter splitter = new JsonArrayElementSplitter();
+
+        assertThat(splitter.feed("{\"contents\": [{\"s\": \"a\\")).isEmpty();
+        assertThat(splitter.feed("\"}\"}")).containsExactly("{\"s\": \"a\\\"}\"}");
+        assertThat(splitter.feed("]}")).isEmpty();
+    }
+
+    private static List<String> feedInChunks(String json, int chunkSize) {
+        JsonArrayElementSplitter splitter = new JsonArrayElementSplitter();
+        List<String> elements = new ArrayList<>();
+        for (int i = 0; i < json.length(); i += chunkSize) {
+            elements.addAll(splitter.feed(json.substring(i, Math.min(json.length(), i + chunkSize))));
+        }
+        return elements;
+    }
+}
@@ -0,0 +1,111 @@
+package com.halfmoon.halfmoon.study.application;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.io.ByteArrayOutputStream;
+import java.util.Arrays;
+import java.util.List;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+class Mp3FramesTest {
+
+    // MPEG1 Layer III, 128kbps, 44.1kHz, 패딩 없음 : 144 * 128000 / 44100 = 417 bytes
+    private static final int FRAME_BYTES = 417;
+
+    @Test
+    @DisplayName("ID3v2, ID3v1 태그와 Xing 헤더 프레임을 떼고 오디오 프레임만 남긴다")
+    void stripsTagsAndVbrHeader() {
+        byte[] mp3 = mp3(1, 3, true, true);
+
+        byte[] frames = Mp3Frames.audioFrames(mp3);
+
+        assertThat(frames).hasSize(3 * FRAME_BYTES);
+        assertThat(frames).isEqualTo(Arrays.copyOfRange(mp3, 30 + FRAME_BYTES, 30 + 4 * FRAME_BYTES));
+    }
+
+    @Test
+    @DisplayName("모노 MPEG2 프레임의 Info 헤더와 VBRI 헤더도 VBR 헤더로 인식한다")
+    void detectsOtherVbrHeaders() {
+        byte[] info = Arrays.copyOf(frame((byte) 0xF3, (byte) 0x90, (byte) 0xC0, 1), 261); // MPEG2 mono, 80kbps, 22.05kHz
+        write(info, 4 + 9, "Info");
+        byte[] vbri = frame((byte) 0xFB, (byte) 0x90, (byte) 0x00, 1);
+        write(vbri, 4 + 32, "VBRI");
+        byte[] audio = frame((byte) 0xFB, (byte) 0x90, (byte) 0x00, 2);
+
+        assertThat(Mp3Frames.audioFrames(concat(info, audio))).isEqualTo(audio);
+        assertThat(Mp3Frames.audioFrames(concat(vbri, audio))).isEqualTo(audio);
+    }
+
+    @Test
+    @DisplayName("여러 MP3의 오디오 프레임을 순서대로 이어 붙인다")
+    void concatenatesInOrder() {
+        byte[] first = mp3(1, 2, true, false);
+        byte[] second = mp3(5, 3, false, true);
+
+        byte[] joined = Mp3Frames.concat(List.of(first, second));
+
+        assertThat(joined).hasSize(5 * FRAME_BYTES);
+        assertThat(joined[100]).isEqualTo((byte) 1);
+        assertThat(joined[2 * FRAME_BYTES + 100]).isEqualTo((byte) 5);
+        assertThat(joined[4 * FRAME_BYTES + 100]).isEqualTo((byte) 7);
+    }
+
+    @Test
+    @DisplayName("MPEG 프레임이 아닌 데이터는 그대로 두고, 잘린 ID3 태그는 빈 결과를 낸다")
+    void handlesNonMp3Data() {
+        byte[] junk = {1, 2, 3};
+        byte[] truncatedTag = {'I', 'D', '3', 4, 0, 0, 0, 0, 1, 0}; // 태그 크기 128, 본문 없음
+
+        assertThat(Mp3Frames.audioFrames(junk)).isEqualTo(junk);
+        assertThat(Mp3Frames.audioFrames(truncatedTag)).isEmpty();
+        assertThat(Mp3Frames.audioFrames(new byte[0])).isEmpty();
+    }
+
+    /**
+     * [ID3v2(20 bytes)][Xing 프레임][오디오 프레임 x count][ID3v1]
+     *
+     * @param marker 첫 오디오 프레임의 표시 값. 프레임마다 1씩 증가
+     */
+    private static byte[] mp3(int marker, int count, boolean id3v2, boolean id3v1) {
+        ByteArrayOutputStream mp3 = new ByteArrayOutputStream();
+        if (id3v2) {
+            mp3.writeBytes(new byte[]{'I', 'D', '3', 4, 0, 0, 0, 0, 0, 20});
+            mp3.writeBytes(new byte[20]);
+        }
+        byte[] xing = frame((byte) 0xFB, (byte) 0x90, (byte) 0x00, 0);
+        write(xing, 4 + 32, "Xing");
+        mp3.writeBytes(xing);
+        for (int i = 0; i < count; i++) {
+            mp3.writeBytes(frame((byte) 0xFB, (byte) 0x90, (byte) 0x00, marker + i));
+        }
+        if (id3v1) {
+            byte[] tag = new byte[128];
+            write(tag, 0, "TAG");
+            mp3.writeBytes(tag);
+        }
+        return mp3.toByteArray();
+    }
+
+    private static byte[] frame(byte versionAndLayer, byte bitrateAndSampleRate, byte channelMode, int marker) {
+        byte[] frame = new byte[FRAME_BYTES];
+        frame[0] = (byte) 0xFF;
+        frame[1] = versionAndLayer;
+        frame[2] = bitrateAndSampleRate;
+        frame[3] = channelMode;
+        frame[100] = (byte) marker;
+        return frame;
+    }
+
+    private static void write(byte[] target, int offset, String ascii) {
+        for (int i = 0; i < ascii.length(); i++) {
+            target[offset + i] = (byte) ascii.charAt(i);
+        }
+    }
+
+    private static byte[] concat(byte[] first, byte[] second) {
+        byte[] joined = Arrays.copyOf(first, first.length + second.length);
+        System.arraycopy(second, 0, joined, first.length, second.length);
+        return joined;
+    }
+}
@@ -0,0 +1,191 @@
+package com.halfmoon.halfmoon.study.infra;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.halfmoon.halfmoon.study.application.ChatMemoryProperties;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+import java.util.stream.Stream;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.ai.chat.messages.AssistantMessage;
+import org.springframework.ai.chat.messages.Message;
+import org.springframework.ai.chat.messages.SystemMessage;
+import org.springframework.ai.chat.messages.UserMessage;
+
+class ConversationSegmentLogTest {
+
+    @TempDir
+    Path directory;
+
+    private final ChatMemoryProperties properties = new ChatMemoryProperties();
+    private ConversationSegmentLog segmentLog;
+
+    @AfterEach
+    void tearDown() {
+        if (segmentLog != null) {
+            segmentLog.close();
+        }
+    }
+
+    @Test
+    @DisplayName("재시작하면 세그먼트를 다시 읽어 대화별 최근 메시지를 복구한다")
+    void replaysMessagesAfterReopen() {
+        open();
+        segmentLog.append("c1", new UserMessage("안녕하세요"));
+        segmentLog.append("c1", new AssistantMessage("반가워요"));
+        segmentLog.append("c2", new UserMessage("다른 대화"));
+
+        reopen();
+
+        assertThat(textsOf("c1")).containsExactly("안녕하세요", "반가워요");
+        assertThat(segmentLog.readRecent("c1").get(1)).isInstanceOf(AssistantMessage.class);
+        assertThat(textsOf("c2")).containsExactly("다른 대화");
+    }
+
+    @Test
+    @DisplayName("삭제 기록 이후의 메시지만 복구하고, 삭제된 대화는 복구하지 않는다")
+    void replaysClearRecords() {
+        open();
+        segmentLog.append("c1", new UserMessage("삭제 전"));
+        segmentLog.append("c2", new UserMessage("남는 대화"));
+        segmentLog.clear("c1");
+
+        reopen();
+        assertThat(segmentLog.contains("c1")).isFalse();
+        assertThat(textsOf("c2")).containsExactly("남는 대화");
+
+        segmentLog.append("c1", new UserMessage("삭제 후"));
+        reopen();
+        assertThat(textsOf("c1")).containsExactly("삭제 후");
+    }
+
+    @Test
+    @DisplayName("세그먼트가 가득 차면 다음 세그먼트로 넘어가고, max-segments를 넘는 오래된 세그먼트는 삭제한다")
+    void rollsAndDropsSegments() throws IOException {
+        properties.getPersistence().setSegmentSize(256);
+        properties.getPersistence().setMaxSegments(3);
+        properties.getPersistence().setHotWindowSize(4);
+        open();
+
+        for (int i = 0; i < 30; i++) {
+            segmentLog.append("c1", new UserMessage("message-" + i));
+        }
+        assertThat(segmentFiles()).hasSize(3);
+        assertThat(textsOf("c1")).containsExactly("message-26", "message-27", "message-28", "message-29");
+
+        reopen();
+        assertThat(textsOf("c1")).containsExactly("message-26", "message-27", "message-28", "message-29");
+    }
+
+    @Test
+    @DisplayName("창을 넘으면 SystemMessage(이전 대화 요약)는 남기고 가장 오래된 메시지부터 버리며, 재시작 후에도 같다")
+    void keepsSystemMessagesWhenTrimming() {
+        properties.getPersistence().setHotWindowSize(4);
+        open();
+        segmentLog.append("c1", new UserMessage("첫 메시지"));
+        segmentLog.append("c1", new SystemMessage("[이전 대화 요약]\n자기소개를 했다"));
+        segmentLog.append("c1", new UserMessage("u1"));
+        segmentLog.append("c1", new AssistantMessage("a1"));
+        segmentLog.append("c1", new UserMessage("u2"));
+        segmentLog.append("c1", new AssistantMessage("a2"));
+
+        List<String> expected = List.of("[이전 대화 요약]\n자기소개를 했다", "a1", "u2", "a2");
+        assertThat(textsOf("c1")).isEqualTo(expected);
+
+        reopen();
+        assertThat(textsOf("c1")).isEqualTo(expected);
+        assertThat(segmentLog.readRecent("c1").get(0)).isInstanceOf(SystemMessage.class);
+    }
+
+    @Test
+    @DisplayName("CRC가 맞지 않는 마지막 레코드는 버리고, 그 자리부터 이어서 기록한다")
+    void ignoresCorruptTailRecord() throws IOException {
+        open();
+        segmentLog.append("c1", new UserMessage("first"));
+        segmentLog.append("c1", new UserMessage("second"));
+        segmentLog.append("c1", new UserMessage("third"));
+        segmentLog.close();
+
+        Path segment = segmentFiles().get(0);
+        int offset = indexOf(segment, "third");
+        overwrite(segment, offset, "thirc".getBytes(StandardCharsets.US_ASCII));
+
+        open();
+        assertThat(textsOf("c1")).containsExactly("first", "second");
+
+        segmentLog.append("c1", new UserMessage("fourth"));
+        reopen();
+        assertThat(textsOf("c1")).containsExactly("first", "second", "fourth");
+    }
+
+    @Test
+    @DisplayName("길이만 기록되고 본문이 덜 쓰인 레코드는 버린다")
+    void ignoresTornTailRecord() throws IOException {
+        open();
+        segmentLog.append("c1", new UserMessage("first"));
+        segmentLog.close();
+
+        // 마지막 레코드 뒤에 길이와 타입만 기록된 채 중단된 경우
+        Path segment = segmentFiles().get(0);
+        int end = indexOf(segment, "first") + "first".length() + Integer.BYTES;
+        overwrite(segment, end, ByteBuffer.allocate(Integer.BYTES + 1).putInt(64).put((byte) 1).array());
+
+        open();
+        assertThat(textsOf("c1")).containsExactly("first");
+
+        segmentLog.append("c1", new UserMessage("second"));
+        reopen();
+        assertThat(textsOf("c1")).containsExactly("first", "second");
+    }
+
+    private void open() {
+        properties.getPersistence().setDirectory(directory.toString());
+        segmentLog = new ConversationSegmentLog(properties);
+        segmentLog.open();
+    }
+
+    private void reopen() {
+        segmentLog.close();
+        open();
+    }
+
+    private List<String> textsOf(String conversationId) {
+        return segmentLog.readRecent(conversationId).stream().map(Message::getText).toList();
+    }
+
+    private List<Path> segmentFiles() throws IOException {
+        try (Stream<Path> files = Files.list(directory)) {
+            return files.sorted().toList();
+        }
+    }
+
+    private static int indexOf(Path file, String text) throws IOException {
+        byte[] content = Files.readAllBytes(file);
+        byte[] target = text.getBytes(StandardCharsets.UTF_8);
+        outer:
+        for (int i = 0; i + target.length <= content.length; i++) {
+            for (int j = 0; j < target.length; j++) {
+                if (content[i + j] != target[j]) {
+                    continue outer;
+                }
+            }
+            return i;
+        }
+        throw new IllegalStateException("not found: " + text);
+    }
+
+    private static void overwrite(Path file, int offset, byte[] bytes) throws IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.WRITE)) {
+            channel.write(ByteBuffer.wrap(bytes), offset);
+        }
+    }
+}